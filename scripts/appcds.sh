@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# Builds the engine and records an AppCDS archive from a warm-up-only training run.
+# Usage: scripts/appcds.sh [extra JVM options for the training run]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+JAR=target/CryptoStreamEngine-1.0-SNAPSHOT.jar
+ARCHIVE=target/app-cds.jsa
+
+mvn -B -q package -DskipTests
+
+# The training run loads and initializes every class the hot paths need, then dumps them
+rm -f "$ARCHIVE"
+java -XX:ArchiveClassesAtExit="$ARCHIVE" "$@" -jar "$JAR" --warmup-only
+
+echo "AppCDS archive written to $ARCHIVE"
+echo "Start the engine with:"
+echo "  java -XX:SharedArchiveFile=$ARCHIVE -jar $JAR --warmup"
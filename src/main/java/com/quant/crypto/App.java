@@ -1,12 +1,21 @@
 package com.quant.crypto;
 
+import com.quant.crypto.metrics.MetricsHttpServer;
+import com.quant.crypto.metrics.MetricsRegistry;
 import com.quant.crypto.model.RiskLevel;
 import com.quant.crypto.model.Trade;
 import com.quant.crypto.model.TradeAnalysis;
 import com.quant.crypto.service.BinanceService; // Service paketinden import ettik
+import com.quant.crypto.service.EnterOrderService;
+import com.quant.crypto.util.AppConfig;
+import com.quant.crypto.util.ConfigManager;
+import com.quant.crypto.warmup.StartupTracker;
+import com.quant.crypto.warmup.WarmupRunner;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -14,6 +23,10 @@ import java.util.List;
  * <p>
  * This application connects to the Binance API, streams real-time trade data,
  * and analyzes network latency to detect connectivity issues or server-side throttling.
+ * <p>
+ * Arguments: {@code --warmup} compiles the hot paths before monitoring starts (also enabled by
+ * 'warmup.enabled'); {@code --warmup-only} runs the warm-up and exits, which is the training
+ * run used to record an AppCDS archive.
  */
 public class App {
 
@@ -23,51 +36,72 @@ public class App {
     public static void main(String[] args) {
         BinanceService service = new BinanceService();
 
-        // Load configuration settings
-        String symbol = ConfigManager.get("api.default.symbol");
-        int criticalThreshold = ConfigManager.getInt("latency.threshold.critical");
-        int warningThreshold = ConfigManager.getInt("latency.threshold.warning");
+        // Load configuration settings (validated snapshot; hot-reloaded when -Dconfig.file is set)
+        AppConfig startup = ConfigManager.current();
+
+        List<String> options = Arrays.asList(args);
+        if (options.contains("--warmup-only")) {
+            runWarmup(service);
+            logger.info("🔥 Warm-up only run complete, exiting");
+            return;
+        }
+
+        startMetricsEndpoint();
+
+        if (options.contains("--warmup") || Boolean.parseBoolean(ConfigManager.getProperty("warmup.enabled", "false"))) {
+            runWarmup(service);
+        } else {
+            StartupTracker.markReady();
+        }
 
-        logger.info("🚀 SYSTEM STARTED: Monitoring Network Latency for [{}]", symbol);
-        logger.info("⚙️ CONFIGURATION: Warning > {}ms | Critical > {}ms", warningThreshold, criticalThreshold);
+        logger.info("🚀 SYSTEM STARTED: Monitoring Network Latency for {}", startup.getSymbols());
+        logger.info("⚙️ CONFIGURATION: Warning > {}ms | Critical > {}ms",
+                startup.getLatencyWarningMs(), startup.getLatencyCriticalMs());
 
         // Infinite Loop for Continuous Monitoring
         while (true) {
             try {
-                // Fetch the latest trades from the exchange
-                List<Trade> trades = service.getRecentTrades(symbol);
-
-                for (Trade trade : trades) {
-                    // 1. Capture Timestamps
-                    long processingTime = System.currentTimeMillis(); // When we processed it
-                    long eventTime = trade.getTimestamp();            // When it actually happened
-
-                    // 2. Calculate Latency (Lag)
-                    long latency = processingTime - eventTime;
-
-                    // 3. Determine Risk Level based on Latency
-                    RiskLevel riskLevel;
-                    if (latency > criticalThreshold) {
-                        riskLevel = RiskLevel.CRITICAL;
-                    } else if (latency > warningThreshold) {
-                        riskLevel = RiskLevel.WARNING;
-                    } else {
-                        riskLevel = RiskLevel.NORMAL;
-                    }
+                // One snapshot per cycle: a reload takes effect on the next cycle
+                AppConfig config = ConfigManager.current();
+                int criticalThreshold = config.getLatencyCriticalMs();
+                int warningThreshold = config.getLatencyWarningMs();
+
+                for (String symbol : config.getSymbols()) {
+                    // Fetch the latest trades from the exchange
+                    List<Trade> trades = service.getRecentTrades(symbol);
+
+                    for (Trade trade : trades) {
+                        // 1. Capture Timestamps
+                        long processingTime = System.currentTimeMillis(); // When we processed it
+                        long eventTime = trade.getTimestamp();            // When it actually happened
+
+                        // 2. Calculate Latency (Lag)
+                        long latency = processingTime - eventTime;
 
-                    // 4. Create Analysis Object (Optional: Can be sent to a database later)
-                    TradeAnalysis analysis = new TradeAnalysis(trade, riskLevel, latency);
-
-                    // 5. Intelligent Logging (Focus on Anomalies)
-                    if (riskLevel == RiskLevel.CRITICAL) {
-                        // Log detailed timing info for debugging high latency
-                        logger.error("🚨 HIGH LATENCY: {} ms | Event Time: {} | Process Time: {}",
-                                latency, eventTime, processingTime);
-                    } else if (riskLevel == RiskLevel.WARNING) {
-                        logger.warn("⚠️ NETWORK LAG: {} ms", latency);
-                    } else {
-                        // Debug level avoids flooding the console during normal operation
-                        logger.debug("✅ Stable Connection: {} ms", latency);
+                        // 3. Determine Risk Level based on Latency
+                        RiskLevel riskLevel;
+                        if (latency > criticalThreshold) {
+                            riskLevel = RiskLevel.CRITICAL;
+                        } else if (latency > warningThreshold) {
+                            riskLevel = RiskLevel.WARNING;
+                        } else {
+                            riskLevel = RiskLevel.NORMAL;
+                        }
+
+                        // 4. Create Analysis Object (Optional: Can be sent to a database later)
+                        TradeAnalysis analysis = new TradeAnalysis(trade, riskLevel, trade.getPrice() * trade.getQuantity());
+
+                        // 5. Intelligent Logging (Focus on Anomalies)
+                        if (riskLevel == RiskLevel.CRITICAL) {
+                            // Log detailed timing info for debugging high latency
+                            logger.error("🚨 HIGH LATENCY: {} ms | Event Time: {} | Process Time: {}",
+                                    latency, eventTime, processingTime);
+                        } else if (riskLevel == RiskLevel.WARNING) {
+                            logger.warn("⚠️ NETWORK LAG: {} ms", latency);
+                        } else {
+                            // Debug level avoids flooding the console during normal operation
+                            logger.debug("✅ Stable Connection: {} ms", latency);
+                        }
                     }
                 }
 
@@ -84,4 +118,32 @@ public class App {
             }
         }
     }
+
+    /**
+     * Warms the decode and order paths; the order path is skipped if no API keys are configured.
+     */
+    private static void runWarmup(BinanceService service) {
+        EnterOrderService orders = null;
+        try {
+            orders = new EnterOrderService();
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Order service unavailable, warming signing only: {}", e.getMessage());
+        }
+        new WarmupRunner(orders, service).run();
+    }
+
+    /**
+     * Starts the local Prometheus endpoint unless disabled via 'metrics.http.enabled'.
+     */
+    private static void startMetricsEndpoint() {
+        if (!Boolean.parseBoolean(ConfigManager.getProperty("metrics.http.enabled", "true"))) {
+            return;
+        }
+        int port = Integer.parseInt(ConfigManager.getProperty("metrics.http.port", "9464"));
+        try {
+            new MetricsHttpServer(port, MetricsRegistry.getDefault()).start();
+        } catch (IOException e) {
+            logger.error("❌ Could not start metrics endpoint on port {}", port, e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.quant.crypto.backtest;
+
+/**
+ * Immutable outcome of one backtest run. Amounts are in quote currency (e.g. USDT).
+ */
+public class BacktestResult {
+
+    private final ParameterSet parameters;
+    private final double pnl;
+    private final double maxDrawdown;
+    private final double fees;
+    private final double turnover;
+    private final long fills;
+    private final long tradesProcessed;
+
+    /**
+     * @param parameters      The parameter set of the run.
+     * @param pnl             Final equity change, marked at the last price, after fees.
+     * @param maxDrawdown     Largest peak-to-trough equity decline.
+     * @param fees            Total fees paid.
+     * @param turnover        Total traded notional.
+     * @param fills           Number of position changes.
+     * @param tradesProcessed Historical trades replayed.
+     */
+    public BacktestResult(ParameterSet parameters, double pnl, double maxDrawdown, double fees, double turnover,
+                          long fills, long tradesProcessed) {
+        this.parameters = parameters;
+        this.pnl = pnl;
+        this.maxDrawdown = maxDrawdown;
+        this.fees = fees;
+        this.turnover = turnover;
+        this.fills = fills;
+        this.tradesProcessed = tradesProcessed;
+    }
+
+    public ParameterSet getParameters() {
+        return parameters;
+    }
+
+    public double getPnl() {
+        return pnl;
+    }
+
+    public double getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    /**
+     * @return PnL per unit of drawdown (infinite for a profitable run without drawdown).
+     */
+    public double getPnlToDrawdown() {
+        if (maxDrawdown == 0) return pnl > 0 ? Double.POSITIVE_INFINITY : pnl;
+        return pnl / maxDrawdown;
+    }
+
+    public double getFees() {
+        return fees;
+    }
+
+    public double getTurnover() {
+        return turnover;
+    }
+
+    public long getFills() {
+        return fills;
+    }
+
+    public long getTradesProcessed() {
+        return tradesProcessed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s] PnL: %.2f | MaxDD: %.2f | Fills: %d | Fees: %.2f",
+                parameters, pnl, maxDrawdown, fills, fees);
+    }
+}
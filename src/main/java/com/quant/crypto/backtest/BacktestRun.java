@@ -0,0 +1,99 @@
+package com.quant.crypto.backtest;
+
+import com.quant.crypto.store.TradeBlock;
+
+/**
+ * State and bookkeeping of one backtest run (one parameter set).
+ * <p>
+ * Subclasses implement {@link #onTrade(long, double, double, boolean)} and trade through
+ * {@link #targetPosition(double)}; fills are assumed at the last trade price, with a
+ * proportional fee. All state is primitive fields, so a run allocates nothing while it
+ * replays the history and a sweep's memory does not grow with the number of trades.
+ * <p>
+ * A run is confined to one thread at a time.
+ */
+public abstract class BacktestRun {
+
+    private final ParameterSet parameters;
+
+    private double feeRate;
+    private double position;
+    private double cash;
+    private double lastPrice = Double.NaN;
+    private double peakEquity;
+    private double maxDrawdown;
+    private double fees;
+    private double turnover;
+    private long fills;
+    private long tradesSeen;
+
+    protected BacktestRun(ParameterSet parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * Called for every historical trade, in time order.
+     *
+     * @param time       Trade time (epoch millis).
+     * @param price      Trade price.
+     * @param quantity   Trade size.
+     * @param buyerMaker true if the aggressor sold.
+     */
+    protected abstract void onTrade(long time, double price, double quantity, boolean buyerMaker);
+
+    /**
+     * Trades to the given position (in base-asset units; negative is short) at the last price.
+     */
+    protected final void targetPosition(double units) {
+        double delta = units - position;
+        if (delta == 0 || Double.isNaN(lastPrice)) return;
+        double notional = Math.abs(delta) * lastPrice;
+        cash -= delta * lastPrice;
+        cash -= notional * feeRate;
+        fees += notional * feeRate;
+        turnover += notional;
+        position = units;
+        fills++;
+    }
+
+    protected final double getPosition() {
+        return position;
+    }
+
+    protected final ParameterSet getParameters() {
+        return parameters;
+    }
+
+    void start(double feeRate) {
+        this.feeRate = feeRate;
+    }
+
+    /**
+     * Replays one decoded block of the history.
+     */
+    final void process(TradeBlock block) {
+        long[] times = block.getTimes();
+        double[] prices = block.getPrices();
+        double[] quantities = block.getQuantities();
+        boolean[] buyerMakers = block.getBuyerMakers();
+        int n = block.size();
+        for (int i = 0; i < n; i++) {
+            double price = prices[i];
+            lastPrice = price;
+            onTrade(times[i], price, quantities[i], buyerMakers[i]);
+
+            double equity = cash + position * price;
+            if (equity > peakEquity) {
+                peakEquity = equity;
+            } else if (peakEquity - equity > maxDrawdown) {
+                maxDrawdown = peakEquity - equity;
+            }
+        }
+        tradesSeen += n;
+    }
+
+    BacktestResult toResult() {
+        double equity = Double.isNaN(lastPrice) ? cash : cash + position * lastPrice;
+        return new BacktestResult(parameters, equity, maxDrawdown, fees, turnover, fills, tradesSeen);
+    }
+}
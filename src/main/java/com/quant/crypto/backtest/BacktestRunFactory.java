@@ -0,0 +1,10 @@
+package com.quant.crypto.backtest;
+
+/**
+ * Creates a fresh run for one parameter set. Called once per set, from the sweep's worker threads.
+ */
+@FunctionalInterface
+public interface BacktestRunFactory {
+
+    BacktestRun create(ParameterSet parameters);
+}
@@ -0,0 +1,39 @@
+package com.quant.crypto.backtest;
+
+/**
+ * Example model: long {@code size} units while the fast EMA of trade prices is above the slow
+ * one, flat otherwise.
+ * <p>
+ * Parameters: {@code fast}, {@code slow} (EMA lengths in trades) and optionally {@code size}
+ * (position in base units, default 1).
+ */
+public class EmaCrossRun extends BacktestRun {
+
+    public static final BacktestRunFactory FACTORY = EmaCrossRun::new;
+
+    private final double fastAlpha;
+    private final double slowAlpha;
+    private final double size;
+
+    private double fastEma = Double.NaN;
+    private double slowEma = Double.NaN;
+
+    public EmaCrossRun(ParameterSet parameters) {
+        super(parameters);
+        this.fastAlpha = 2.0 / (parameters.get("fast") + 1);
+        this.slowAlpha = 2.0 / (parameters.get("slow") + 1);
+        this.size = parameters.has("size") ? parameters.get("size") : 1.0;
+    }
+
+    @Override
+    protected void onTrade(long time, double price, double quantity, boolean buyerMaker) {
+        if (Double.isNaN(fastEma)) {
+            fastEma = price;
+            slowEma = price;
+            return;
+        }
+        fastEma += fastAlpha * (price - fastEma);
+        slowEma += slowAlpha * (price - slowEma);
+        targetPosition(fastEma > slowEma ? size : 0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.quant.crypto.backtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Cartesian product of parameter values to sweep, built fluently:
+ * <pre>
+ * List&lt;ParameterSet&gt; grid = ParameterGrid.of()
+ *         .withRange("fast", 5, 50, 5)
+ *         .withValues("slow", 50, 100, 200)
+ *         .where(p -&gt; p.get("fast") &lt; p.get("slow"))
+ *         .sets();
+ * </pre>
+ */
+public class ParameterGrid {
+
+    private final List<String> names = new ArrayList<>();
+    private final List<double[]> axes = new ArrayList<>();
+    private Predicate<ParameterSet> filter = p -> true;
+
+    public static ParameterGrid of() {
+        return new ParameterGrid();
+    }
+
+    /**
+     * Adds an axis with explicit values.
+     */
+    public ParameterGrid withValues(String name, double... values) {
+        if (values.length == 0) throw new IllegalArgumentException("Axis '" + name + "' has no values");
+        if (names.contains(name)) throw new IllegalArgumentException("Duplicate axis: " + name);
+        names.add(name);
+        axes.add(values.clone());
+        return this;
+    }
+
+    /**
+     * Adds an axis {@code from, from + step, ...} up to and including {@code to}.
+     */
+    public ParameterGrid withRange(String name, double from, double to, double step) {
+        if (step <= 0 || to < from) throw new IllegalArgumentException("Invalid range for axis: " + name);
+        int count = (int) Math.floor((to - from) / step + 1e-9) + 1;
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = from + i * step;
+        }
+        return withValues(name, values);
+    }
+
+    /**
+     * Keeps only combinations accepted by the predicate (e.g. fast &lt; slow).
+     */
+    public ParameterGrid where(Predicate<ParameterSet> predicate) {
+        this.filter = this.filter.and(predicate);
+        return this;
+    }
+
+    /**
+     * @return Every accepted combination, first axis varying slowest.
+     */
+    public List<ParameterSet> sets() {
+        String[] axisNames = names.toArray(new String[0]);
+        List<ParameterSet> sets = new ArrayList<>();
+        int[] cursor = new int[axes.size()];
+        if (axes.isEmpty()) return sets;
+        while (true) {
+            double[] values = new double[cursor.length];
+            for (int i = 0; i < cursor.length; i++) {
+                values[i] = axes.get(i)[cursor[i]];
+            }
+            ParameterSet set = new ParameterSet(axisNames, values);
+            if (filter.test(set)) sets.add(set);
+
+            int axis = cursor.length - 1;
+            while (axis >= 0 && ++cursor[axis] == axes.get(axis).length) {
+                cursor[axis--] = 0;
+            }
+            if (axis < 0) return sets;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.quant.crypto.backtest;
+
+import java.util.Arrays;
+
+/**
+ * One point of a parameter grid: named numeric parameters, immutable.
+ */
+public final class ParameterSet {
+
+    private final String[] names;
+    private final double[] values;
+
+    ParameterSet(String[] names, double[] values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    /**
+     * @param name The parameter name (e.g. "fast").
+     * @return The parameter value.
+     * @throws IllegalArgumentException if the parameter is not part of the set.
+     */
+    public double get(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) return values[i];
+        }
+        throw new IllegalArgumentException("Unknown parameter: " + name);
+    }
+
+    public boolean has(String name) {
+        for (String n : names) {
+            if (n.equals(name)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The value as an int, e.g. for window lengths.
+     */
+    public int getInt(String name) {
+        return (int) Math.round(get(name));
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ParameterSet)) return false;
+        ParameterSet other = (ParameterSet) o;
+        return Arrays.equals(names, other.names) && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(names) + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) sb.append(", ");
+            double v = values[i];
+            sb.append(names[i]).append('=');
+            if (v == Math.rint(v) && Math.abs(v) < 1e15) {
+                sb.append((long) v);
+            } else {
+                sb.append(v);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,169 @@
+package com.quant.crypto.backtest;
+
+import com.quant.crypto.store.TradeBlock;
+import com.quant.crypto.store.TradeStoreReader;
+import com.quant.crypto.util.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one model over a grid of parameter sets against the stored trade history, in parallel.
+ * <p>
+ * The grid is split recursively on a {@link ForkJoinPool} down to groups of at most
+ * 'backtest.runs.per.scan' runs. Each group makes a single pass over the memory-mapped
+ * history and feeds every decoded block to all of its runs, so decoding is paid once per
+ * group rather than once per parameter set, while idle workers steal the remaining halves
+ * of the grid. Run state is primitive fields only: memory is bounded by the number of runs,
+ * not by the length of the history.
+ */
+public class ParameterSweep implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(ParameterSweep.class);
+
+    private static final int COLUMNS = TradeBlock.TIMES | TradeBlock.PRICES | TradeBlock.QUANTITIES | TradeBlock.BUYER_MAKERS;
+
+    private final TradeStoreReader reader;
+    private final ForkJoinPool pool;
+    private final int runsPerScan;
+    private final double feeRate;
+
+    /**
+     * Creates a sweep configured from 'application.properties' (backtest.* keys).
+     */
+    public ParameterSweep(TradeStoreReader reader) {
+        this(reader,
+                Integer.parseInt(ConfigManager.getProperty("backtest.parallelism", "0")),
+                Integer.parseInt(ConfigManager.getProperty("backtest.runs.per.scan", "8")),
+                Double.parseDouble(ConfigManager.getProperty("backtest.fee.rate", "0.001")));
+    }
+
+    /**
+     * @param reader      Store to replay; shared by all workers.
+     * @param parallelism Worker threads (0 = available processors).
+     * @param runsPerScan Maximum runs sharing one pass over the history.
+     * @param feeRate     Fee charged on traded notional (0.001 = 0.1%).
+     */
+    public ParameterSweep(TradeStoreReader reader, int parallelism, int runsPerScan, double feeRate) {
+        this.reader = reader;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.runsPerScan = Math.max(1, runsPerScan);
+        this.feeRate = feeRate;
+    }
+
+    /**
+     * Backtests every parameter set and ranks the results by PnL.
+     *
+     * @param symbol   Stored symbol to replay (e.g. "BTCUSDT" or "BTCUSDT@agg").
+     * @param fromTime Range start (epoch millis, inclusive).
+     * @param toTime   Range end (epoch millis, inclusive).
+     * @param grid     Parameter sets, e.g. from {@link ParameterGrid#sets()}.
+     * @param factory  Creates the run for a parameter set.
+     * @throws IOException if the history cannot be read.
+     */
+    public SweepReport run(String symbol, long fromTime, long toTime, List<ParameterSet> grid,
+                           BacktestRunFactory factory) throws IOException {
+        return run(symbol, fromTime, toTime, grid, factory, SweepReport.BY_PNL);
+    }
+
+    /**
+     * Like {@link #run(String, long, long, List, BacktestRunFactory)} with a custom ranking.
+     */
+    public SweepReport run(String symbol, long fromTime, long toTime, List<ParameterSet> grid,
+                           BacktestRunFactory factory, Comparator<BacktestResult> ranking) throws IOException {
+        ParameterSet[] sets = grid.toArray(new ParameterSet[0]);
+        BacktestResult[] results = new BacktestResult[sets.length];
+        int groupSize = (int) Math.max(1, Math.min(runsPerScan, ceilDiv(sets.length, pool.getParallelism())));
+
+        logger.info("🔁 SWEEP [{}] {} runs | {} threads | {} runs per scan", symbol, sets.length,
+                pool.getParallelism(), groupSize);
+        long started = System.nanoTime();
+        try {
+            pool.invoke(new SweepTask(symbol, fromTime, toTime, sets, factory, results, 0, sets.length, groupSize));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        SweepReport report = new SweepReport(symbol, Arrays.asList(results), ranking, elapsed, pool.getParallelism());
+        logger.info("✅ SWEEP [{}] done in {} ms | best: {}", symbol, elapsed, report.getBest());
+        return report;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return (a + b - 1) / b;
+    }
+
+    /**
+     * Splits the index range [from, to) of the grid until it fits one scan group.
+     */
+    private final class SweepTask extends RecursiveAction {
+        private final String symbol;
+        private final long fromTime;
+        private final long toTime;
+        private final ParameterSet[] sets;
+        private final BacktestRunFactory factory;
+        private final BacktestResult[] results;
+        private final int from;
+        private final int to;
+        private final int groupSize;
+
+        SweepTask(String symbol, long fromTime, long toTime, ParameterSet[] sets, BacktestRunFactory factory,
+                  BacktestResult[] results, int from, int to, int groupSize) {
+            this.symbol = symbol;
+            this.fromTime = fromTime;
+            this.toTime = toTime;
+            this.sets = sets;
+            this.factory = factory;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.groupSize = groupSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > groupSize) {
+                int mid = from + ceilGroups(to - from) / 2 * groupSize;
+                invokeAll(new SweepTask(symbol, fromTime, toTime, sets, factory, results, from, mid, groupSize),
+                        new SweepTask(symbol, fromTime, toTime, sets, factory, results, mid, to, groupSize));
+                return;
+            }
+
+            BacktestRun[] runs = new BacktestRun[to - from];
+            for (int i = 0; i < runs.length; i++) {
+                runs[i] = factory.create(sets[from + i]);
+                runs[i].start(feeRate);
+            }
+            try {
+                reader.scan(symbol, fromTime, toTime, COLUMNS, block -> {
+                    for (BacktestRun run : runs) {
+                        run.process(block);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (int i = 0; i < runs.length; i++) {
+                results[from + i] = runs[i].toResult();
+            }
+        }
+
+        private int ceilGroups(int runs) {
+            return (int) ceilDiv(runs, groupSize);
+        }
+    }
+}
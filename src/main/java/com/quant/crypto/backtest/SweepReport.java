@@ -0,0 +1,82 @@
+package com.quant.crypto.backtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Results of a parameter sweep, ranked best first.
+ */
+public class SweepReport {
+
+    /** Default ranking: highest PnL first. */
+    public static final Comparator<BacktestResult> BY_PNL =
+            Comparator.comparingDouble(BacktestResult::getPnl).reversed();
+
+    /** Risk-adjusted ranking: highest PnL per unit of drawdown first. */
+    public static final Comparator<BacktestResult> BY_PNL_TO_DRAWDOWN =
+            Comparator.comparingDouble(BacktestResult::getPnlToDrawdown).reversed();
+
+    private final String symbol;
+    private final List<BacktestResult> ranked;
+    private final long elapsedMillis;
+    private final int parallelism;
+
+    SweepReport(String symbol, List<BacktestResult> results, Comparator<BacktestResult> ranking,
+                long elapsedMillis, int parallelism) {
+        List<BacktestResult> sorted = new ArrayList<>(results);
+        sorted.sort(ranking);
+        this.symbol = symbol;
+        this.ranked = Collections.unmodifiableList(sorted);
+        this.elapsedMillis = elapsedMillis;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return All results, best first.
+     */
+    public List<BacktestResult> getRanked() {
+        return ranked;
+    }
+
+    public BacktestResult getBest() {
+        return ranked.isEmpty() ? null : ranked.get(0);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return Historical trades replayed across all runs.
+     */
+    public long getTotalTradesReplayed() {
+        long total = 0;
+        for (BacktestResult result : ranked) {
+            total += result.getTradesProcessed();
+        }
+        return total;
+    }
+
+    /**
+     * Formats the top results as a plain-text table for logs.
+     */
+    public String format(int top) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("SWEEP [%s] %d runs in %d ms on %d threads (%,d trades replayed)%n",
+                symbol, ranked.size(), elapsedMillis, parallelism, getTotalTradesReplayed()));
+        sb.append(String.format("%4s  %-32s %14s %12s %8s %12s%n", "#", "parameters", "pnl", "max dd", "fills", "fees"));
+        for (int i = 0; i < Math.min(top, ranked.size()); i++) {
+            BacktestResult r = ranked.get(i);
+            sb.append(String.format("%4d  %-32s %14.2f %12.2f %8d %12.2f%n",
+                    i + 1, r.getParameters(), r.getPnl(), r.getMaxDrawdown(), r.getFills(), r.getFees()));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format(10);
+    }
+}
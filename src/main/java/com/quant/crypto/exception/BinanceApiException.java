@@ -1,4 +1,53 @@
 package com.quant.crypto.exception;
 
-public class BinanceApiException {
+import com.quant.crypto.model.BinanceError;
+
+/**
+ * Thrown when the Binance REST API answers with a non-success status code.
+ * Carries the HTTP status, the decoded error payload (if any) and the server's
+ * Retry-After hint for rate-limit responses (429 / 418).
+ */
+public class BinanceApiException extends RuntimeException {
+
+    private final int statusCode;
+    private final BinanceError error;
+    private final long retryAfterSeconds;
+
+    /**
+     * @param statusCode        The HTTP status code.
+     * @param error             The decoded error payload, or null if the body was not JSON.
+     * @param retryAfterSeconds The Retry-After header value, or 0 if absent.
+     */
+    public BinanceApiException(int statusCode, BinanceError error, long retryAfterSeconds) {
+        super("Binance API error " + statusCode + (error != null ? " (" + error + ")" : ""));
+        this.statusCode = statusCode;
+        this.error = error;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public BinanceError getError() {
+        return error;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * @return true for request-rate violations (429) and IP bans (418); retry after {@link #getRetryAfterSeconds()}.
+     */
+    public boolean isRateLimited() {
+        return statusCode == 429 || statusCode == 418;
+    }
+
+    /**
+     * @return true if repeating the same request may succeed (rate limits and server-side errors).
+     */
+    public boolean isRetryable() {
+        return isRateLimited() || statusCode >= 500;
+    }
 }
@@ -0,0 +1,74 @@
+package com.quant.crypto.history;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Durable progress of one download job, stored as a small properties file next to the data.
+ * <p>
+ * The job is split into an ordered list of tasks; {@code nextTask} is the first task whose
+ * trades are not yet durably in the store. It only advances after the store was flushed, so a
+ * crash at any point resumes at a task boundary; trades written past the checkpoint are skipped
+ * by the store on replay. The file is replaced atomically.
+ */
+final class DownloadCheckpoint {
+
+    private final Path file;
+    private final Properties properties = new Properties();
+
+    private DownloadCheckpoint(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the checkpoint, or returns an empty one if the file does not exist.
+     */
+    static DownloadCheckpoint load(Path file) throws IOException {
+        DownloadCheckpoint checkpoint = new DownloadCheckpoint(file);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                checkpoint.properties.load(in);
+            }
+        }
+        return checkpoint;
+    }
+
+    boolean isEmpty() {
+        return properties.isEmpty();
+    }
+
+    long getLong(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    void set(String key, long value) {
+        properties.setProperty(key, Long.toString(value));
+    }
+
+    String get(String key) {
+        return properties.getProperty(key);
+    }
+
+    void set(String key, String value) {
+        properties.setProperty(key, value);
+    }
+
+    void save() throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Historical download progress");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,343 @@
+package com.quant.crypto.history;
+
+import com.quant.crypto.exception.BinanceApiException;
+import com.quant.crypto.metrics.Counter;
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.metrics.RestMetrics;
+import com.quant.crypto.model.AggTrade;
+import com.quant.crypto.model.Trade;
+import com.quant.crypto.service.BinanceService;
+import com.quant.crypto.store.TradeStoreWriter;
+import com.quant.crypto.util.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk downloader filling the trade store from Binance's REST history endpoints.
+ * <p>
+ * A symbol x date range is split into ordered tasks: one-hour (configurable) time windows of
+ * {@code /api/v3/aggTrades}, or trade-id ranges of {@code /api/v3/historicalTrades}. Up to
+ * {@code maxInFlight} tasks are fetched concurrently, every page first acquiring its request
+ * weight from a shared {@link WeightBudget}. Finished tasks are committed to the store strictly
+ * in order, so memory is bounded by the in-flight window rather than the date range, and a
+ * {@link DownloadCheckpoint} records progress after each commit: re-running the same job after
+ * a crash resumes at the first uncommitted task.
+ * <p>
+ * Aggregate trades are stored under {@code <SYMBOL>@agg} so their ids never mix with raw trades.
+ */
+public class HistoricalTradeDownloader implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(HistoricalTradeDownloader.class);
+
+    /**
+     * Which REST history to download.
+     */
+    public enum Source {
+        /** /api/v3/aggTrades, paged by time window: cheap and complete for price/volume research. */
+        AGG_TRADES,
+        /** /api/v3/historicalTrades, paged by trade id: every individual fill. */
+        TRADES
+    }
+
+    /** Store symbol suffix for aggregate trades, e.g. "BTCUSDT@agg". */
+    public static final String AGG_SUFFIX = "@agg";
+
+    private static final int PAGE_LIMIT = 1000;
+    private static final long DAY_MS = 86_400_000L;
+    private static final long MAX_AGG_WINDOW_MS = 3_600_000L;
+
+    private final BinanceService api;
+    private final TradeStoreWriter store;
+    private final WeightBudget budget;
+    private final ExecutorService workers;
+    private final int maxInFlight;
+    private final long taskMillis;
+    private final long taskIds;
+
+    private final int aggTradesWeight = Integer.parseInt(ConfigManager.getProperty("history.weight.aggtrades", "4"));
+    private final int historicalTradesWeight = Integer.parseInt(ConfigManager.getProperty("history.weight.historicaltrades", "25"));
+    private final int maxRetries = Integer.parseInt(ConfigManager.getProperty("history.max.retries", "5"));
+
+    private final MetricsRegistry metrics = MetricsRegistry.getDefault();
+    private final Counter pages = metrics.counter("history_pages_total", "History pages fetched");
+    private final Counter retries = metrics.counter("history_retries_total", "History page requests retried");
+    private final Counter tradesCommitted = metrics.counter("history_trades_total", "Historical trades committed to the store");
+
+    /**
+     * Creates a downloader configured from 'application.properties' (history.* keys).
+     */
+    public HistoricalTradeDownloader(BinanceService api, TradeStoreWriter store) {
+        this(api, store,
+                new WeightBudget(Integer.parseInt(ConfigManager.getProperty("history.weight.per.minute", "3000")),
+                        Integer.parseInt(ConfigManager.getProperty("history.weight.server.limit", "6000"))),
+                Integer.parseInt(ConfigManager.getProperty("history.threads", "8")),
+                Integer.parseInt(ConfigManager.getProperty("history.max.in.flight", "16")),
+                Long.parseLong(ConfigManager.getProperty("history.task.minutes", "60")),
+                Long.parseLong(ConfigManager.getProperty("history.task.ids", "100000")));
+    }
+
+    /**
+     * @param api         REST client used for the page requests.
+     * @param store       Destination store (flushed at every checkpoint).
+     * @param budget      Request-weight budget shared by all workers.
+     * @param threads     Worker threads issuing requests.
+     * @param maxInFlight Tasks fetched ahead of the commit point (bounds memory).
+     * @param taskMinutes Time span of an aggTrades task (at most 60, Binance's window limit).
+     * @param taskIds     Trade ids per historicalTrades task.
+     */
+    public HistoricalTradeDownloader(BinanceService api, TradeStoreWriter store, WeightBudget budget,
+                                     int threads, int maxInFlight, long taskMinutes, long taskIds) {
+        this.api = api;
+        this.store = store;
+        this.budget = budget;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.taskMillis = Math.min(MAX_AGG_WINDOW_MS, TimeUnit.MINUTES.toMillis(Math.max(1, taskMinutes)));
+        this.taskIds = Math.max(PAGE_LIMIT, taskIds);
+        AtomicInteger threadNo = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "history-" + threadNo.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Downloads all trades of {@code symbol} between two UTC dates (both inclusive), resuming
+     * from the job's checkpoint if one exists.
+     *
+     * @return Number of trades committed by this call (0 if the job had already completed).
+     * @throws IOException if a task keeps failing or the store cannot be written; the checkpoint
+     *                     keeps the progress made so far.
+     */
+    public long download(String symbol, LocalDate from, LocalDate to, Source source) throws IOException, InterruptedException {
+        String pair = symbol.toUpperCase();
+        String storeSymbol = source == Source.AGG_TRADES ? pair + AGG_SUFFIX : pair;
+        long startTime = from.toEpochDay() * DAY_MS;
+        long endTime = (to.toEpochDay() + 1) * DAY_MS;
+
+        Path checkpointFile = store.getRoot().resolve(storeSymbol.toUpperCase())
+                .resolve("download-" + from + "-" + to + ".checkpoint");
+        DownloadCheckpoint checkpoint = DownloadCheckpoint.load(checkpointFile);
+        if ("true".equals(checkpoint.get("completed"))) {
+            logger.info("✅ DOWNLOAD [{}] {}..{} already complete", storeSymbol, from, to);
+            return 0;
+        }
+
+        List<long[]> tasks = source == Source.AGG_TRADES
+                ? planTimeTasks(startTime, endTime)
+                : planIdTasks(pair, startTime, endTime, checkpoint);
+        int committed = (int) checkpoint.getLong("nextTask", 0);
+        long total = checkpoint.getLong("trades", 0);
+        if (committed > 0) {
+            logger.info("🔁 DOWNLOAD [{}] resuming at task {}/{}", storeSymbol, committed, tasks.size());
+        } else {
+            logger.info("📥 DOWNLOAD [{}] {}..{} | {} tasks | {} in flight", storeSymbol, from, to, tasks.size(), maxInFlight);
+        }
+
+        long started = System.nanoTime();
+        long written = 0;
+        ArrayDeque<Future<TradeBatch>> inFlight = new ArrayDeque<>();
+        int submitted = committed;
+        try {
+            while (committed < tasks.size()) {
+                while (inFlight.size() < maxInFlight && submitted < tasks.size()) {
+                    long[] task = tasks.get(submitted++);
+                    inFlight.add(workers.submit(() -> source == Source.AGG_TRADES
+                            ? fetchTimeRange(pair, task[0], task[1])
+                            : fetchIdRange(pair, task[0], task[1])));
+                }
+
+                TradeBatch batch = await(inFlight.poll());
+                for (int i = 0; i < batch.size; i++) {
+                    store.append(storeSymbol, batch.ids[i], batch.prices[i], batch.quantities[i],
+                            batch.times[i], batch.buyerMakers[i]);
+                }
+                store.flush();
+                written += batch.size;
+                tradesCommitted.add(batch.size);
+
+                checkpoint.set("nextTask", ++committed);
+                checkpoint.set("trades", total + written);
+                checkpoint.save();
+
+                if (committed % 24 == 0 || committed == tasks.size()) {
+                    logger.info("📥 DOWNLOAD [{}] {}/{} tasks | {} trades", storeSymbol, committed, tasks.size(), total + written);
+                }
+            }
+        } finally {
+            for (Future<TradeBatch> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+
+        checkpoint.set("completed", "true");
+        checkpoint.save();
+        logger.info("✅ DOWNLOAD [{}] done: {} trades in {} s", storeSymbol, written,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+        return written;
+    }
+
+    private TradeBatch await(Future<TradeBatch> task) throws IOException, InterruptedException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InterruptedException) throw (InterruptedException) cause;
+            throw new IOException("Download task failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    // --- Planning ---
+
+    private List<long[]> planTimeTasks(long startTime, long endTime) {
+        List<long[]> tasks = new ArrayList<>();
+        for (long t = startTime; t < endTime; t += taskMillis) {
+            tasks.add(new long[]{t, Math.min(t + taskMillis, endTime)});
+        }
+        return tasks;
+    }
+
+    /**
+     * Maps the time range to trade ids via aggTrades (each carries its first trade id) and
+     * splits the ids into fixed-size ranges. The bounds are kept in the checkpoint so a
+     * resumed job sees the same plan.
+     */
+    private List<long[]> planIdTasks(String symbol, long startTime, long endTime, DownloadCheckpoint checkpoint)
+            throws IOException, InterruptedException {
+        long firstId = checkpoint.getLong("firstId", Long.MIN_VALUE);
+        long lastId = checkpoint.getLong("lastId", Long.MIN_VALUE);
+        if (firstId == Long.MIN_VALUE) {
+            OptionalLong first = firstTradeIdAtOrAfter(symbol, startTime, endTime);
+            if (first.isEmpty()) return List.of();
+            OptionalLong afterEnd = firstTradeIdAtOrAfter(symbol, endTime, System.currentTimeMillis());
+            firstId = first.getAsLong();
+            lastId = afterEnd.isPresent() ? afterEnd.getAsLong() - 1 : latestTradeId(symbol);
+            checkpoint.set("firstId", firstId);
+            checkpoint.set("lastId", lastId);
+            checkpoint.save();
+        }
+
+        List<long[]> tasks = new ArrayList<>();
+        for (long id = firstId; id <= lastId; id += taskIds) {
+            tasks.add(new long[]{id, Math.min(id + taskIds - 1, lastId)});
+        }
+        return tasks;
+    }
+
+    private OptionalLong firstTradeIdAtOrAfter(String symbol, long time, long limitTime) throws IOException, InterruptedException {
+        for (long t = time; t < limitTime; t += MAX_AGG_WINDOW_MS) {
+            long windowStart = t;
+            List<AggTrade> page = fetchWithRetry(aggTradesWeight,
+                    () -> api.fetchAggTrades(symbol, null, windowStart, windowStart + MAX_AGG_WINDOW_MS - 1, 1));
+            if (!page.isEmpty()) return OptionalLong.of(page.get(0).getFirstTradeId());
+        }
+        return OptionalLong.empty();
+    }
+
+    private long latestTradeId(String symbol) throws IOException {
+        List<Trade> recent = api.getRecentTrades(symbol);
+        if (recent.isEmpty()) throw new IOException("Cannot resolve the latest trade id of " + symbol);
+        return recent.stream().mapToLong(Trade::getId).max().getAsLong();
+    }
+
+    // --- Tasks ---
+
+    private TradeBatch fetchTimeRange(String symbol, long startTime, long endTime) throws IOException, InterruptedException {
+        TradeBatch batch = new TradeBatch();
+        Long fromId = null;
+        while (true) {
+            Long nextFrom = fromId;
+            List<AggTrade> page = fetchWithRetry(aggTradesWeight, nextFrom == null
+                    ? () -> api.fetchAggTrades(symbol, null, startTime, endTime - 1, PAGE_LIMIT)
+                    : () -> api.fetchAggTrades(symbol, nextFrom, null, null, PAGE_LIMIT));
+
+            boolean done = page.size() < PAGE_LIMIT;
+            for (AggTrade trade : page) {
+                if (trade.getTimestamp() >= endTime) {
+                    done = true;
+                    break;
+                }
+                batch.add(trade.getAggregateId(), trade.getTimestamp(), trade.getPrice(), trade.getQuantity(),
+                        trade.isBuyerMaker());
+            }
+            if (done) return batch;
+            fromId = page.get(page.size() - 1).getAggregateId() + 1;
+        }
+    }
+
+    private TradeBatch fetchIdRange(String symbol, long firstId, long lastId) throws IOException, InterruptedException {
+        TradeBatch batch = new TradeBatch();
+        long fromId = firstId;
+        while (fromId <= lastId) {
+            long pageStart = fromId;
+            int limit = (int) Math.min(PAGE_LIMIT, lastId - fromId + 1);
+            List<Trade> page = fetchWithRetry(historicalTradesWeight,
+                    () -> api.fetchHistoricalTrades(symbol, pageStart, limit));
+            if (page.isEmpty()) break;
+            for (Trade trade : page) {
+                if (trade.getId() > lastId) break;
+                batch.add(trade.getId(), trade.getTimestamp(), trade.getPrice(), trade.getQuantity(), trade.isBuyerMaker());
+            }
+            fromId = page.get(page.size() - 1).getId() + 1;
+        }
+        return batch;
+    }
+
+    @FunctionalInterface
+    private interface PageCall<T> {
+        List<T> fetch() throws IOException, InterruptedException;
+    }
+
+    /**
+     * Fetches one page within the weight budget, retrying rate limits, server errors and I/O
+     * failures with exponential backoff.
+     */
+    private <T> List<T> fetchWithRetry(int weight, PageCall<T> call) throws IOException, InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            budget.acquire(weight);
+            try {
+                List<T> page = call.fetch();
+                pages.increment();
+                budget.observeServerWeight(RestMetrics.getUsedWeight1m());
+                return page;
+            } catch (BinanceApiException e) {
+                if (!e.isRetryable() || attempt >= maxRetries) throw e;
+                retries.increment();
+                if (e.isRateLimited()) {
+                    logger.warn("⚠️ RATE LIMITED ({}), pausing all history requests for {} s",
+                            e.getStatusCode(), Math.max(1, e.getRetryAfterSeconds()));
+                    budget.pauseFor(TimeUnit.SECONDS.toMillis(Math.max(1, e.getRetryAfterSeconds())));
+                } else {
+                    Thread.sleep(backoffMillis(attempt));
+                }
+            } catch (IOException e) {
+                if (attempt >= maxRetries) throw e;
+                retries.increment();
+                Thread.sleep(backoffMillis(attempt));
+            }
+        }
+    }
+
+    private static long backoffMillis(int attempt) {
+        return Math.min(30_000L, 500L << Math.min(attempt, 6));
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
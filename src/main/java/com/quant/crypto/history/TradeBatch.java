@@ -0,0 +1,35 @@
+package com.quant.crypto.history;
+
+import java.util.Arrays;
+
+/**
+ * Growable primitive columns holding the trades of one download task until they are
+ * committed to the store, so an in-flight task costs ~33 bytes per trade instead of a
+ * deserialized object graph.
+ */
+final class TradeBatch {
+
+    long[] ids = new long[1024];
+    long[] times = new long[1024];
+    double[] prices = new double[1024];
+    double[] quantities = new double[1024];
+    boolean[] buyerMakers = new boolean[1024];
+    int size;
+
+    void add(long id, long time, double price, double quantity, boolean buyerMaker) {
+        if (size == ids.length) {
+            int grown = size * 2;
+            ids = Arrays.copyOf(ids, grown);
+            times = Arrays.copyOf(times, grown);
+            prices = Arrays.copyOf(prices, grown);
+            quantities = Arrays.copyOf(quantities, grown);
+            buyerMakers = Arrays.copyOf(buyerMakers, grown);
+        }
+        ids[size] = id;
+        times[size] = time;
+        prices[size] = price;
+        quantities[size] = quantity;
+        buyerMakers[size] = buyerMaker;
+        size++;
+    }
+}
@@ -0,0 +1,85 @@
+package com.quant.crypto.history;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side budget for Binance's per-minute request weight.
+ * <p>
+ * A token bucket refilled continuously at {@code weightPerMinute}; callers block in
+ * {@link #acquire(int)} until their request's weight fits. On top of that, the budget honours
+ * the server's view: when the reported {@code X-MBX-USED-WEIGHT-1M} gets close to the
+ * exchange limit, or the server answers 429/418 with a Retry-After, every caller pauses.
+ */
+public class WeightBudget {
+
+    private final double weightPerMinute;
+    private final long serverLimit;
+    private final double refillPerNano;
+
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+
+    /**
+     * @param weightPerMinute Weight this client may spend per minute (leave room for trading).
+     * @param serverLimit     The exchange-wide limit per minute (6000 on Binance spot).
+     */
+    public WeightBudget(int weightPerMinute, int serverLimit) {
+        if (weightPerMinute <= 0) throw new IllegalArgumentException("Weight per minute must be positive");
+        this.weightPerMinute = weightPerMinute;
+        this.serverLimit = serverLimit;
+        this.refillPerNano = weightPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.tokens = weightPerMinute;
+        this.lastRefill = System.nanoTime();
+        this.pausedUntil = lastRefill;
+    }
+
+    /**
+     * Blocks until {@code weight} can be spent.
+     */
+    public synchronized void acquire(int weight) throws InterruptedException {
+        double needed = Math.min(weight, weightPerMinute);
+        while (true) {
+            long now = System.nanoTime();
+            if (now - pausedUntil < 0) {
+                waitNanos(pausedUntil - now);
+                continue;
+            }
+            tokens = Math.min(weightPerMinute, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            if (tokens >= needed) {
+                tokens -= needed;
+                return;
+            }
+            waitNanos((long) ((needed - tokens) / refillPerNano) + 1);
+        }
+    }
+
+    /**
+     * Feeds back the server-reported weight of the current minute. Above 90% of the exchange
+     * limit, callers pause until the next minute starts.
+     */
+    public synchronized void observeServerWeight(long usedWeight1m) {
+        if (serverLimit > 0 && usedWeight1m >= serverLimit * 0.9) {
+            long msToNextMinute = 60_000 - System.currentTimeMillis() % 60_000;
+            pauseFor(msToNextMinute);
+        }
+    }
+
+    /**
+     * Stops all callers for the given time, e.g. after a 429 with Retry-After.
+     */
+    public synchronized void pauseFor(long millis) {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        if (until - pausedUntil > 0) {
+            pausedUntil = until;
+            tokens = 0;
+        }
+        notifyAll();
+    }
+
+    private void waitNanos(long nanos) throws InterruptedException {
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(nanos));
+        wait(millis);
+    }
+}
@@ -0,0 +1,63 @@
+package com.quant.crypto.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with power-of-two nanosecond buckets (about 1 µs up to 17 s).
+ * <p>
+ * Recording is a leading-zero count plus two striped increments, cheap enough for the
+ * per-message path. Values above the last bound only land in the implicit +Inf bucket.
+ */
+public final class LatencyHistogram {
+
+    /** Upper bound of bucket 0 is 2^MIN_SHIFT ns (~1 µs). */
+    private static final int MIN_SHIFT = 10;
+    static final int BUCKETS = 25;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param nanos Observed duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        int ceilLog2 = nanos <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(nanos - 1);
+        int index = Math.max(0, ceilLog2 - MIN_SHIFT);
+        if (index < BUCKETS) {
+            buckets[index].increment();
+        }
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos} (a {@link System#nanoTime()} value).
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    static double upperBoundSeconds(int bucket) {
+        return (double) (1L << (MIN_SHIFT + bucket)) / 1_000_000_000d;
+    }
+
+    long bucketCount(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+}
@@ -0,0 +1,101 @@
+package com.quant.crypto.metrics;
+
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records REST call outcomes shared by the market data and order services:
+ * status codes, request latency and Binance's rate-limit usage headers.
+ * <p>
+ * Metric handles are resolved once per endpoint (and status code) and cached, so recording a
+ * call costs one map look-up instead of a registry resolution.
+ */
+public final class RestMetrics {
+
+    private static final MetricsRegistry metrics = MetricsRegistry.getDefault();
+
+    private static final AtomicLong usedWeight1m = new AtomicLong();
+    private static final AtomicLong orderCount10s = new AtomicLong();
+
+    private static final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Cached handles of one endpoint.
+     */
+    private static final class EndpointMetrics {
+
+        /** HTTP status codes are three digits; anything else shares the last slot. */
+        private static final int STATUS_SLOTS = 1000;
+
+        final String endpoint;
+        final LatencyHistogram latency;
+        final Counter failures;
+        final AtomicReferenceArray<Counter> responses = new AtomicReferenceArray<>(STATUS_SLOTS);
+
+        EndpointMetrics(String endpoint) {
+            this.endpoint = endpoint;
+            this.latency = metrics.histogram("rest_request_seconds", "REST round trip time per endpoint",
+                    "endpoint", endpoint);
+            this.failures = metrics.counter("rest_failures_total", "REST calls that failed without a response",
+                    "endpoint", endpoint);
+        }
+
+        Counter responses(int status) {
+            int slot = status >= 0 && status < STATUS_SLOTS ? status : STATUS_SLOTS - 1;
+            Counter counter = responses.get(slot);
+            if (counter == null) {
+                // Racing threads resolve the same registry series, so either write is fine
+                counter = metrics.counter("rest_responses_total", "REST responses per endpoint and status code",
+                        "endpoint", endpoint, "status", String.valueOf(status));
+                responses.set(slot, counter);
+            }
+            return counter;
+        }
+    }
+
+    static {
+        metrics.gauge("binance_used_weight_1m", "Request weight used in the current minute (X-MBX-USED-WEIGHT-1M)",
+                usedWeight1m::get);
+        metrics.gauge("binance_order_count_10s", "Orders placed in the current 10s window (X-MBX-ORDER-COUNT-10S)",
+                orderCount10s::get);
+    }
+
+    // Private constructor to prevent instantiation
+    private RestMetrics() {}
+
+    /**
+     * @param endpoint   The API path (used as a label, e.g. "/api/v3/trades").
+     * @param response   The received response.
+     * @param startNanos {@link System#nanoTime()} taken before sending.
+     */
+    public static void record(String endpoint, HttpResponse<?> response, long startNanos) {
+        EndpointMetrics handles = handles(endpoint);
+        handles.latency.recordSince(startNanos);
+        handles.responses(response.statusCode()).increment();
+
+        response.headers().firstValueAsLong("x-mbx-used-weight-1m").ifPresent(usedWeight1m::set);
+        response.headers().firstValueAsLong("x-mbx-order-count-10s").ifPresent(orderCount10s::set);
+    }
+
+    /**
+     * Counts a REST call that failed before a response was received (timeout, I/O error).
+     */
+    public static void recordFailure(String endpoint) {
+        handles(endpoint).failures.increment();
+    }
+
+    private static EndpointMetrics handles(String endpoint) {
+        EndpointMetrics handles = endpoints.get(endpoint);
+        return handles != null ? handles : endpoints.computeIfAbsent(endpoint, EndpointMetrics::new);
+    }
+
+    /**
+     * @return The last reported request weight used in the current minute.
+     */
+    public static long getUsedWeight1m() {
+        return usedWeight1m.get();
+    }
+}
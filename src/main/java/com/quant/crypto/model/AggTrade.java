@@ -0,0 +1,68 @@
+package com.quant.crypto.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A compressed/aggregate trade from /api/v3/aggTrades: consecutive fills of one taker order
+ * at the same price, collapsed into a single record.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AggTrade {
+
+    /** Aggregate trade id (strictly increasing per symbol). */
+    @JsonProperty("a")
+    private long aggregateId;
+
+    @JsonProperty("p")
+    private double price;
+
+    @JsonProperty("q")
+    private double quantity;
+
+    /** First and last underlying trade ids. */
+    @JsonProperty("f")
+    private long firstTradeId;
+
+    @JsonProperty("l")
+    private long lastTradeId;
+
+    @JsonProperty("T")
+    private long timestamp;
+
+    @JsonProperty("m")
+    private boolean isBuyerMaker;
+
+    /**
+     * Default constructor required by Jackson for JSON deserialization.
+     */
+    public AggTrade() {}
+
+    public long getAggregateId() {
+        return aggregateId;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public double getQuantity() {
+        return quantity;
+    }
+
+    public long getFirstTradeId() {
+        return firstTradeId;
+    }
+
+    public long getLastTradeId() {
+        return lastTradeId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isBuyerMaker() {
+        return isBuyerMaker;
+    }
+}
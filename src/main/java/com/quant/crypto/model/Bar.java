@@ -0,0 +1,100 @@
+package com.quant.crypto.model;
+
+/**
+ * Immutable snapshot of a closed OHLCV bar, as handed to strategies.
+ * <p>
+ * The bar aggregator itself stores bars in primitive ring arrays; this copy exists so that
+ * a bar can be queued to another thread without being overwritten in the meantime.
+ */
+public class Bar {
+
+    private final String symbol;
+    private final String interval;
+    private final long openTime;
+    private final long closeTime;
+    private final double open;
+    private final double high;
+    private final double low;
+    private final double close;
+    private final double volume;
+    private final long tradeCount;
+    private final boolean revision;
+
+    /**
+     * @param symbol     The trading pair symbol.
+     * @param interval   The bar spec label (e.g. "1m", "100T").
+     * @param openTime   Bar start (event time, in milliseconds).
+     * @param closeTime  Event time of the last trade in the bar.
+     * @param open       First trade price.
+     * @param high       Highest trade price.
+     * @param low        Lowest trade price.
+     * @param close      Last trade price.
+     * @param volume     Base-asset volume.
+     * @param tradeCount Number of trades.
+     * @param revision   true if this amends an already published bar.
+     */
+    public Bar(String symbol, String interval, long openTime, long closeTime, double open, double high,
+               double low, double close, double volume, long tradeCount, boolean revision) {
+        this.symbol = symbol;
+        this.interval = interval;
+        this.openTime = openTime;
+        this.closeTime = closeTime;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.tradeCount = tradeCount;
+        this.revision = revision;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getInterval() {
+        return interval;
+    }
+
+    public long getOpenTime() {
+        return openTime;
+    }
+
+    public long getCloseTime() {
+        return closeTime;
+    }
+
+    public double getOpen() {
+        return open;
+    }
+
+    public double getHigh() {
+        return high;
+    }
+
+    public double getLow() {
+        return low;
+    }
+
+    public double getClose() {
+        return close;
+    }
+
+    public double getVolume() {
+        return volume;
+    }
+
+    public long getTradeCount() {
+        return tradeCount;
+    }
+
+    public boolean isRevision() {
+        return revision;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s %s] O: %.2f H: %.2f L: %.2f C: %.2f | Vol: %.4f%s",
+                symbol, interval, open, high, low, close, volume, revision ? " (rev)" : "");
+    }
+}
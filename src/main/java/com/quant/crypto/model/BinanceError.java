@@ -1,4 +1,35 @@
 package com.quant.crypto.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Error payload returned by the Binance REST API, e.g. {"code":-1003,"msg":"Too many requests"}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class BinanceError {
+
+    @JsonProperty("code")
+    private int code;
+
+    @JsonProperty("msg")
+    private String message;
+
+    /**
+     * Default constructor required by Jackson for JSON deserialization.
+     */
+    public BinanceError() {}
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return code + ": " + message;
+    }
 }
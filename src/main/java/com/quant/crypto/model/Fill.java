@@ -0,0 +1,62 @@
+package com.quant.crypto.model;
+
+import com.quant.crypto.model.enums.OrderSide;
+
+/**
+ * Immutable record of a (partial) order execution reported by the exchange.
+ */
+public class Fill {
+
+    private final String symbol;
+    private final long orderId;
+    private final OrderSide side;
+    private final double price;
+    private final double quantity;
+    private final long time;
+
+    /**
+     * @param symbol   The trading pair symbol.
+     * @param orderId  The exchange order id.
+     * @param side     BUY or SELL.
+     * @param price    Execution price of this fill.
+     * @param quantity Executed quantity of this fill.
+     * @param time     Execution time (in milliseconds).
+     */
+    public Fill(String symbol, long orderId, OrderSide side, double price, double quantity, long time) {
+        this.symbol = symbol;
+        this.orderId = orderId;
+        this.side = side;
+        this.price = price;
+        this.quantity = quantity;
+        this.time = time;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public OrderSide getSide() {
+        return side;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public double getQuantity() {
+        return quantity;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s] Order %d %s %.6f @ %.2f", symbol, orderId, side, quantity, price);
+    }
+}
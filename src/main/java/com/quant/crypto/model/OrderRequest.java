@@ -1,4 +1,79 @@
 package com.quant.crypto.model;
 
+import com.quant.crypto.model.enums.OrderSide;
+import com.quant.crypto.model.enums.OrderType;
+import com.quant.crypto.model.enums.TimeInForce;
+
+/**
+ * Parameters of a new spot order, as sent to {@code POST /api/v3/order}.
+ * Quantities and prices are kept as strings so they reach the exchange exactly as normalized.
+ */
 public class OrderRequest {
+
+    private final String symbol;
+    private final OrderSide side;
+    private final OrderType type;
+    private final String quantity;
+    private String price;
+    private TimeInForce timeInForce;
+
+    /**
+     * @param symbol   The trading pair symbol (e.g., "BTCUSDT").
+     * @param side     BUY or SELL.
+     * @param type     The order type.
+     * @param quantity The base-asset quantity (e.g., "0.001").
+     */
+    public OrderRequest(String symbol, OrderSide side, OrderType type, String quantity) {
+        this.symbol = symbol;
+        this.side = side;
+        this.type = type;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Sets the limit price (required for LIMIT orders).
+     */
+    public OrderRequest price(String price) {
+        this.price = price;
+        return this;
+    }
+
+    /**
+     * Sets the time in force (required for LIMIT orders).
+     */
+    public OrderRequest timeInForce(TimeInForce timeInForce) {
+        this.timeInForce = timeInForce;
+        return this;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public OrderSide getSide() {
+        return side;
+    }
+
+    public OrderType getType() {
+        return type;
+    }
+
+    public String getQuantity() {
+        return quantity;
+    }
+
+    /** @return The limit price, or null for market orders. */
+    public String getPrice() {
+        return price;
+    }
+
+    /** @return The time in force, or null if not set. */
+    public TimeInForce getTimeInForce() {
+        return timeInForce;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s] %s %s %s%s", symbol, side, type, quantity, price != null ? " @ " + price : "");
+    }
 }
@@ -1,4 +1,102 @@
 package com.quant.crypto.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.quant.crypto.model.enums.OrderSide;
+import com.quant.crypto.model.enums.OrderStatus;
+import com.quant.crypto.model.enums.OrderType;
+
+/**
+ * Reply of {@code POST /api/v3/order}. Only the fields used by the engine are mapped.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class OrderResponse {
+
+    @JsonProperty("symbol")
+    private String symbol;
+
+    @JsonProperty("orderId")
+    private long orderId;
+
+    @JsonProperty("clientOrderId")
+    private String clientOrderId;
+
+    @JsonProperty("transactTime")
+    private long transactTime;
+
+    @JsonProperty("price")
+    private double price;
+
+    @JsonProperty("origQty")
+    private double origQty;
+
+    @JsonProperty("executedQty")
+    private double executedQty;
+
+    @JsonProperty("cummulativeQuoteQty")
+    private double cumulativeQuoteQty;
+
+    @JsonProperty("status")
+    private OrderStatus status;
+
+    @JsonProperty("type")
+    private OrderType type;
+
+    @JsonProperty("side")
+    private OrderSide side;
+
+    /**
+     * Default constructor required by Jackson for JSON deserialization.
+     */
+    public OrderResponse() {
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public String getClientOrderId() {
+        return clientOrderId;
+    }
+
+    public long getTransactTime() {
+        return transactTime;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public double getOrigQty() {
+        return origQty;
+    }
+
+    public double getExecutedQty() {
+        return executedQty;
+    }
+
+    public double getCumulativeQuoteQty() {
+        return cumulativeQuoteQty;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public OrderType getType() {
+        return type;
+    }
+
+    public OrderSide getSide() {
+        return side;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s] Order %d %s %s %s %.6f/%.6f", symbol, orderId, side, type, status, executedQty, origQty);
+    }
 }
@@ -1,4 +1,127 @@
 package com.quant.crypto.model;
 
+import com.quant.crypto.model.enums.OrderSide;
+import com.quant.crypto.model.enums.OrderStatus;
+import com.quant.crypto.model.enums.OrderType;
+
+/**
+ * State of an order as confirmed by the exchange through the user data stream.
+ * <p>
+ * This is a reusable holder: readers pass the same instance to the order cache for every
+ * lookup, so checking an order's fate allocates nothing.
+ */
 public class OrderVerification {
+
+    private long orderId;
+    private String symbol;
+    private String clientOrderId;
+    private OrderSide side;
+    private OrderType type;
+    private OrderStatus status;
+    private double price;
+    private double quantity;
+    private double executedQuantity;
+    private double cumulativeQuoteQuantity;
+    private double lastFillPrice;
+    private double lastFillQuantity;
+    private long updateTime;
+
+    /**
+     * Overwrites every field. Called by the order cache when copying a row out.
+     */
+    public void set(long orderId, String symbol, String clientOrderId, OrderSide side, OrderType type,
+                    OrderStatus status, double price, double quantity, double executedQuantity,
+                    double cumulativeQuoteQuantity, double lastFillPrice, double lastFillQuantity, long updateTime) {
+        this.orderId = orderId;
+        this.symbol = symbol;
+        this.clientOrderId = clientOrderId;
+        this.side = side;
+        this.type = type;
+        this.status = status;
+        this.price = price;
+        this.quantity = quantity;
+        this.executedQuantity = executedQuantity;
+        this.cumulativeQuoteQuantity = cumulativeQuoteQuantity;
+        this.lastFillPrice = lastFillPrice;
+        this.lastFillQuantity = lastFillQuantity;
+        this.updateTime = updateTime;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getClientOrderId() {
+        return clientOrderId;
+    }
+
+    public OrderSide getSide() {
+        return side;
+    }
+
+    public OrderType getType() {
+        return type;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The limit price (0 for market orders).
+     */
+    public double getPrice() {
+        return price;
+    }
+
+    /**
+     * @return The original order quantity.
+     */
+    public double getQuantity() {
+        return quantity;
+    }
+
+    public double getExecutedQuantity() {
+        return executedQuantity;
+    }
+
+    public double getCumulativeQuoteQuantity() {
+        return cumulativeQuoteQuantity;
+    }
+
+    /**
+     * @return Volume-weighted average fill price, or NaN if nothing was filled yet.
+     */
+    public double getAveragePrice() {
+        return executedQuantity > 0 ? cumulativeQuoteQuantity / executedQuantity : Double.NaN;
+    }
+
+    public double getLastFillPrice() {
+        return lastFillPrice;
+    }
+
+    public double getLastFillQuantity() {
+        return lastFillQuantity;
+    }
+
+    /**
+     * @return Exchange time of the last update (in milliseconds).
+     */
+    public long getUpdateTime() {
+        return updateTime;
+    }
+
+    public boolean isFinal() {
+        return status != null && status.isFinal();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s] Order %d %s %s %s %.6f/%.6f @ %.2f", symbol, orderId, side, type, status,
+                executedQuantity, quantity, price);
+    }
 }
@@ -16,6 +16,13 @@ public class Trade {
      */
     private String pair;
 
+    /**
+     * Exchange-assigned trade id. Ids are strictly increasing per symbol,
+     * which makes them usable for gap detection on the live stream.
+     */
+    @JsonProperty("id")
+    private long id;
+
     @JsonProperty("price")
     private double price;
 
@@ -39,6 +46,25 @@ public class Trade {
      */
     public Trade() {}
 
+    /**
+     * Creates a trade from stream fields (e.g. to attach a live trade to an analysis).
+     *
+     * @param pair         The trading pair symbol.
+     * @param id           The exchange trade id.
+     * @param price        The execution price.
+     * @param quantity     The executed base-asset quantity.
+     * @param timestamp    The trade time (in milliseconds).
+     * @param isBuyerMaker true if the buyer was the maker, i.e. the aggressor sold.
+     */
+    public Trade(String pair, long id, double price, double quantity, long timestamp, boolean isBuyerMaker) {
+        this.pair = pair;
+        this.id = id;
+        this.price = price;
+        this.quantity = quantity;
+        this.timestamp = timestamp;
+        this.isBuyerMaker = isBuyerMaker;
+    }
+
     // --- Accessors ---
 
     public void setPair(String pair) {
@@ -49,6 +75,10 @@ public class Trade {
         return pair;
     }
 
+    public long getId() {
+        return id;
+    }
+
     public double getPrice() {
         return price;
     }
@@ -61,6 +91,10 @@ public class Trade {
         return timestamp;
     }
 
+    public boolean isBuyerMaker() {
+        return isBuyerMaker;
+    }
+
     /**
      * Derives the side of the trade based on the maker flag.
      *
@@ -0,0 +1,22 @@
+package com.quant.crypto.model.enums;
+
+/**
+ * Defines what closes an OHLCV bar.
+ */
+public enum BarType {
+
+    /**
+     * Closes on fixed event-time boundaries (e.g. every 1 minute).
+     */
+    TIME,
+
+    /**
+     * Closes after a fixed number of trades.
+     */
+    TICK,
+
+    /**
+     * Closes once the accumulated base-asset volume reaches a threshold.
+     */
+    VOLUME
+}
@@ -1,4 +1,9 @@
 package com.quant.crypto.model.enums;
 
+/**
+ * Direction of an order or fill.
+ */
 public enum OrderSide {
+    BUY,
+    SELL
 }
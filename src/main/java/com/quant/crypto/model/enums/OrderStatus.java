@@ -1,4 +1,32 @@
 package com.quant.crypto.model.enums;
 
+/**
+ * Lifecycle state of an order, as reported by Binance ({@code X} in execution reports).
+ */
 public enum OrderStatus {
+    NEW,
+    PENDING_NEW,
+    PARTIALLY_FILLED,
+    FILLED,
+    CANCELED,
+    PENDING_CANCEL,
+    REJECTED,
+    EXPIRED,
+    EXPIRED_IN_MATCH;
+
+    private static final OrderStatus[] VALUES = values();
+
+    /**
+     * @return true if the order can no longer trade.
+     */
+    public boolean isFinal() {
+        return this == FILLED || this == CANCELED || this == REJECTED || this == EXPIRED || this == EXPIRED_IN_MATCH;
+    }
+
+    /**
+     * Allocation-free lookup by ordinal.
+     */
+    public static OrderStatus ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
 }
@@ -1,4 +1,14 @@
 package com.quant.crypto.model.enums;
 
+/**
+ * Spot order types supported by Binance.
+ */
 public enum OrderType {
+    LIMIT,
+    MARKET,
+    STOP_LOSS,
+    STOP_LOSS_LIMIT,
+    TAKE_PROFIT,
+    TAKE_PROFIT_LIMIT,
+    LIMIT_MAKER
 }
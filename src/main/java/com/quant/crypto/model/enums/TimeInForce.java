@@ -1,4 +1,22 @@
 package com.quant.crypto.model.enums;
 
+/**
+ * How long a limit order remains active.
+ */
 public enum TimeInForce {
+
+    /**
+     * Good 'til canceled.
+     */
+    GTC,
+
+    /**
+     * Immediate or cancel: fill what is possible, cancel the rest.
+     */
+    IOC,
+
+    /**
+     * Fill or kill: fill completely or not at all.
+     */
+    FOK
 }
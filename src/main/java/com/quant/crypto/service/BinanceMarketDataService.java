@@ -3,13 +3,18 @@ package com.quant.crypto.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quant.crypto.exception.BinanceApiException;
+import com.quant.crypto.metrics.RestMetrics;
+import com.quant.crypto.model.AggTrade;
+import com.quant.crypto.model.BinanceError;
+import com.quant.crypto.util.AppConfig;
 import com.quant.crypto.util.ConfigManager;
 import com.quant.crypto.model.Trade;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
@@ -24,17 +29,45 @@ public class BinanceService {
 
     private static final Logger logger = LogManager.getLogger(BinanceService.class);
 
-    private final HttpClient httpClient;
+    private static final String PING_ENDPOINT = "/api/v3/ping";
+
+    private final HedgedRequestSender sender;
     private final ObjectMapper objectMapper;
 
     public BinanceService() {
-        // HTTP Client'a timeout eklemek iyi bir pratiktir (10 sn)
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+        // 10 s connect timeout; every GET also gets a per-request deadline and, if
+        // 'rest.hedge.enabled', a hedge past p95
+        this.sender = new HedgedRequestSender(Duration.ofSeconds(10));
         this.objectMapper = new ObjectMapper();
     }
 
+    /**
+     * Sends a GET request and records its status code, latency and rate-limit usage.
+     * All market data requests are idempotent, so they may be hedged.
+     *
+     * @param endpoint The API path, used as the metrics label.
+     * @param request  The request to send.
+     */
+    private HttpResponse<String> send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        return sender.send(endpoint, request);
+    }
+
+    /**
+     * Opens the connections to the market data host ahead of the first poll (DNS, TCP, TLS),
+     * through both the primary and the hedge HTTP client.
+     * Endpoint: /api/v3/ping
+     *
+     * @throws IOException if the host cannot be reached.
+     */
+    public void preconnect() throws IOException, InterruptedException {
+        HttpRequest ping = HttpRequest.newBuilder()
+                .uri(ConfigManager.current().getRestUri(PING_ENDPOINT, ""))
+                .GET()
+                .build();
+        int[] status = sender.preconnect(PING_ENDPOINT, ping);
+        logger.info("🔌 Market data connections ready (HTTP {} / {})", status[0], status[1]);
+    }
+
     /**
      * Fetches the specific ticker price for a symbol.
      * This is faster and lighter than fetching trade lists.
@@ -45,20 +78,17 @@ public class BinanceService {
      */
     public String getPrice(String symbol) {
 
-        String baseUrl = ConfigManager.getProperty("api.base.url", "https://api.binance.com");
-        String endpoint = "/api/v3/ticker/price";
-
-        // URL Construct: https://api.binance.com/api/v3/ticker/price?symbol=BTCUSDT
-        String fullUrl = baseUrl + endpoint + "?symbol=" + symbol.toUpperCase();
+        String endpoint = AppConfig.PRICE_ENDPOINT;
 
         try {
+            // Precomputed for configured symbols: https://api.binance.com/api/v3/ticker/price?symbol=BTCUSDT
             HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(fullUrl))
+                    .uri(ConfigManager.current().getPriceUri(symbol))
                     .GET()
                     .build();
 
             long start = System.currentTimeMillis();
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = send(endpoint, request);
             long duration = System.currentTimeMillis() - start;
 
             if (response.statusCode() == 200) {
@@ -84,7 +114,8 @@ public class BinanceService {
 
     public String getStatus(String symbol) {
 
-        String baseUrl = ConfigManager.getProperty("api.testnet.base.url", "https://testnet.binance.vision");
+        String baseUrl = ConfigManager.current().getTestnetBaseUrl();
+        String endpoint = "/";
 
         // URL Construct: https://api.binance.com/api/v3/ticker/price?symbol=BTCUSDT
         String fullUrl = baseUrl + "?symbol=" + symbol.toUpperCase();
@@ -96,7 +127,7 @@ public class BinanceService {
                     .build();
 
             long start = System.currentTimeMillis();
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = send(endpoint, request);
             long duration = System.currentTimeMillis() - start;
 
             if (response.statusCode() == 200) {
@@ -122,29 +153,25 @@ public class BinanceService {
 
     /**
      * Fetches the most recent trades for a given symbol from the exchange.
-     * Uses configuration settings for endpoints and limits.
+     * The endpoint and limit come from the precomputed configuration snapshot.
      *
      * @param symbol The trading pair symbol (e.g., "BTCUSDT").
      * @return A list of {@link Trade} objects, or an empty list if the API call fails.
      */
     public List<Trade> getRecentTrades(String symbol) {
-        // Retrieve settings from the configuration manager
-        String baseUrl = ConfigManager.getProperty("api.base.url", "https://api.binance.com");
-        String endpoint = "/api/v3/trades"; // Eğer configde yoksa default bu
-        String limit = "10"; // Default limit
-
-        // Construct the full API URL
-        String fullUrl = baseUrl + endpoint + "?limit=" + limit + "&symbol=" + symbol.toUpperCase();
+        String endpoint = AppConfig.TRADES_ENDPOINT;
+        // Precomputed from the config snapshot ('api.base.url', 'api.trade.limit')
+        URI uri = ConfigManager.current().getRecentTradesUri(symbol);
 
         try {
             HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(fullUrl))
+                    .uri(uri)
                     .GET()
                     .build();
 
-            logger.debug("📡 Sending Request to: {}", fullUrl);
+            logger.debug("📡 Sending Request to: {}", uri);
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = send(endpoint, request);
 
             if (response.statusCode() != 200) {
                 logger.error("⛔ API Error! Status Code: {} | Response: {}", response.statusCode(), response.body());
@@ -164,4 +191,100 @@ public class BinanceService {
             return Collections.emptyList();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Fetches a page of older trades starting at a specific trade id.
+     * Used by the stream client to backfill gaps detected on the live feed.
+     * Endpoint: /api/v3/historicalTrades
+     *
+     * @param symbol The trading pair symbol (e.g., "BTCUSDT").
+     * @param fromId The first trade id to return (inclusive).
+     * @param limit  Maximum number of trades to return (Binance caps this at 1000).
+     * @return Trades in ascending id order, or an empty list if the API call fails.
+     */
+    public List<Trade> getTradesFromId(String symbol, long fromId, int limit) {
+        try {
+            return fetchHistoricalTrades(symbol, fromId, limit);
+        } catch (BinanceApiException e) {
+            logger.error("⛔ Backfill API Error! {}", e.getMessage());
+            return Collections.emptyList();
+        } catch (Exception e) {
+            logger.error("❌ Failed to backfill trades from Binance API", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Fetches a page of trades starting at a specific trade id, reporting failures to the caller.
+     * Endpoint: /api/v3/historicalTrades
+     *
+     * @param symbol The trading pair symbol (e.g., "BTCUSDT").
+     * @param fromId The first trade id to return (inclusive).
+     * @param limit  Maximum number of trades to return (Binance caps this at 1000).
+     * @return Trades in ascending id order.
+     * @throws BinanceApiException if the API answers with an error status.
+     */
+    public List<Trade> fetchHistoricalTrades(String symbol, long fromId, int limit) throws IOException, InterruptedException {
+        String endpoint = "/api/v3/historicalTrades";
+        String query = "symbol=" + symbol.toUpperCase() + "&fromId=" + fromId + "&limit=" + limit;
+
+        String body = fetch(endpoint, query);
+        List<Trade> trades = objectMapper.readValue(body, new TypeReference<List<Trade>>() {});
+        trades.forEach(t -> t.setPair(symbol));
+        return trades;
+    }
+
+    /**
+     * Fetches a page of aggregate trades, either from an aggregate id or within a time window.
+     * Endpoint: /api/v3/aggTrades
+     *
+     * @param symbol    The trading pair symbol (e.g., "BTCUSDT").
+     * @param fromId    First aggregate id to return (inclusive), or null.
+     * @param startTime Window start (epoch millis, inclusive), or null.
+     * @param endTime   Window end (epoch millis, inclusive), or null. Binance requires
+     *                  {@code endTime - startTime} below one hour when both are given.
+     * @param limit     Maximum number of records (Binance caps this at 1000).
+     * @return Aggregate trades in ascending id order.
+     * @throws BinanceApiException if the API answers with an error status.
+     */
+    public List<AggTrade> fetchAggTrades(String symbol, Long fromId, Long startTime, Long endTime, int limit)
+            throws IOException, InterruptedException {
+        String endpoint = "/api/v3/aggTrades";
+        StringBuilder query = new StringBuilder("symbol=").append(symbol.toUpperCase()).append("&limit=").append(limit);
+        if (fromId != null) query.append("&fromId=").append(fromId);
+        if (startTime != null) query.append("&startTime=").append(startTime);
+        if (endTime != null) query.append("&endTime=").append(endTime);
+
+        String body = fetch(endpoint, query.toString());
+        return objectMapper.readValue(body, new TypeReference<List<AggTrade>>() {});
+    }
+
+    /**
+     * Sends a GET to the market data API and returns the body of a successful response.
+     *
+     * @throws BinanceApiException for non-200 responses.
+     */
+    private String fetch(String endpoint, String query) throws IOException, InterruptedException {
+        URI uri = ConfigManager.current().getRestUri(endpoint, query);
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .GET()
+                .build();
+
+        logger.debug("📡 Sending Request to: {}", uri);
+
+        HttpResponse<String> response = send(endpoint, request);
+        if (response.statusCode() != 200) {
+            BinanceError error = null;
+            try {
+                error = objectMapper.readValue(response.body(), BinanceError.class);
+            } catch (Exception ignored) {
+                // Not a JSON error payload (e.g. an HTML error page)
+            }
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(0);
+            throw new BinanceApiException(response.statusCode(), error, retryAfter);
+        }
+        return response.body();
+    }
+}
@@ -1,19 +1,25 @@
 package com.quant.crypto.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quant.crypto.metrics.LatencyHistogram;
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.metrics.RestMetrics;
+import com.quant.crypto.model.BinanceError;
 import com.quant.crypto.model.OrderRequest;
 import com.quant.crypto.model.OrderResponse;
+import com.quant.crypto.util.AppConfig;
+import com.quant.crypto.util.ConfigManager;
 import com.quant.crypto.util.SignatureUtil;
+import com.quant.crypto.warmup.StartupTracker;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.config.Order;
 
-import java.io.InputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.Properties;
 
 /**
  * Service responsible for executing trade orders via the Binance REST API.
@@ -23,49 +29,29 @@ public class EnterOrderService {
 
     private static final Logger logger = LogManager.getLogger(EnterOrderService.class);
 
-    private String apiKey;
-    private String secretKey;
-    private String baseUrl;
+    private static final String PING_ENDPOINT = "/api/v3/ping";
 
     private final HttpClient httpClient;
     private final ObjectMapper mapper;
+    private final LatencyHistogram orderRoundTrip = MetricsRegistry.getDefault()
+            .histogram("order_round_trip_seconds", "Order placement round trip (request sent to response received)");
 
     public EnterOrderService() {
         this.httpClient = HttpClient.newHttpClient();
         this.mapper = new ObjectMapper();
-        loadConfig();
+        validateConfig();
     }
 
     /**
-     * Loads the configuration properties (API keys, Base URLs) from the
-     * 'application.properties' file located in the classpath (src/main/resources).
+     * Verifies that the current configuration snapshot carries the API credentials.
      *
-     * @throws RuntimeException If the configuration file is not found or cannot be read.
+     * @throws RuntimeException If 'api.key' or 'api.secret' is missing.
      */
-    private void loadConfig() {
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream("application.properties")) {
-
-            if (input == null) {
-                throw new RuntimeException("❌ Configuration file 'application.properties' not found in classpath!");
-            }
-
-            Properties prop = new Properties();
-            prop.load(input);
-
-            // Fetching values by their exact keys defined in the properties file
-            this.apiKey = prop.getProperty("api.key");
-            this.secretKey = prop.getProperty("api.secret");
-
-            // Ensure this key matches exactly what is in your file (e.g., "api.base.url" or "api.testnet.base.url")
-            this.baseUrl = prop.getProperty("api.testnet.base.url");
-
-            // Validation check to prevent silent null pointers later
-            if (this.apiKey == null || this.secretKey == null || this.baseUrl == null) {
-                throw new RuntimeException("❌ Missing required properties in 'application.properties'. Check your keys.");
-            }
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load configuration", e);
+    private void validateConfig() {
+        AppConfig config = ConfigManager.current();
+        // Validation check to prevent silent null pointers later
+        if (config.getApiKey() == null || config.getApiSecret() == null) {
+            throw new RuntimeException("❌ Missing required properties in 'application.properties'. Check your keys.");
         }
     }
 
@@ -76,49 +62,30 @@ public class EnterOrderService {
      * @return The response from the exchange mapped to {@link OrderResponse}.
      */
     public OrderResponse enterOrderRequest(OrderRequest orderRequest) {
+        long entered = System.nanoTime();
         try {
-            StringBuilder queryString = new StringBuilder();
-            queryString.append("symbol=").append(orderRequest.getSymbol());
-            queryString.append("&side=").append(orderRequest.getSide());
-            queryString.append("&type=").append(orderRequest.getType());
-            queryString.append("&quantity=").append(orderRequest.getQuantity());
-
-            if (orderRequest.getPrice() != null) {
-                queryString.append("&price=").append(orderRequest.getPrice());
-            }
-            if (orderRequest.getTimeInForce() != null) {
-                queryString.append("&timeInForce=").append(orderRequest.getTimeInForce());
-            }
-
-            queryString.append("&timestamp=").append(System.currentTimeMillis());
-            queryString.append("&recvWindow=5000");
-            queryString.append("&newOrderRespType=FULL");
-
-            String signature = SignatureUtil.getSignature(queryString.toString(), secretKey);
-            queryString.append("&signature=").append(signature);
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(baseUrl + "/api/v3/order?" + queryString))
-                    .header("X-MBX-APIKEY", apiKey)
-                    .POST(HttpRequest.BodyPublishers.noBody())
-                    .build();
+            HttpRequest request = buildOrderRequest(orderRequest);
+            StartupTracker.recordOrderPath(System.nanoTime() - entered);
 
             logger.info("📤 Entering Order: {} {} {} @ {}",
                     orderRequest.getSide(), orderRequest.getQuantity(), orderRequest.getSymbol(), orderRequest.getType());
 
+            long start = System.nanoTime();
             HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            orderRoundTrip.recordSince(start);
+            RestMetrics.record(AppConfig.ORDER_ENDPOINT, response, start);
             String body = response.body();
 
             logger.info("Binance HTTP={} body={}", response.statusCode(), body);
 
             if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                OrderResponse ok = mapper.readValue(body, OrderResponse.class);
+                OrderResponse ok = readResponse(body);
                 logger.info("✅ ORDER PLACED! ID: {} Status: {}", ok.getOrderId(), ok.getStatus());
                 return ok;
             } else {
                 BinanceError err = mapper.readValue(body, BinanceError.class);
                 logger.error("⛔ ORDER REJECTED! HTTP={} Code: {} Msg: {}",
-                        response.statusCode(), err.getCode(), err.getMsg());
+                        response.statusCode(), err.getCode(), err.getMessage());
                 return null;
             }
 
@@ -127,4 +94,64 @@ public class EnterOrderService {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds the signed POST request for an order without sending it.
+     * Also used by the startup warm-up to compile the order path before the first real order.
+     *
+     * @param orderRequest The order details.
+     * @return The request, signed with the current snapshot's secret.
+     */
+    public HttpRequest buildOrderRequest(OrderRequest orderRequest) {
+        // One snapshot per order: credentials and endpoint stay consistent across a hot reload
+        AppConfig config = ConfigManager.current();
+
+        StringBuilder queryString = new StringBuilder();
+        queryString.append("symbol=").append(orderRequest.getSymbol());
+        queryString.append("&side=").append(orderRequest.getSide());
+        queryString.append("&type=").append(orderRequest.getType());
+        queryString.append("&quantity=").append(orderRequest.getQuantity());
+
+        if (orderRequest.getPrice() != null) {
+            queryString.append("&price=").append(orderRequest.getPrice());
+        }
+        if (orderRequest.getTimeInForce() != null) {
+            queryString.append("&timeInForce=").append(orderRequest.getTimeInForce());
+        }
+
+        queryString.append("&timestamp=").append(System.currentTimeMillis());
+        queryString.append("&recvWindow=5000");
+        queryString.append("&newOrderRespType=FULL");
+
+        String signature = SignatureUtil.getSignature(queryString.toString(), config.getApiSecret());
+        queryString.append("&signature=").append(signature);
+
+        return HttpRequest.newBuilder()
+                .uri(URI.create(config.getOrderUri() + "?" + queryString))
+                .header("X-MBX-APIKEY", config.getApiKey())
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    /**
+     * Maps a successful order response body.
+     */
+    public OrderResponse readResponse(String body) throws IOException {
+        return mapper.readValue(body, OrderResponse.class);
+    }
+
+    /**
+     * Opens the connection to the order endpoint's host ahead of the first order, so the first
+     * order does not pay for DNS, TCP and TLS setup.
+     *
+     * @throws IOException if the host cannot be reached.
+     */
+    public void preconnect() throws IOException, InterruptedException {
+        HttpRequest ping = HttpRequest.newBuilder()
+                .uri(URI.create(ConfigManager.current().getTestnetBaseUrl() + PING_ENDPOINT))
+                .GET()
+                .build();
+        HttpResponse<Void> response = httpClient.send(ping, HttpResponse.BodyHandlers.discarding());
+        logger.info("🔌 Order connection ready (HTTP {})", response.statusCode());
+    }
+}
@@ -0,0 +1,431 @@
+package com.quant.crypto.service;
+
+import com.quant.crypto.metrics.Counter;
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.metrics.RestMetrics;
+import com.quant.crypto.util.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sends idempotent GETs with a hard deadline and, optionally, a hedge against tail latency.
+ * <p>
+ * When hedging is enabled and a request is still unanswered after the endpoint's recent p95
+ * latency, an identical request is sent through a second {@link HttpClient} (its own connection
+ * pool, so it does not queue behind a stalled connection) and the first successful response
+ * wins; the other is cancelled. Every request adds 'rest.hedge.budget.percent' of a hedge to a
+ * budget and every hedge spends a whole one, so hedges stay within that share of the traffic;
+ * none are sent while the minute's request weight is near Binance's limit.
+ * <p>
+ * The latency window holds how long the original attempt took (the deadline if it never
+ * answered), not the winner: recording won hedges would pull the delay down towards the
+ * hedge's latency and hedge ever more requests. An original that loses to its hedge is
+ * therefore left to finish in the background; its own timeout is the deadline.
+ * <p>
+ * Only for requests that are safe to repeat: never route orders through this class.
+ */
+public class HedgedRequestSender {
+
+    private static final Logger logger = LogManager.getLogger(HedgedRequestSender.class);
+
+    /** Latency samples kept per endpoint for the hedge delay. */
+    private static final int WINDOW = 256;
+    /** Requests observed on an endpoint before it may be hedged. */
+    private static final int MIN_SAMPLES = 20;
+    /** Budget credits per hedge; requests earn credits in hundredths of a percent. */
+    private static final long HEDGE_COST = 10_000;
+    /** Most hedges that can be saved up during quiet periods. */
+    private static final long BUDGET_BURST = 10 * HEDGE_COST;
+
+    private final HttpClient primaryClient;
+    private final HttpClient hedgeClient;
+    private final long deadlineNanos;
+    private final boolean hedgeEnabled;
+    private final double hedgePercentile;
+    private final long minHedgeDelayNanos;
+    private final long creditsPerRequest;
+    private final long maxUsedWeight;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final MetricsRegistry metrics = MetricsRegistry.getDefault();
+    private long credits;
+
+    /**
+     * Creates a sender from 'application.properties' (rest.* keys).
+     *
+     * @param connectTimeout Connect timeout of both HTTP clients.
+     */
+    public HedgedRequestSender(Duration connectTimeout) {
+        this(HttpClient.newBuilder().connectTimeout(connectTimeout).build(),
+                HttpClient.newBuilder().connectTimeout(connectTimeout).build(),
+                Long.parseLong(ConfigManager.getProperty("rest.request.deadline.ms", "5000")),
+                Boolean.parseBoolean(ConfigManager.getProperty("rest.hedge.enabled", "false")),
+                Double.parseDouble(ConfigManager.getProperty("rest.hedge.percentile", "0.95")),
+                Long.parseLong(ConfigManager.getProperty("rest.hedge.min.delay.ms", "20")),
+                Double.parseDouble(ConfigManager.getProperty("rest.hedge.budget.percent", "5")),
+                Long.parseLong(ConfigManager.getProperty("rest.hedge.max.used.weight", "4800")));
+    }
+
+    /**
+     * @param primaryClient   Client for the first attempt.
+     * @param hedgeClient     Client for the hedge (a separate instance, hence separate connections).
+     * @param deadlineMs      Time after which the call fails, hedge or not.
+     * @param hedgeEnabled    Whether slow requests are hedged at all.
+     * @param hedgePercentile Quantile of recent latencies after which a request is hedged (e.g. 0.95).
+     * @param minHedgeDelayMs Lower bound of the hedge delay, so fast endpoints are not hedged on jitter.
+     * @param budgetPercent   Hedges allowed per 100 requests.
+     * @param maxUsedWeight   No hedges while X-MBX-USED-WEIGHT-1M is above this value.
+     */
+    public HedgedRequestSender(HttpClient primaryClient, HttpClient hedgeClient, long deadlineMs, boolean hedgeEnabled,
+                               double hedgePercentile, long minHedgeDelayMs, double budgetPercent, long maxUsedWeight) {
+        if (deadlineMs <= 0) throw new IllegalArgumentException("Request deadline must be positive: " + deadlineMs);
+        if (hedgePercentile <= 0 || hedgePercentile >= 1) {
+            throw new IllegalArgumentException("Hedge percentile must be within (0, 1): " + hedgePercentile);
+        }
+        this.primaryClient = primaryClient;
+        this.hedgeClient = hedgeClient;
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.minHedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(minHedgeDelayMs);
+        this.creditsPerRequest = Math.round(budgetPercent * 100);
+        this.maxUsedWeight = maxUsedWeight;
+    }
+
+    /**
+     * Sends the GET and records its status code, latency and rate-limit usage.
+     *
+     * @param endpoint The API path, used for the latency window and as the metrics label.
+     * @param request  The request to send; it must be idempotent.
+     * @return The first successful response.
+     * @throws HttpTimeoutException if no response arrived within the deadline.
+     * @throws IOException          if every attempt failed.
+     */
+    public HttpResponse<String> send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        Endpoint state = endpoints.computeIfAbsent(endpoint, Endpoint::new);
+        long start = System.nanoTime();
+        HttpRequest timed = HttpRequest.newBuilder(request, (name, value) -> true)
+                .timeout(Duration.ofNanos(deadlineNanos))
+                .build();
+
+        Race race = new Race();
+        race.launch(primaryClient.sendAsync(timed, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> recordPrimary(state, start, error)), false);
+        try {
+            long delay = hedgeDelayNanos(state);
+            if (delay > 0 && delay < deadlineNanos && !race.awaitWithin(delay) && race.reserveHedge()) {
+                if (admitHedge(state)) {
+                    race.launch(hedgeClient.sendAsync(timed, HttpResponse.BodyHandlers.ofString()), true);
+                    state.hedges.increment();
+                    logger.debug("🔁 Hedging {} after {} ms", endpoint, TimeUnit.NANOSECONDS.toMillis(delay));
+                } else {
+                    race.releaseHedge();
+                }
+            }
+            Result result = race.winner.get(deadlineNanos - (System.nanoTime() - start), TimeUnit.NANOSECONDS);
+            if (result.hedge) state.hedgeWins.increment();
+            RestMetrics.record(endpoint, result.response, start);
+            return result.response;
+        } catch (TimeoutException e) {
+            state.deadlineExceeded.increment();
+            RestMetrics.recordFailure(endpoint);
+            throw new HttpTimeoutException(endpoint + " exceeded its " + TimeUnit.NANOSECONDS.toMillis(deadlineNanos)
+                    + " ms deadline");
+        } catch (ExecutionException e) {
+            RestMetrics.recordFailure(endpoint);
+            Throwable cause = e.getCause();
+            if (cause instanceof HttpTimeoutException) state.deadlineExceeded.increment();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException(cause);
+        } finally {
+            race.cancel();
+        }
+    }
+
+    /**
+     * Sends the request once through each HTTP client, so both connection pools are open
+     * (DNS, TCP, TLS) before the first real request; a hedge is only sent when the original is
+     * already slow and must not pay for connection setup on top. Not recorded in the latency
+     * window.
+     *
+     * @param endpoint The API path, used as the metrics label.
+     * @param request  The request to send; it must be idempotent.
+     * @return The status codes of the primary and the hedge client, in that order.
+     * @throws IOException if either client cannot reach the host.
+     */
+    public int[] preconnect(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        HttpRequest timed = HttpRequest.newBuilder(request, (name, value) -> true)
+                .timeout(Duration.ofNanos(deadlineNanos))
+                .build();
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> primary = primaryClient.sendAsync(timed,
+                HttpResponse.BodyHandlers.ofString());
+        CompletableFuture<HttpResponse<String>> hedge = hedgeClient.sendAsync(timed,
+                HttpResponse.BodyHandlers.ofString());
+        try {
+            HttpResponse<String> primaryResponse = primary.get();
+            RestMetrics.record(endpoint, primaryResponse, start);
+            HttpResponse<String> hedgeResponse = hedge.get();
+            RestMetrics.record(endpoint, hedgeResponse, start);
+            return new int[]{primaryResponse.statusCode(), hedgeResponse.statusCode()};
+        } catch (ExecutionException e) {
+            RestMetrics.recordFailure(endpoint);
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException(cause);
+        } finally {
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
+    }
+
+    /**
+     * Adds the original attempt's latency to the window: its response time, or the deadline if
+     * it timed out. Other failures say nothing about the endpoint's latency and are skipped.
+     */
+    private void recordPrimary(Endpoint state, long start, Throwable error) {
+        if (error == null) {
+            state.record(System.nanoTime() - start);
+        } else if ((error instanceof CompletionException ? error.getCause() : error) instanceof HttpTimeoutException) {
+            state.record(deadlineNanos);
+        }
+    }
+
+    /**
+     * @return Nanoseconds to wait before hedging, or 0 if this request must not be hedged.
+     */
+    private long hedgeDelayNanos(Endpoint state) {
+        if (!hedgeEnabled) return 0;
+        synchronized (this) {
+            credits = Math.min(BUDGET_BURST, credits + creditsPerRequest);
+        }
+        state.requests.increment();
+        long p = state.percentile(hedgePercentile);
+        return p < 0 ? 0 : Math.max(p, minHedgeDelayNanos);
+    }
+
+    /**
+     * Spends one hedge from the budget, unless the budget is spent or the rate limit is close.
+     */
+    private boolean admitHedge(Endpoint state) {
+        if (RestMetrics.getUsedWeight1m() > maxUsedWeight) {
+            state.skippedWeight.increment();
+            return false;
+        }
+        synchronized (this) {
+            if (credits < HEDGE_COST) {
+                state.skippedBudget.increment();
+                return false;
+            }
+            credits -= HEDGE_COST;
+        }
+        return true;
+    }
+
+    // --- Statistics (all endpoints) ---
+
+    /** @return Requests that were eligible for hedging (hedging enabled). */
+    public long getRequests() {
+        return sum(e -> e.requests);
+    }
+
+    public long getHedges() {
+        return sum(e -> e.hedges);
+    }
+
+    /** @return Hedges whose response arrived before the original's. */
+    public long getHedgeWins() {
+        return sum(e -> e.hedgeWins);
+    }
+
+    /** @return Hedges not sent because the budget was spent or the request weight was too high. */
+    public long getHedgesSkipped() {
+        return sum(e -> e.skippedBudget) + sum(e -> e.skippedWeight);
+    }
+
+    public long getDeadlineExceeded() {
+        return sum(e -> e.deadlineExceeded);
+    }
+
+    /**
+     * @return The recent latency percentile of an endpoint (in milliseconds), or -1 while it
+     * has too few samples.
+     */
+    public long getHedgeDelayMillis(String endpoint) {
+        Endpoint state = endpoints.get(endpoint);
+        long p = state == null ? -1 : state.percentile(hedgePercentile);
+        return p < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(p);
+    }
+
+    private long sum(Function<Endpoint, Counter> counter) {
+        long total = 0;
+        for (Endpoint e : endpoints.values()) {
+            total += counter.apply(e).get();
+        }
+        return total;
+    }
+
+    /**
+     * The original and (possibly) the hedge; completes with the first success, or fails once
+     * every launched attempt has failed. Only the hedge is cancelled when the race ends.
+     */
+    private static final class Race {
+
+        final CompletableFuture<Result> winner = new CompletableFuture<>();
+        private final CompletableFuture<?>[] attempts = new CompletableFuture<?>[2];
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile Throwable lastError;
+        private int launched;
+
+        /**
+         * Launches an attempt; a hedge must have been reserved with {@link #reserveHedge()}.
+         */
+        void launch(CompletableFuture<HttpResponse<String>> attempt, boolean hedge) {
+            attempts[launched++] = attempt;
+            if (!hedge) pending.incrementAndGet();
+            attempt.whenComplete((response, error) -> {
+                if (error == null) {
+                    winner.complete(new Result(response, hedge));
+                    return;
+                }
+                lastError = error instanceof CompletionException ? error.getCause() : error;
+                if (pending.decrementAndGet() == 0) winner.completeExceptionally(lastError);
+            });
+        }
+
+        /**
+         * Counts the hedge as pending before it is admitted and sent, so an original failing in
+         * the meantime does not end the race with the hedge on its way.
+         *
+         * @return false if the race has already finished; nothing is reserved then.
+         */
+        boolean reserveHedge() {
+            pending.incrementAndGet();
+            if (winner.isDone()) {
+                pending.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Gives up a reserved hedge; fails the race if the original has failed meanwhile.
+         */
+        void releaseHedge() {
+            if (pending.decrementAndGet() == 0) winner.completeExceptionally(lastError);
+        }
+
+        /**
+         * @return true if the race finished (won or failed) within the wait.
+         */
+        boolean awaitWithin(long nanos) throws InterruptedException {
+            try {
+                winner.get(nanos, TimeUnit.NANOSECONDS);
+                return true;
+            } catch (TimeoutException e) {
+                return false;
+            } catch (ExecutionException e) {
+                return true;
+            }
+        }
+
+        void cancel() {
+            // attempts[0] is the original, left to finish for the latency window
+            for (int i = 1; i < launched; i++) {
+                attempts[i].cancel(true);
+            }
+        }
+    }
+
+    private static final class Result {
+
+        final HttpResponse<String> response;
+        final boolean hedge;
+
+        Result(HttpResponse<String> response, boolean hedge) {
+            this.response = response;
+            this.hedge = hedge;
+        }
+    }
+
+    /**
+     * Per-endpoint latency window and counters.
+     */
+    private final class Endpoint {
+
+        private final long[] samples = new long[WINDOW];
+        private final long[] sorted = new long[WINDOW];
+        private long recorded;
+        private long cachedPercentile = -1;
+        private boolean dirty;
+
+        final Counter requests;
+        final Counter hedges;
+        final Counter hedgeWins;
+        final Counter skippedBudget;
+        final Counter skippedWeight;
+        final Counter deadlineExceeded;
+
+        Endpoint(String endpoint) {
+            requests = metrics.counter("rest_hedge_eligible_total", "Requests sent with hedging enabled",
+                    "endpoint", endpoint);
+            hedges = metrics.counter("rest_hedges_total", "Duplicate requests sent after the hedge delay",
+                    "endpoint", endpoint);
+            hedgeWins = metrics.counter("rest_hedge_wins_total", "Hedges that answered before the original",
+                    "endpoint", endpoint);
+            skippedBudget = metrics.counter("rest_hedges_skipped_total", "Hedges not sent",
+                    "endpoint", endpoint, "reason", "budget");
+            skippedWeight = metrics.counter("rest_hedges_skipped_total", "Hedges not sent",
+                    "endpoint", endpoint, "reason", "weight");
+            deadlineExceeded = metrics.counter("rest_deadline_exceeded_total", "Requests failed at their deadline",
+                    "endpoint", endpoint);
+            metrics.gauge("rest_hedge_rate", "Fraction of eligible requests that were hedged",
+                    () -> ratio(hedges.get(), requests.get()), "endpoint", endpoint);
+            metrics.gauge("rest_hedge_win_rate", "Fraction of hedges that beat the original",
+                    () -> ratio(hedgeWins.get(), hedges.get()), "endpoint", endpoint);
+            metrics.gauge("rest_hedge_delay_seconds", "Current hedge delay (recent latency percentile)",
+                    () -> Math.max(0, percentile(hedgePercentile)) / 1e9, "endpoint", endpoint);
+        }
+
+        synchronized void record(long nanos) {
+            samples[(int) (recorded++ % WINDOW)] = nanos;
+            dirty = true;
+        }
+
+        /**
+         * @return The latency quantile over the window, or -1 while there are too few samples.
+         */
+        synchronized long percentile(double quantile) {
+            if (recorded < MIN_SAMPLES) return -1;
+            if (dirty) {
+                int n = (int) Math.min(recorded, WINDOW);
+                System.arraycopy(samples, 0, sorted, 0, n);
+                Arrays.sort(sorted, 0, n);
+                cachedPercentile = sorted[Math.min(n - 1, (int) Math.ceil(quantile * n) - 1)];
+                dirty = false;
+            }
+            return cachedPercentile;
+        }
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+}
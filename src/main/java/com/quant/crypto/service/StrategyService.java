@@ -1,4 +1,197 @@
 package com.quant.crypto.service;
 
-public class StrategyService {
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.model.Bar;
+import com.quant.crypto.model.Fill;
+import com.quant.crypto.model.TradeEventListener;
+import com.quant.crypto.stream.bar.BarListener;
+import com.quant.crypto.stream.bar.BarSeries;
+import com.quant.crypto.strategy.CircuitBreaker;
+import com.quant.crypto.strategy.Strategy;
+import com.quant.crypto.strategy.StrategyEvent;
+import com.quant.crypto.strategy.StrategyRunner;
+import com.quant.crypto.util.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runtime hosting many {@link Strategy} instances on a shared market feed.
+ * <p>
+ * Subscribe the service to the stream client (trades) and the bar aggregator (bars); it fans
+ * each event out to every registered strategy. Each strategy runs on its own thread behind a
+ * bounded inbox, and a per-strategy latency breaker stops feeding a strategy that keeps
+ * exceeding its budget, so one slow strategy cannot hold back the others or the feed.
+ */
+public class StrategyService implements TradeEventListener, BarListener {
+
+    private static final Logger logger = LogManager.getLogger(StrategyService.class);
+
+    private final long defaultBudgetMicros;
+    private final int breachesToTrip;
+    private final long cooldownMs;
+    private final int inboxCapacity;
+    private final MetricsRegistry metrics;
+
+    // Copy-on-write array so fan-out iterates without allocation
+    private volatile StrategyRunner[] runners = new StrategyRunner[0];
+    private volatile boolean started;
+
+    /**
+     * Creates the runtime with defaults from 'application.properties' (strategy.* keys).
+     */
+    public StrategyService() {
+        this(Long.parseLong(ConfigManager.getProperty("strategy.latency.budget.micros", "500")),
+                Integer.parseInt(ConfigManager.getProperty("strategy.breaker.breaches", "3")),
+                Long.parseLong(ConfigManager.getProperty("strategy.breaker.cooldown.ms", "10000")),
+                Integer.parseInt(ConfigManager.getProperty("strategy.inbox.capacity", "10000")));
+    }
+
+    /**
+     * @param defaultBudgetMicros Latency budget per callback for strategies registered without one.
+     * @param breachesToTrip      Consecutive over-budget callbacks that open a strategy's breaker.
+     * @param cooldownMs          Time a tripped strategy is withheld from the feed before probing.
+     * @param inboxCapacity       Bounded inbox size per strategy.
+     */
+    public StrategyService(long defaultBudgetMicros, int breachesToTrip, long cooldownMs, int inboxCapacity) {
+        this(defaultBudgetMicros, breachesToTrip, cooldownMs, inboxCapacity, MetricsRegistry.getDefault());
+    }
+
+    /**
+     * @param defaultBudgetMicros Latency budget per callback for strategies registered without one.
+     * @param breachesToTrip      Consecutive over-budget callbacks that open a strategy's breaker.
+     * @param cooldownMs          Time a tripped strategy is withheld from the feed before probing.
+     * @param inboxCapacity       Bounded inbox size per strategy.
+     * @param metrics             Registry receiving the per-strategy series (e.g. a private one
+     *                            for a scratch instance).
+     */
+    public StrategyService(long defaultBudgetMicros, int breachesToTrip, long cooldownMs, int inboxCapacity,
+                           MetricsRegistry metrics) {
+        this.defaultBudgetMicros = defaultBudgetMicros;
+        this.breachesToTrip = breachesToTrip;
+        this.cooldownMs = cooldownMs;
+        this.inboxCapacity = inboxCapacity;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registers a strategy with the default latency budget.
+     */
+    public StrategyRunner register(Strategy strategy) {
+        return register(strategy, defaultBudgetMicros);
+    }
+
+    /**
+     * Registers a strategy with its own latency budget.
+     * Strategies registered after {@link #start()} are started immediately.
+     *
+     * @param strategy     The strategy implementation.
+     * @param budgetMicros Maximum handling time per callback (in microseconds).
+     * @return The runner hosting the strategy, for monitoring.
+     */
+    public synchronized StrategyRunner register(Strategy strategy, long budgetMicros) {
+        for (StrategyRunner existing : runners) {
+            if (existing.getName().equals(strategy.getName())) {
+                throw new IllegalArgumentException("Strategy already registered: " + strategy.getName());
+            }
+        }
+        CircuitBreaker breaker = new CircuitBreaker(TimeUnit.MICROSECONDS.toNanos(budgetMicros),
+                breachesToTrip, TimeUnit.MILLISECONDS.toNanos(cooldownMs));
+        StrategyRunner runner = new StrategyRunner(strategy, inboxCapacity, breaker);
+
+        StrategyRunner[] next = Arrays.copyOf(runners, runners.length + 1);
+        next[runners.length] = runner;
+        runners = next;
+
+        registerMetrics(runner);
+        if (started) runner.start();
+        return runner;
+    }
+
+    private void registerMetrics(StrategyRunner runner) {
+        String name = runner.getName();
+        metrics.gauge("strategy_inbox_depth", "Events queued per strategy", runner::getInboxDepth, "strategy", name);
+        metrics.counter("strategy_events_total", "Events handled per strategy", runner::getHandled, "strategy", name);
+        metrics.counter("strategy_dropped_total", "Market events dropped on a full inbox", runner::getDropped, "strategy", name);
+        metrics.counter("strategy_shed_total", "Market events withheld by an open breaker", runner::getShed, "strategy", name);
+        metrics.counter("strategy_breaker_trips_total", "Latency breaker trips", runner::getBreakerTrips, "strategy", name);
+        metrics.gauge("strategy_handle_seconds_avg", "Mean callback handling time",
+                () -> runner.getAverageNanos() / 1_000_000_000d, "strategy", name);
+    }
+
+    /**
+     * Starts every registered strategy; each runs {@link Strategy#init()} on its own thread.
+     */
+    public synchronized void start() {
+        if (started) return;
+        started = true;
+        for (StrategyRunner runner : runners) {
+            runner.start();
+        }
+        logger.info("🚀 STRATEGY RUNTIME STARTED: {} strategies", runners.length);
+    }
+
+    /**
+     * Stops every strategy, discarding queued market events but delivering queued fills, and runs
+     * their shutdown hooks. The service can be started again afterwards.
+     */
+    public synchronized void shutdown() {
+        for (StrategyRunner runner : runners) {
+            runner.stop(TimeUnit.SECONDS.toMillis(5));
+        }
+        started = false;
+    }
+
+    /**
+     * Price-only events carry no symbol; strategies receive the full callback instead.
+     */
+    @Override
+    public void onTradeEvent(double price, long eventTime) {
+        // Intentionally empty: see onTrade(...)
+    }
+
+    @Override
+    public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+        StrategyRunner[] current = runners;
+        if (current.length == 0) return;
+        StrategyEvent event = StrategyEvent.trade(symbol, tradeId, price, quantity, eventTime, buyerMaker);
+        for (StrategyRunner runner : current) {
+            runner.offerMarketEvent(event);
+        }
+    }
+
+    @Override
+    public void onBar(BarSeries series, int index, boolean revision) {
+        StrategyRunner[] current = runners;
+        if (current.length == 0) return;
+        // Copy out of the ring: the slot may be overwritten before a strategy gets to it
+        Bar bar = new Bar(series.getSymbol(), series.getSpec().toString(),
+                series.getOpenTime(index), series.getCloseTime(index),
+                series.getOpen(index), series.getHigh(index), series.getLow(index), series.getClose(index),
+                series.getVolume(index), series.getTradeCount(index), revision);
+        StrategyEvent event = StrategyEvent.bar(bar);
+        for (StrategyRunner runner : current) {
+            runner.offerMarketEvent(event);
+        }
+    }
+
+    /**
+     * Delivers an execution to every strategy. Fills bypass the latency breaker.
+     */
+    public void onFill(Fill fill) {
+        StrategyEvent event = StrategyEvent.fill(fill);
+        for (StrategyRunner runner : runners) {
+            runner.offerFill(event);
+        }
+    }
+
+    /**
+     * @return The hosted strategies, for monitoring.
+     */
+    public List<StrategyRunner> getRunners() {
+        return List.of(runners);
+    }
 }
@@ -0,0 +1,130 @@
+package com.quant.crypto.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A read-only memory-mapped partition file and its block index (offset and min/max time of
+ * every block), built by hopping from header to header without touching the payloads.
+ * <p>
+ * The index stops at the first incomplete or unrecognised block, so a partition that is
+ * still being appended to, or was cut short by a crash, exposes its valid prefix.
+ */
+final class MappedPartition {
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final long mappedSize;
+
+    private int blockCount;
+    private int[] offsets = new int[16];
+    private long[] minTimes = new long[16];
+    private long[] maxTimes = new long[16];
+    private int maxBlockSize;
+    private long tradeCount;
+    private int validLength;
+
+    private MappedPartition(Path path, ByteBuffer buffer, long mappedSize) {
+        this.path = path;
+        this.buffer = buffer;
+        this.mappedSize = mappedSize;
+        buildIndex();
+    }
+
+    static MappedPartition open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Partition too large to map: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new MappedPartition(path, mapped.order(TradeBlockCodec.ORDER), size);
+        }
+    }
+
+    private void buildIndex() {
+        if (!TradeBlockCodec.isValidFileHeader(buffer)) {
+            validLength = 0;
+            return;
+        }
+        int offset = TradeBlockCodec.FILE_HEADER_BYTES;
+        int limit = buffer.limit();
+        while (offset + TradeBlockCodec.BLOCK_HEADER_BYTES <= limit) {
+            if (buffer.getInt(offset) != TradeBlockCodec.BLOCK_MAGIC) break;
+            int count = buffer.getInt(offset + 4);
+            int payloadLength = buffer.getInt(offset + 40);
+            long next = (long) offset + TradeBlockCodec.BLOCK_HEADER_BYTES + payloadLength;
+            if (count <= 0 || payloadLength <= 0 || next > limit) break;
+
+            if (blockCount == offsets.length) {
+                int grown = blockCount * 2;
+                offsets = Arrays.copyOf(offsets, grown);
+                minTimes = Arrays.copyOf(minTimes, grown);
+                maxTimes = Arrays.copyOf(maxTimes, grown);
+            }
+            offsets[blockCount] = offset;
+            minTimes[blockCount] = buffer.getLong(offset + 8);
+            maxTimes[blockCount] = buffer.getLong(offset + 16);
+            blockCount++;
+            maxBlockSize = Math.max(maxBlockSize, count);
+            tradeCount += count;
+            offset = (int) next;
+        }
+        validLength = offset;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    long getMappedSize() {
+        return mappedSize;
+    }
+
+    int getBlockCount() {
+        return blockCount;
+    }
+
+    int getOffset(int block) {
+        return offsets[block];
+    }
+
+    long getMinTime(int block) {
+        return minTimes[block];
+    }
+
+    long getMaxTime(int block) {
+        return maxTimes[block];
+    }
+
+    int getMaxBlockSize() {
+        return maxBlockSize;
+    }
+
+    long getTradeCount() {
+        return tradeCount;
+    }
+
+    /**
+     * @return Id of the last stored trade, or {@link Long#MIN_VALUE} if there are no blocks.
+     */
+    long getLastTradeId() {
+        return blockCount == 0 ? Long.MIN_VALUE : buffer.getLong(offsets[blockCount - 1] + 32);
+    }
+
+    /**
+     * @return Length of the file prefix made of complete blocks (0 if the header is invalid).
+     */
+    int getValidLength() {
+        return validLength;
+    }
+}
@@ -0,0 +1,97 @@
+package com.quant.crypto.store;
+
+/**
+ * A decoded block of trades in columnar form, reused across blocks during a scan.
+ * <p>
+ * Rows {@code 0 .. size() - 1} of each decoded column are valid and already restricted to
+ * the queried time range; columns not requested by the scan hold stale data. The arrays
+ * belong to the reader and are overwritten by the next block, so copy out anything that
+ * must outlive the callback.
+ */
+public final class TradeBlock {
+
+    /** Column flags for {@link TradeStoreReader#scan(String, long, long, int, TradeBlockVisitor)}. */
+    public static final int TRADE_IDS = 1;
+    public static final int TIMES = 1 << 1;
+    public static final int PRICES = 1 << 2;
+    public static final int QUANTITIES = 1 << 3;
+    public static final int BUYER_MAKERS = 1 << 4;
+    public static final int ALL_COLUMNS = TRADE_IDS | TIMES | PRICES | QUANTITIES | BUYER_MAKERS;
+
+    private String symbol;
+    private int size;
+    long[] tradeIds;
+    long[] times;
+    double[] prices;
+    double[] quantities;
+    boolean[] buyerMakers;
+
+    TradeBlock(int capacity) {
+        ensureCapacity(capacity);
+    }
+
+    void ensureCapacity(int capacity) {
+        if (tradeIds != null && tradeIds.length >= capacity) return;
+        tradeIds = new long[capacity];
+        times = new long[capacity];
+        prices = new double[capacity];
+        quantities = new double[capacity];
+        buyerMakers = new boolean[capacity];
+    }
+
+    void reset(String symbol, int size) {
+        this.symbol = symbol;
+        this.size = size;
+    }
+
+    /**
+     * Drops rows outside {@code [fromTime, toTime]}, keeping order. Columns that were not
+     * decoded are compacted too; their contents are meaningless either way.
+     */
+    void retainRange(long fromTime, long toTime) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            long t = times[i];
+            if (t < fromTime || t > toTime) continue;
+            if (kept != i) {
+                tradeIds[kept] = tradeIds[i];
+                times[kept] = t;
+                prices[kept] = prices[i];
+                quantities[kept] = quantities[i];
+                buyerMakers[kept] = buyerMakers[i];
+            }
+            kept++;
+        }
+        size = kept;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] getTradeIds() {
+        return tradeIds;
+    }
+
+    /** @return Trade times (epoch millis). */
+    public long[] getTimes() {
+        return times;
+    }
+
+    public double[] getPrices() {
+        return prices;
+    }
+
+    public double[] getQuantities() {
+        return quantities;
+    }
+
+    /** @return true where the buyer was the maker, i.e. the aggressor sold. */
+    public boolean[] getBuyerMakers() {
+        return buyerMakers;
+    }
+}
@@ -0,0 +1,265 @@
+package com.quant.crypto.store;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk format of the trade store.
+ * <p>
+ * A partition file ({@code <root>/<SYMBOL>/<yyyy-MM-dd>.trd}, UTC day) is a 16-byte file header
+ * followed by self-describing blocks. Each block has a fixed 64-byte header carrying the
+ * min/max trade time (the block index) and the byte length of each column, followed by the
+ * payload, which stores each column contiguously so a scan can skip the columns it does not read:
+ * <ul>
+ *   <li>trade ids and times: delta-of-delta, zig-zag varint (consecutive ids and steady
+ *       trade rates cost one byte per value);</li>
+ *   <li>prices: fixed-point ({@code 10^-8}) deltas, zig-zag varint;</li>
+ *   <li>quantities: fixed-point ({@code 10^-8}) unsigned varint;</li>
+ *   <li>buyer-maker flags: one bit per trade.</li>
+ * </ul>
+ * Fixed-point decimals keep prices and sizes exact, unlike XOR-of-doubles schemes, and Binance
+ * never quotes more than 8 decimals. All multi-byte header values are little-endian.
+ * <p>
+ * Instances hold scratch state and are not thread-safe.
+ */
+final class TradeBlockCodec {
+
+    static final int FILE_MAGIC = 0x44525451; // "QTRD"
+    static final short FORMAT_VERSION = 1;
+    static final int FILE_HEADER_BYTES = 16;
+
+    static final int BLOCK_MAGIC = 0x4B4C4254; // "TBLK"
+    static final int BLOCK_HEADER_BYTES = 64;
+
+    static final int SCALE = 8;
+    static final double FACTOR = 1e8;
+
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final CRC32 crc = new CRC32();
+    private byte[] buffer = new byte[0];
+    private int pos;
+
+    // --- Layout helpers ---
+
+    static Path partitionPath(Path root, String symbol, long epochDay) {
+        return root.resolve(symbol.toUpperCase()).resolve(LocalDate.ofEpochDay(epochDay) + ".trd");
+    }
+
+    static long epochDay(long timeMillis) {
+        return Math.floorDiv(timeMillis, MILLIS_PER_DAY);
+    }
+
+    static long toFixed(double value) {
+        return Math.round(value * FACTOR);
+    }
+
+    static ByteBuffer fileHeader() {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).order(ORDER);
+        header.putInt(FILE_MAGIC).putShort(FORMAT_VERSION).put((byte) SCALE).put((byte) SCALE);
+        header.position(0);
+        return header;
+    }
+
+    static boolean isValidFileHeader(ByteBuffer file) {
+        return file.limit() >= FILE_HEADER_BYTES
+                && file.getInt(0) == FILE_MAGIC
+                && file.getShort(4) == FORMAT_VERSION
+                && file.get(6) == SCALE && file.get(7) == SCALE;
+    }
+
+    /**
+     * @return Upper bound of the payload size for {@code count} trades.
+     */
+    static int maxPayloadBytes(int count) {
+        return count * 4 * 10 + (count + 7) / 8;
+    }
+
+    // --- Encoding ---
+
+    /**
+     * Encodes one block (header and payload) into an internal buffer.
+     *
+     * @return A buffer positioned at 0 holding the complete block.
+     */
+    ByteBuffer encode(long[] ids, long[] times, long[] prices, long[] quantities, boolean[] buyerMakers, int count) {
+        int capacity = BLOCK_HEADER_BYTES + maxPayloadBytes(count);
+        if (buffer.length < capacity) buffer = new byte[capacity];
+
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            minTime = Math.min(minTime, times[i]);
+            maxTime = Math.max(maxTime, times[i]);
+        }
+
+        pos = BLOCK_HEADER_BYTES;
+        writeDeltaOfDelta(ids, count, ids[0]);
+        int idsEnd = pos;
+        writeDeltaOfDelta(times, count, minTime);
+        int timesEnd = pos;
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            writeZigZag(prices[i] - previous);
+            previous = prices[i];
+        }
+        int pricesEnd = pos;
+        for (int i = 0; i < count; i++) {
+            writeUnsigned(quantities[i]);
+        }
+        int quantitiesEnd = pos;
+        for (int i = 0; i < count; i += 8) {
+            int bits = 0;
+            for (int b = 0; b < 8 && i + b < count; b++) {
+                if (buyerMakers[i + b]) bits |= 1 << b;
+            }
+            buffer[pos++] = (byte) bits;
+        }
+        int payloadLength = pos - BLOCK_HEADER_BYTES;
+
+        crc.reset();
+        crc.update(buffer, BLOCK_HEADER_BYTES, payloadLength);
+
+        ByteBuffer block = ByteBuffer.wrap(buffer, 0, pos).order(ORDER);
+        block.putInt(0, BLOCK_MAGIC)
+                .putInt(4, count)
+                .putLong(8, minTime)
+                .putLong(16, maxTime)
+                .putLong(24, ids[0])
+                .putLong(32, ids[count - 1])
+                .putInt(40, payloadLength)
+                .putInt(44, (int) crc.getValue())
+                .putInt(48, idsEnd - BLOCK_HEADER_BYTES)
+                .putInt(52, timesEnd - idsEnd)
+                .putInt(56, pricesEnd - timesEnd)
+                .putInt(60, quantitiesEnd - pricesEnd);
+        return block;
+    }
+
+    private void writeDeltaOfDelta(long[] values, int count, long base) {
+        long previous = base;
+        long previousDelta = 0;
+        for (int i = 0; i < count; i++) {
+            long delta = values[i] - previous;
+            writeZigZag(delta - previousDelta);
+            previousDelta = delta;
+            previous = values[i];
+        }
+    }
+
+    private void writeZigZag(long value) {
+        writeUnsigned((value << 1) ^ (value >> 63));
+    }
+
+    private void writeUnsigned(long value) {
+        byte[] out = buffer;
+        int p = pos;
+        while ((value & ~0x7FL) != 0) {
+            out[p++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[p++] = (byte) value;
+        pos = p;
+    }
+
+    // --- Decoding ---
+
+    /**
+     * Decodes the block at {@code offset} of a mapped partition into {@code into}.
+     * Trade times are always decoded; other columns only when selected.
+     *
+     * @param columns Bit set of {@link TradeBlock} column flags.
+     * @throws IllegalStateException if the payload checksum does not match.
+     */
+    void decode(ByteBuffer file, int offset, int columns, TradeBlock into) {
+        int count = file.getInt(offset + 4);
+        long minTime = file.getLong(offset + 8);
+        long firstId = file.getLong(offset + 24);
+        int payloadLength = file.getInt(offset + 40);
+        int expectedCrc = file.getInt(offset + 44);
+
+        if (buffer.length < payloadLength) buffer = new byte[payloadLength];
+        file.get(offset + BLOCK_HEADER_BYTES, buffer, 0, payloadLength);
+        crc.reset();
+        crc.update(buffer, 0, payloadLength);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IllegalStateException("Corrupt trade block at offset " + offset);
+        }
+
+        int timesStart = file.getInt(offset + 48);
+        int pricesStart = timesStart + file.getInt(offset + 52);
+        int quantitiesStart = pricesStart + file.getInt(offset + 56);
+        int makersStart = quantitiesStart + file.getInt(offset + 60);
+
+        into.ensureCapacity(count);
+        if ((columns & TradeBlock.TRADE_IDS) != 0) {
+            pos = 0;
+            readDeltaOfDelta(into.tradeIds, count, firstId);
+        }
+        pos = timesStart;
+        readDeltaOfDelta(into.times, count, minTime);
+
+        if ((columns & TradeBlock.PRICES) != 0) {
+            pos = pricesStart;
+            double[] prices = into.prices;
+            long price = 0;
+            for (int i = 0; i < count; i++) {
+                price += readZigZag();
+                prices[i] = price / FACTOR;
+            }
+        }
+        if ((columns & TradeBlock.QUANTITIES) != 0) {
+            pos = quantitiesStart;
+            double[] quantities = into.quantities;
+            for (int i = 0; i < count; i++) {
+                quantities[i] = readUnsigned() / FACTOR;
+            }
+        }
+        if ((columns & TradeBlock.BUYER_MAKERS) != 0) {
+            boolean[] buyerMakers = into.buyerMakers;
+            for (int i = 0; i < count; i++) {
+                buyerMakers[i] = (buffer[makersStart + (i >>> 3)] & (1 << (i & 7))) != 0;
+            }
+        }
+    }
+
+    private void readDeltaOfDelta(long[] into, int count, long base) {
+        long previous = base;
+        long delta = 0;
+        for (int i = 0; i < count; i++) {
+            delta += readZigZag();
+            previous += delta;
+            into[i] = previous;
+        }
+    }
+
+    private long readZigZag() {
+        long raw = readUnsigned();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private long readUnsigned() {
+        byte[] in = buffer;
+        int p = pos;
+        long b = in[p++];
+        if (b >= 0) {
+            pos = p;
+            return b;
+        }
+        long value = b & 0x7F;
+        int shift = 7;
+        while (true) {
+            b = in[p++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) break;
+            shift += 7;
+        }
+        pos = p;
+        return value;
+    }
+}
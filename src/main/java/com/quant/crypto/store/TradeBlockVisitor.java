@@ -0,0 +1,13 @@
+package com.quant.crypto.store;
+
+/**
+ * Callback receiving the decoded blocks of a {@link TradeStoreReader} scan, in time order.
+ */
+@FunctionalInterface
+public interface TradeBlockVisitor {
+
+    /**
+     * @param block The next block; only valid for the duration of the call.
+     */
+    void onBlock(TradeBlock block);
+}
@@ -0,0 +1,173 @@
+package com.quant.crypto.store;
+
+import com.quant.crypto.util.ConfigManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time-range queries over the trade store.
+ * <p>
+ * Partition files are memory-mapped and their block index (min/max time per block) is built
+ * once per mapping; a query only decodes the blocks overlapping the requested range and hands
+ * them to the visitor in columnar form. Mappings are cached and refreshed when a partition
+ * has grown since it was mapped, so a reader can follow a live writer.
+ * <p>
+ * The cache keeps the most recently used partitions only, so long backtests and sweeps over
+ * months of history do not pin every mapping; an evicted mapping is released by the garbage
+ * collector once no scan still uses it.
+ * <p>
+ * Scans may run concurrently; each scan decodes into its own {@link TradeBlock}.
+ */
+public class TradeStoreReader {
+
+    /** Default number of partition mappings kept by a reader. */
+    public static final int DEFAULT_CACHED_PARTITIONS = 64;
+
+    private final Path root;
+    private final Map<Path, MappedPartition> partitions;
+    private final LongAdder blocksDecoded = new LongAdder();
+    private final LongAdder blocksSkipped = new LongAdder();
+
+    /**
+     * Creates a reader over 'store.root.dir' from 'application.properties'.
+     */
+    public TradeStoreReader() {
+        this(Path.of(ConfigManager.getProperty("store.root.dir", "data/trades")),
+                Integer.parseInt(ConfigManager.getProperty("store.reader.cached.partitions",
+                        String.valueOf(DEFAULT_CACHED_PARTITIONS))));
+    }
+
+    public TradeStoreReader(Path root) {
+        this(root, DEFAULT_CACHED_PARTITIONS);
+    }
+
+    /**
+     * @param root                The store root directory.
+     * @param maxCachedPartitions Partition mappings kept, least recently used evicted first.
+     */
+    public TradeStoreReader(Path root, int maxCachedPartitions) {
+        if (maxCachedPartitions <= 0) {
+            throw new IllegalArgumentException("Partition cache size must be positive: " + maxCachedPartitions);
+        }
+        this.root = root;
+        this.partitions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, MappedPartition> eldest) {
+                return size() > maxCachedPartitions;
+            }
+        };
+    }
+
+    /**
+     * Streams every stored trade of {@code symbol} with {@code fromTime <= time <= toTime}.
+     *
+     * @param symbol   The trading pair (e.g., "BTCUSDT").
+     * @param fromTime Range start (epoch millis, inclusive).
+     * @param toTime   Range end (epoch millis, inclusive).
+     * @param visitor  Receives the matching trades block by block, in time order.
+     * @return Number of trades delivered.
+     * @throws IOException if a partition cannot be mapped.
+     */
+    public long scan(String symbol, long fromTime, long toTime, TradeBlockVisitor visitor) throws IOException {
+        return scan(symbol, fromTime, toTime, TradeBlock.ALL_COLUMNS, visitor);
+    }
+
+    /**
+     * Like {@link #scan(String, long, long, TradeBlockVisitor)}, decoding only the selected
+     * columns (times are always decoded). Skipping unused columns is the main lever for
+     * scan throughput.
+     *
+     * @param columns Bit set of {@link TradeBlock} column flags, e.g. {@code TradeBlock.PRICES}.
+     */
+    public long scan(String symbol, long fromTime, long toTime, int columns, TradeBlockVisitor visitor) throws IOException {
+        if (toTime < fromTime) return 0;
+        TradeBlockCodec codec = new TradeBlockCodec();
+        TradeBlock block = null;
+        long delivered = 0;
+
+        for (long day = TradeBlockCodec.epochDay(fromTime); day <= TradeBlockCodec.epochDay(toTime); day++) {
+            MappedPartition partition = partition(TradeBlockCodec.partitionPath(root, symbol, day));
+            if (partition == null || partition.getBlockCount() == 0) continue;
+            if (block == null) {
+                block = new TradeBlock(partition.getMaxBlockSize());
+            }
+
+            for (int b = 0; b < partition.getBlockCount(); b++) {
+                long minTime = partition.getMinTime(b);
+                long maxTime = partition.getMaxTime(b);
+                if (maxTime < fromTime || minTime > toTime) {
+                    blocksSkipped.increment();
+                    continue;
+                }
+                int offset = partition.getOffset(b);
+                codec.decode(partition.getBuffer(), offset, columns, block);
+                blocksDecoded.increment();
+
+                block.reset(symbol.toUpperCase(), partition.getBuffer().getInt(offset + 4));
+                if (minTime < fromTime || maxTime > toTime) {
+                    block.retainRange(fromTime, toTime);
+                }
+                if (block.size() > 0) {
+                    delivered += block.size();
+                    visitor.onBlock(block);
+                }
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * @return Number of trades stored for the symbol on the UTC day containing {@code time}.
+     */
+    public long countDay(String symbol, long time) throws IOException {
+        MappedPartition partition = partition(TradeBlockCodec.partitionPath(root, symbol, TradeBlockCodec.epochDay(time)));
+        return partition == null ? 0 : partition.getTradeCount();
+    }
+
+    /**
+     * Returns the cached mapping of a partition, re-mapping it if the file has grown.
+     *
+     * @return The partition, or null if the file does not exist.
+     */
+    private MappedPartition partition(Path path) throws IOException {
+        if (!Files.exists(path)) return null;
+        long size = Files.size(path);
+        synchronized (partitions) {
+            MappedPartition cached = partitions.get(path);
+            if (cached != null && cached.getMappedSize() == size) return cached;
+        }
+
+        // Mapped outside the lock; a concurrent scan mapping the same file just wins the put
+        MappedPartition mapped = MappedPartition.open(path);
+        synchronized (partitions) {
+            partitions.put(path, mapped);
+        }
+        return mapped;
+    }
+
+    /** @return Partition mappings currently cached. */
+    public int getCachedPartitions() {
+        synchronized (partitions) {
+            return partitions.size();
+        }
+    }
+
+    /** @return Blocks decoded by scans so far. */
+    public long getBlocksDecoded() {
+        return blocksDecoded.sum();
+    }
+
+    /** @return Blocks skipped via the time index so far. */
+    public long getBlocksSkipped() {
+        return blocksSkipped.sum();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+}
@@ -0,0 +1,234 @@
+package com.quant.crypto.store;
+
+import com.quant.crypto.metrics.Counter;
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.model.Trade;
+import com.quant.crypto.model.TradeEventListener;
+import com.quant.crypto.util.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Appends trades to the compressed columnar store, one file per symbol and UTC day
+ * (see {@link TradeBlockCodec} for the format).
+ * <p>
+ * Trades are buffered per symbol in primitive arrays and written as one compressed block
+ * when the block is full, the day rolls over, or {@link #flush()} is called. Subscribe the
+ * writer to the stream client to persist the live feed, or pass REST results to
+ * {@link #appendAll(List)}. Trade ids at or below the last stored id of a partition are
+ * skipped, so replaying overlapping data is harmless.
+ */
+public class TradeStoreWriter implements TradeEventListener, AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(TradeStoreWriter.class);
+
+    private final Path root;
+    private final int blockSize;
+    private final Map<String, SymbolWriter> writers = new ConcurrentHashMap<>();
+
+    private final MetricsRegistry metrics = MetricsRegistry.getDefault();
+    private final Counter tradesWritten = metrics.counter("store_trades_written_total", "Trades persisted to the trade store");
+    private final Counter bytesWritten = metrics.counter("store_bytes_written_total", "Compressed bytes written to the trade store");
+    private final Counter writeErrors = metrics.counter("store_write_errors_total", "Trade store blocks lost to I/O errors");
+
+    /**
+     * Creates a writer using 'store.root.dir' and 'store.block.size' from 'application.properties'.
+     */
+    public TradeStoreWriter() {
+        this(Path.of(ConfigManager.getProperty("store.root.dir", "data/trades")),
+                Integer.parseInt(ConfigManager.getProperty("store.block.size", "4096")));
+    }
+
+    /**
+     * @param root      Store root directory (created on demand).
+     * @param blockSize Trades per compressed block.
+     */
+    public TradeStoreWriter(Path root, int blockSize) {
+        if (blockSize <= 0) throw new IllegalArgumentException("Block size must be positive");
+        this.root = root;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Buffers one trade. I/O errors are logged and counted rather than thrown, so a full
+     * disk never stalls the market data feed.
+     */
+    public void append(String symbol, long tradeId, double price, double quantity, long time, boolean buyerMaker) {
+        writers.computeIfAbsent(symbol.toUpperCase(), SymbolWriter::new)
+                .append(tradeId, price, quantity, time, buyerMaker);
+    }
+
+    /**
+     * Buffers a batch of trades, e.g. the result of a REST call. Each trade needs its pair set.
+     */
+    public void appendAll(List<Trade> trades) {
+        for (Trade trade : trades) {
+            append(trade.getPair(), trade.getId(), trade.getPrice(), trade.getQuantity(),
+                    trade.getTimestamp(), trade.isBuyerMaker());
+        }
+    }
+
+    @Override
+    public void onTradeEvent(double price, long eventTime) {
+        // Price-only events carry nothing worth storing
+    }
+
+    @Override
+    public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+        append(symbol, tradeId, price, quantity, eventTime, buyerMaker);
+    }
+
+    /**
+     * Writes all buffered trades (as possibly short blocks) and forces them to disk.
+     */
+    public void flush() throws IOException {
+        for (SymbolWriter writer : writers.values()) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        for (SymbolWriter writer : writers.values()) {
+            writer.close();
+        }
+        writers.clear();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Block buffer and open partition of a single symbol.
+     */
+    private final class SymbolWriter {
+
+        private final String symbol;
+        private final TradeBlockCodec codec = new TradeBlockCodec();
+        private final long[] ids = new long[blockSize];
+        private final long[] times = new long[blockSize];
+        private final long[] prices = new long[blockSize];
+        private final long[] quantities = new long[blockSize];
+        private final boolean[] buyerMakers = new boolean[blockSize];
+        private int count;
+
+        private long day = Long.MIN_VALUE;
+        private FileChannel channel;
+        private long lastId = Long.MIN_VALUE;
+
+        SymbolWriter(String symbol) {
+            this.symbol = symbol;
+        }
+
+        synchronized void append(long tradeId, double price, double quantity, long time, boolean buyerMaker) {
+            try {
+                long tradeDay = TradeBlockCodec.epochDay(time);
+                if (tradeDay != day) {
+                    writeBlock();
+                    openDay(tradeDay);
+                }
+            } catch (IOException e) {
+                writeErrors.increment();
+                logger.error("❌ TRADE STORE: cannot open partition for [{}]", symbol, e);
+                count = 0;
+                day = Long.MIN_VALUE;
+                return;
+            }
+            if (tradeId <= lastId) return;
+
+            ids[count] = tradeId;
+            times[count] = time;
+            prices[count] = TradeBlockCodec.toFixed(price);
+            quantities[count] = TradeBlockCodec.toFixed(quantity);
+            buyerMakers[count] = buyerMaker;
+            lastId = tradeId;
+            if (++count == blockSize) {
+                try {
+                    writeBlock();
+                } catch (IOException e) {
+                    writeErrors.increment();
+                    logger.error("❌ TRADE STORE: failed to write block for [{}]", symbol, e);
+                }
+            }
+        }
+
+        /**
+         * Opens (or recovers) the partition of the given day, dropping any torn trailing block.
+         */
+        private void openDay(long epochDay) throws IOException {
+            closeChannel();
+            Path path = TradeBlockCodec.partitionPath(root, symbol, epochDay);
+            Files.createDirectories(path.getParent());
+
+            FileChannel opened = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                lastId = Long.MIN_VALUE;
+                if (opened.size() < TradeBlockCodec.FILE_HEADER_BYTES) {
+                    opened.truncate(0);
+                    ByteBuffer header = TradeBlockCodec.fileHeader();
+                    while (header.hasRemaining()) opened.write(header, header.position());
+                    opened.position(TradeBlockCodec.FILE_HEADER_BYTES);
+                } else {
+                    MappedPartition existing = MappedPartition.open(path);
+                    if (existing.getValidLength() == 0) {
+                        throw new IOException("Not a trade store partition: " + path);
+                    }
+                    if (existing.getValidLength() < opened.size()) {
+                        logger.warn("⚠️ TRADE STORE: truncating torn tail of {} ({} -> {} bytes)",
+                                path, opened.size(), existing.getValidLength());
+                        opened.truncate(existing.getValidLength());
+                    }
+                    lastId = existing.getLastTradeId();
+                    opened.position(existing.getValidLength());
+                }
+            } catch (IOException e) {
+                opened.close();
+                throw e;
+            }
+            channel = opened;
+            day = epochDay;
+        }
+
+        private void writeBlock() throws IOException {
+            if (count == 0 || channel == null) return;
+            int trades = count;
+            count = 0;
+            ByteBuffer block = codec.encode(ids, times, prices, quantities, buyerMakers, trades);
+            int bytes = block.remaining();
+            while (block.hasRemaining()) {
+                channel.write(block);
+            }
+            tradesWritten.add(trades);
+            bytesWritten.add(bytes);
+        }
+
+        synchronized void flush() throws IOException {
+            writeBlock();
+            if (channel != null) channel.force(false);
+        }
+
+        synchronized void close() throws IOException {
+            closeChannel();
+        }
+
+        private void closeChannel() throws IOException {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.quant.crypto.strategy;
+
+/**
+ * Latency circuit breaker guarding a single strategy.
+ * <p>
+ * The breaker trips (OPEN) after a number of consecutive callbacks exceed the latency budget.
+ * While open, market events are not delivered to the strategy. After the cooldown events flow
+ * again (HALF_OPEN) and the next measured callback decides: within budget closes the breaker,
+ * over budget re-opens it immediately.
+ * <p>
+ * {@link #allowEvent} is called by feed threads and {@link #record} by the strategy thread;
+ * the closed state is checked with a single volatile read on the hot path.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final long budgetNanos;
+    private final int breachesToTrip;
+    private final long cooldownNanos;
+
+    private volatile State state = State.CLOSED;
+    private int consecutiveBreaches;
+    private long openedAtNanos;
+    private volatile long trips;
+
+    /**
+     * @param budgetNanos    Maximum allowed handling time per callback.
+     * @param breachesToTrip Consecutive over-budget callbacks that open the breaker.
+     * @param cooldownNanos  Time the breaker stays open before probing again.
+     */
+    public CircuitBreaker(long budgetNanos, int breachesToTrip, long cooldownNanos) {
+        this.budgetNanos = budgetNanos;
+        this.breachesToTrip = Math.max(1, breachesToTrip);
+        this.cooldownNanos = cooldownNanos;
+    }
+
+    /**
+     * @return true if a market event may be delivered now.
+     */
+    public boolean allowEvent(long nowNanos) {
+        return state == State.CLOSED || probe(nowNanos);
+    }
+
+    private synchronized boolean probe(long nowNanos) {
+        if (state == State.OPEN && nowNanos - openedAtNanos >= cooldownNanos) {
+            state = State.HALF_OPEN;
+        }
+        return state != State.OPEN;
+    }
+
+    /**
+     * Records the handling time of one callback.
+     *
+     * @return true if this measurement tripped the breaker.
+     */
+    public synchronized boolean record(long durationNanos, long nowNanos) {
+        if (durationNanos <= budgetNanos) {
+            consecutiveBreaches = 0;
+            if (state == State.HALF_OPEN) state = State.CLOSED;
+            return false;
+        }
+        consecutiveBreaches++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveBreaches >= breachesToTrip)) {
+            state = State.OPEN;
+            openedAtNanos = nowNanos;
+            consecutiveBreaches = 0;
+            trips++;
+            return true;
+        }
+        return false;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getTrips() {
+        return trips;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+}
@@ -0,0 +1,57 @@
+package com.quant.crypto.strategy;
+
+import com.quant.crypto.model.Bar;
+import com.quant.crypto.model.Fill;
+
+/**
+ * A trading strategy hosted by the {@link com.quant.crypto.service.StrategyService}.
+ * <p>
+ * Lifecycle: {@link #init()} once, then any number of {@link #onTrade}, {@link #onBar} and
+ * {@link #onFill} callbacks, then {@link #shutdown()}. All callbacks of one strategy run on
+ * the strategy's own thread, one at a time, so implementations need no synchronization.
+ * Callbacks should stay within the latency budget the strategy was registered with.
+ */
+public interface Strategy {
+
+    /**
+     * @return A unique, human-readable name used in logs and metrics.
+     */
+    String getName();
+
+    /**
+     * Called once on the strategy thread before any market event.
+     */
+    default void init() {
+    }
+
+    /**
+     * Called for every trade on the feed.
+     *
+     * @param symbol     The trading pair symbol.
+     * @param tradeId    The exchange trade id.
+     * @param price      The execution price.
+     * @param quantity   The executed quantity.
+     * @param eventTime  The event timestamp (in milliseconds).
+     * @param buyerMaker true if the aggressor was the seller.
+     */
+    default void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+    }
+
+    /**
+     * Called when a bar closes or is revised by a late trade.
+     */
+    default void onBar(Bar bar) {
+    }
+
+    /**
+     * Called when one of the account's orders is (partially) filled.
+     */
+    default void onFill(Fill fill) {
+    }
+
+    /**
+     * Called once on the strategy thread after the last event.
+     */
+    default void shutdown() {
+    }
+}
@@ -0,0 +1,57 @@
+package com.quant.crypto.strategy;
+
+import com.quant.crypto.model.Bar;
+import com.quant.crypto.model.Fill;
+
+/**
+ * Immutable inbox entry. One instance is created per market event and shared by every
+ * strategy's inbox, so the fan-out cost does not grow with allocation per strategy.
+ */
+public final class StrategyEvent {
+
+    enum Kind {
+        TRADE,
+        BAR,
+        FILL,
+        STOP
+    }
+
+    static final StrategyEvent STOP = new StrategyEvent(Kind.STOP, null, 0, 0, 0, 0, false, null, null);
+
+    final Kind kind;
+    final String symbol;
+    final long tradeId;
+    final double price;
+    final double quantity;
+    final long eventTime;
+    final boolean buyerMaker;
+    final Bar bar;
+    final Fill fill;
+
+    private StrategyEvent(Kind kind, String symbol, long tradeId, double price, double quantity,
+                          long eventTime, boolean buyerMaker, Bar bar, Fill fill) {
+        this.kind = kind;
+        this.symbol = symbol;
+        this.tradeId = tradeId;
+        this.price = price;
+        this.quantity = quantity;
+        this.eventTime = eventTime;
+        this.buyerMaker = buyerMaker;
+        this.bar = bar;
+        this.fill = fill;
+    }
+
+    public static StrategyEvent trade(String symbol, long tradeId, double price, double quantity,
+                                      long eventTime, boolean buyerMaker) {
+        return new StrategyEvent(Kind.TRADE, symbol, tradeId, price, quantity, eventTime, buyerMaker, null, null);
+    }
+
+    public static StrategyEvent bar(Bar bar) {
+        return new StrategyEvent(Kind.BAR, bar.getSymbol(), 0, 0, 0, bar.getCloseTime(), false, bar, null);
+    }
+
+    public static StrategyEvent fill(Fill fill) {
+        return new StrategyEvent(Kind.FILL, fill.getSymbol(), 0, fill.getPrice(), fill.getQuantity(),
+                fill.getTime(), false, null, fill);
+    }
+}
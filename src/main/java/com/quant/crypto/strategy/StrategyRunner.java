@@ -0,0 +1,237 @@
+package com.quant.crypto.strategy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hosts one {@link Strategy} on its own thread behind a bounded inbox.
+ * <p>
+ * Feed threads never block on a strategy: if the inbox is full or the latency breaker is open,
+ * market events are shed and counted. Fills are always queued (blocking briefly if needed),
+ * since a strategy must not lose track of its own orders; stopping discards pending market
+ * events but still delivers pending fills before the shutdown hook.
+ * <p>
+ * A stopped runner can be started again; it then runs on a fresh thread.
+ */
+public class StrategyRunner {
+
+    private static final Logger logger = LogManager.getLogger(StrategyRunner.class);
+
+    /** Longest a fill may wait for inbox space before it is reported as lost. */
+    private static final long FILL_OFFER_TIMEOUT_MS = 1000;
+
+    private final Strategy strategy;
+    private final BlockingQueue<StrategyEvent> inbox;
+    private final CircuitBreaker breaker;
+    private Thread thread;
+
+    // Statistics written by the strategy thread only
+    private volatile long handled;
+    private volatile long totalNanos;
+    private volatile long maxNanos;
+    private volatile long errors;
+
+    // Statistics written by feed threads
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    /**
+     * @param strategy      The strategy to host.
+     * @param inboxCapacity Maximum number of queued events.
+     * @param breaker       Latency breaker guarding this strategy.
+     */
+    public StrategyRunner(Strategy strategy, int inboxCapacity, CircuitBreaker breaker) {
+        this.strategy = strategy;
+        this.inbox = new ArrayBlockingQueue<>(inboxCapacity);
+        this.breaker = breaker;
+    }
+
+    /**
+     * Starts the strategy thread, or a new one after {@link #stop(long)}.
+     *
+     * @throws IllegalStateException if the strategy is still running.
+     */
+    public synchronized void start() {
+        if (thread != null && thread.isAlive()) {
+            throw new IllegalStateException("Strategy [" + strategy.getName() + "] is already running");
+        }
+        // A thread that died in init() never consumed the STOP of the previous stop()
+        inbox.remove(StrategyEvent.STOP);
+        thread = new Thread(this::run, "strategy-" + strategy.getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Offers a market event without blocking.
+     *
+     * @return false if the event was dropped (inbox full) or shed (breaker open).
+     */
+    public boolean offerMarketEvent(StrategyEvent event) {
+        if (!breaker.allowEvent(System.nanoTime())) {
+            shed.increment();
+            return false;
+        }
+        if (!inbox.offer(event)) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Queues a fill, waiting briefly for inbox space if necessary.
+     */
+    public void offerFill(StrategyEvent event) {
+        try {
+            if (!inbox.offer(event, FILL_OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                logger.error("❌ FILL LOST for strategy [{}]: inbox full. {}", strategy.getName(), event.fill);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Discards queued market events, delivers queued fills, lets the strategy run its shutdown
+     * hook and waits for its thread.
+     */
+    public synchronized void stop(long timeoutMs) {
+        inbox.removeIf(event -> event.kind != StrategyEvent.Kind.FILL);
+        if (thread == null) return;
+        try {
+            inbox.offer(StrategyEvent.STOP, timeoutMs, TimeUnit.MILLISECONDS);
+            thread.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            strategy.init();
+        } catch (Exception e) {
+            logger.error("❌ Strategy [{}] failed to initialize. It will not receive events.", strategy.getName(), e);
+            return;
+        }
+        logger.info("🧠 STRATEGY STARTED: [{}] | Budget: {} µs", strategy.getName(),
+                TimeUnit.NANOSECONDS.toMicros(breaker.getBudgetNanos()));
+
+        while (true) {
+            StrategyEvent event;
+            try {
+                event = inbox.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (event.kind == StrategyEvent.Kind.STOP) {
+                deliverPendingFills();
+                break;
+            }
+
+            // Events queued before the breaker tripped are stale by now
+            if (event.kind != StrategyEvent.Kind.FILL && breaker.getState() == CircuitBreaker.State.OPEN) {
+                shed.increment();
+                continue;
+            }
+            handle(event);
+        }
+
+        try {
+            strategy.shutdown();
+        } catch (Exception e) {
+            logger.error("❌ Strategy [{}] failed during shutdown", strategy.getName(), e);
+        }
+        logger.info("🛑 STRATEGY STOPPED: [{}]", strategy.getName());
+    }
+
+    /**
+     * Fills that raced the stop request sit behind the STOP marker; market events there are dropped.
+     */
+    private void deliverPendingFills() {
+        StrategyEvent event;
+        while ((event = inbox.poll()) != null) {
+            if (event.kind == StrategyEvent.Kind.FILL) handle(event);
+        }
+    }
+
+    private void handle(StrategyEvent event) {
+        long start = System.nanoTime();
+        try {
+            switch (event.kind) {
+                case TRADE -> strategy.onTrade(event.symbol, event.tradeId, event.price, event.quantity,
+                        event.eventTime, event.buyerMaker);
+                case BAR -> strategy.onBar(event.bar);
+                case FILL -> strategy.onFill(event.fill);
+                default -> { }
+            }
+        } catch (Exception e) {
+            errors++;
+            logger.error("❌ Strategy [{}] threw on {} event", strategy.getName(), event.kind, e);
+        }
+        long end = System.nanoTime();
+        long duration = end - start;
+
+        handled++;
+        totalNanos += duration;
+        if (duration > maxNanos) maxNanos = duration;
+
+        if (breaker.record(duration, end)) {
+            logger.warn("⛔ CIRCUIT OPEN for strategy [{}]: {} µs exceeds budget of {} µs",
+                    strategy.getName(), TimeUnit.NANOSECONDS.toMicros(duration),
+                    TimeUnit.NANOSECONDS.toMicros(breaker.getBudgetNanos()));
+        }
+    }
+
+    // --- Monitoring ---
+
+    public String getName() {
+        return strategy.getName();
+    }
+
+    public CircuitBreaker.State getBreakerState() {
+        return breaker.getState();
+    }
+
+    public long getBreakerTrips() {
+        return breaker.getTrips();
+    }
+
+    public long getHandled() {
+        return handled;
+    }
+
+    /** @return Mean handling time per callback (in nanoseconds). */
+    public long getAverageNanos() {
+        long count = handled;
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /** @return Market events dropped because the inbox was full. */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /** @return Market events withheld because the latency breaker was open. */
+    public long getShed() {
+        return shed.sum();
+    }
+
+    public int getInboxDepth() {
+        return inbox.size();
+    }
+}
@@ -1,48 +1,128 @@
 package com.quant.crypto.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quant.crypto.metrics.Counter;
+import com.quant.crypto.metrics.LatencyHistogram;
+import com.quant.crypto.metrics.MetricsRegistry;
 import com.quant.crypto.model.TradeEventListener;
+import com.quant.crypto.stream.TradeBatchView;
+import com.quant.crypto.stream.TradeBatchListener;
+import com.quant.crypto.stream.TradeBatcher;
+import com.quant.crypto.stream.TradeMessageDecoder;
+import com.quant.crypto.stream.TradeSequencer;
+import com.quant.crypto.stream.ticker.MarketTickerTable;
+import com.quant.crypto.stream.ticker.TickerFrameDecoder;
+import com.quant.crypto.util.AppConfig;
+import com.quant.crypto.util.ConfigManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.WebSocket;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Properties;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Handles real-time WebSocket connections to the Binance Market Data Stream.
  * Acts as the "Subject" (Publisher) in the Observer Pattern, notifying subscribers
  * about price updates.
+ * <p>
+ * Connections are self-healing: a dropped socket is re-opened with jittered exponential
+ * backoff, and each connection is proactively rolled over to a fresh, overlapping one
+ * before Binance's 24h cutoff, at a jittered time so that streams opened together do not
+ * roll over together. Every symbol's trades pass through a {@link TradeSequencer},
+ * so subscribers see an ordered, gap-free sequence across reconnects.
+ * <p>
+ * For market-wide coverage, {@link #connectAllMarketTickers(MarketTickerTable, boolean)} follows
+ * the {@code !miniTicker@arr} / {@code !ticker@arr} streams into a lock-free ticker table
+ * instead of opening one socket per symbol.
+ * <p>
+ * Sockets request frames in windows of 'stream.demand.window' rather than one at a time. With
+ * 'stream.batch.enabled', sequenced trades are handed to a {@link TradeBatcher} and delivered
+ * from its thread in batches; otherwise they are delivered on the socket thread as they arrive.
+ * Either way, {@link #subscribeBatches(TradeBatchListener)} receives them through a
+ * {@link TradeBatchView} (of one trade each in the direct mode).
  */
 public class BinanceStreamClient {
 
     private static final Logger logger = LogManager.getLogger(BinanceStreamClient.class);
 
-    private String baseUrl;
-    private final List<TradeEventListener> listeners = new ArrayList<>();
+    /** Largest share of the rollover interval by which a connection rolls over early. */
+    private static final double ROLLOVER_JITTER = 0.1;
+
+    private final String baseUrl;
+    private final long reconnectBaseDelayMs;
+    private final long reconnectMaxDelayMs;
+    private final long rolloverMinutes;
+    private final long backfillMaxTrades;
+    private final int demandWindow;
+    private final int demandRefill;
+
+    private final List<TradeEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<TradeBatchListener> batchListeners = new CopyOnWriteArrayList<>();
+    private final TradeBatcher batcher;
     private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final BinanceService restService;
+    private final Map<String, ManagedStream> streams = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ws-reconnect");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Health counters, exposed for monitoring
+    private final MetricsRegistry metrics = MetricsRegistry.getDefault();
+    private final Counter reconnectCount = metrics.counter("stream_reconnects_total",
+            "WebSocket reconnects after unexpected disconnects");
+    private final Counter parseErrors = metrics.counter("stream_parse_errors_total",
+            "WebSocket messages that failed to parse");
+    private final LatencyHistogram recoveryTime = metrics.histogram("stream_recovery_seconds",
+            "Time from disconnect until in-order delivery resumed");
+    private final AtomicLong lastRecoveryMillis = new AtomicLong();
+    private final AtomicLong maxRecoveryMillis = new AtomicLong();
 
     /**
-     * Initializes the client by loading configuration properties.
-     * @throws RuntimeException if configuration is missing.
+     * Initializes the client from the current configuration.
      */
     public BinanceStreamClient() {
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream("application.properties")) {
-            if (input == null) throw new RuntimeException("❌ Configuration file 'application.properties' not found!");
-
-            Properties prop = new Properties();
-            prop.load(input);
-            this.baseUrl = prop.getProperty("api.websocket.base.url");
+        this(new BinanceService());
+    }
 
-            if (this.baseUrl == null) throw new RuntimeException("❌ Property 'api.websocket.base.url' is missing!");
-        } catch (Exception ex) {
-            throw new RuntimeException("Failed to load configuration", ex);
+    /**
+     * Initializes the client with an explicit REST service used for gap backfill.
+     * Settings come from the validated {@link ConfigManager#current()} snapshot.
+     * @param restService The REST client used to fetch missed trades.
+     */
+    public BinanceStreamClient(BinanceService restService) {
+        this.restService = restService;
+        AppConfig config = ConfigManager.current();
+        this.baseUrl = config.getWebsocketBaseUrl();
+        this.reconnectBaseDelayMs = Long.parseLong(config.getProperty("stream.reconnect.base.delay.ms", "250"));
+        this.reconnectMaxDelayMs = Long.parseLong(config.getProperty("stream.reconnect.max.delay.ms", "30000"));
+        this.rolloverMinutes = Long.parseLong(config.getProperty("stream.rollover.minutes", "1380"));
+        this.backfillMaxTrades = Long.parseLong(config.getProperty("stream.backfill.max.trades", "10000"));
+        this.demandWindow = Math.max(1, Integer.parseInt(config.getProperty("stream.demand.window", "64")));
+        this.demandRefill = Math.max(1, demandWindow / 2);
+        if (Boolean.parseBoolean(config.getProperty("stream.batch.enabled", "false"))) {
+            this.batcher = new TradeBatcher(
+                    Integer.parseInt(config.getProperty("stream.batch.queue.capacity", "65536")),
+                    Integer.parseInt(config.getProperty("stream.batch.max.size", "512")),
+                    listeners, batchListeners);
+            this.batcher.start();
+        } else {
+            this.batcher = null;
         }
     }
 
@@ -54,19 +134,298 @@ public class BinanceStreamClient {
         this.listeners.add(listener);
     }
 
+    /**
+     * Subscribes a listener to receive trades in batches.
+     * @param listener The observer implementing {@link TradeBatchListener}.
+     */
+    public void subscribeBatches(TradeBatchListener listener) {
+        this.batchListeners.add(listener);
+    }
+
     /**
      * Establishes a WebSocket connection for the specified symbol.
+     * The connection is kept alive until {@link #close()} is called.
      * @param symbol The trading pair symbol (e.g., "BTCUSDT").
      */
     public void connect(String symbol) {
-        String streamUrl = this.baseUrl + symbol.toLowerCase() + "@trade";
-        logger.info("🔌 CONNECTING to WebSocket Stream: {}", streamUrl);
+        ManagedStream stream = streams.computeIfAbsent(symbol.toUpperCase(), TradeStream::new);
+        // A failed first attempt is already queued for reconnect, so only wait for the outcome.
+        stream.open(false).exceptionally(error -> null).join();
+    }
+
+    /**
+     * Follows the all-market ticker stream, applying each array frame to the given table.
+     * The connection self-heals like the per-symbol trade streams.
+     *
+     * @param table      The table to keep up to date; this client becomes its only writer.
+     * @param fullTicker true for {@code !ticker@arr} (adds bid/ask, change % and trade count),
+     *                   false for the lighter {@code !miniTicker@arr}.
+     */
+    public void connectAllMarketTickers(MarketTickerTable table, boolean fullTicker) {
+        String streamName = fullTicker ? "!ticker@arr" : "!miniTicker@arr";
+        ManagedStream stream = streams.computeIfAbsent(streamName, name -> new TickerStream(name, table));
+        stream.open(false).exceptionally(error -> null).join();
+    }
+
+    /**
+     * Closes all connections and stops reconnecting.
+     */
+    public void close() {
+        streams.values().forEach(ManagedStream::close);
+        streams.clear();
+        scheduler.shutdownNow();
+        if (batcher != null) batcher.close();
+    }
+
+    /** @return Total number of reconnects performed after unexpected disconnects. */
+    public long getReconnectCount() {
+        return reconnectCount.get();
+    }
+
+    /** @return Time from the last disconnect until in-order delivery resumed (in milliseconds). */
+    public long getLastRecoveryMillis() {
+        return lastRecoveryMillis.get();
+    }
+
+    /** @return Worst observed recovery time since startup (in milliseconds). */
+    public long getMaxRecoveryMillis() {
+        return maxRecoveryMillis.get();
+    }
+
+    /**
+     * Computes the next rollover delay: 'stream.rollover.minutes' minus a random share of up to
+     * {@value #ROLLOVER_JITTER}, so streams opened together do not all reconnect (and possibly
+     * backfill) at the same moment, against Binance's per-IP connection limit.
+     */
+    private long rolloverDelayMs() {
+        long interval = TimeUnit.MINUTES.toMillis(rolloverMinutes);
+        return interval - ThreadLocalRandom.current().nextLong((long) (interval * ROLLOVER_JITTER) + 1);
+    }
+
+    /**
+     * Computes the next reconnect delay using exponential backoff with full jitter.
+     */
+    private long backoffDelayMs(int attempt) {
+        long ceiling = Math.min(reconnectMaxDelayMs, reconnectBaseDelayMs << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(reconnectBaseDelayMs, Math.max(reconnectBaseDelayMs, ceiling) + 1);
+    }
+
+    /**
+     * Delivers sequenced trades to every subscriber on the socket thread. Installed as a
+     * symbol's {@link TradeSequencer} downstream when batching is off; one per stream, so the
+     * single-trade batch view is never shared between sockets of different symbols.
+     */
+    private class DirectFanOut implements TradeEventListener {
 
-        HttpClient client = HttpClient.newHttpClient();
+        private final TradeBatchView single = new TradeBatchView(1);
 
-        client.newWebSocketBuilder()
-                .buildAsync(URI.create(streamUrl), new WebSocketListener())
-                .join();
+        @Override
+        public void onTradeEvent(double price, long eventTime) {
+            for (TradeEventListener listener : listeners) {
+                listener.onTradeEvent(price, eventTime);
+            }
+        }
+
+        @Override
+        public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+            for (TradeEventListener listener : listeners) {
+                listener.onTrade(symbol, tradeId, price, quantity, eventTime, buyerMaker);
+            }
+            if (batchListeners.isEmpty()) return;
+            single.clear();
+            single.add(symbol, tradeId, price, quantity, eventTime, buyerMaker);
+            for (TradeBatchListener listener : batchListeners) {
+                listener.onTradeBatch(single);
+            }
+        }
+    }
+
+    /**
+     * Owns the connection lifecycle of a single stream: initial open, reconnect and rollover.
+     * Subclasses decode the messages.
+     */
+    private abstract class ManagedStream {
+
+        final String symbol;
+        private final URI streamUri;
+
+        volatile WebSocketListener primary;
+        private volatile boolean closed;
+        volatile long disconnectedAtNanos;
+        private boolean reconnecting;
+        private int attempt;
+        private ScheduledFuture<?> rolloverTask;
+
+        ManagedStream(String symbol, String streamName) {
+            this.symbol = symbol;
+            this.streamUri = URI.create(baseUrl + streamName);
+        }
+
+        /**
+         * Handles one complete text message. The buffer is reused after this returns.
+         */
+        abstract void onMessage(WebSocketListener source, CharSequence message);
+
+        CompletableFuture<WebSocket> open(boolean rollover) {
+            logger.info("🔌 CONNECTING to WebSocket Stream: {}{}", streamUri, rollover ? " (rollover)" : "");
+            WebSocketListener listener = new WebSocketListener(this);
+
+            return httpClient.newWebSocketBuilder()
+                    .buildAsync(streamUri, listener)
+                    .whenComplete((ws, error) -> {
+                        if (error != null) {
+                            logger.error("❌ WEBSOCKET CONNECT FAILED for [{}]: {}", symbol, error.getMessage());
+                            if (rollover) {
+                                // The current primary is still serving; retry the rollover later.
+                                scheduleRollover(TimeUnit.MINUTES.toMillis(1));
+                            } else {
+                                retryAfterFailedConnect(listener);
+                            }
+                            return;
+                        }
+                        WebSocketListener previous = promote(listener);
+                        if (rollover && previous != null) {
+                            // Keep both sockets briefly so no trade falls between them; the sequencer drops duplicates.
+                            scheduler.schedule(previous::retire, 5, TimeUnit.SECONDS);
+                        }
+                    });
+        }
+
+        /**
+         * Makes the listener the active connection and restarts the rollover timer.
+         * @return The previously active listener, or null.
+         */
+        private synchronized WebSocketListener promote(WebSocketListener listener) {
+            WebSocketListener previous = primary;
+            primary = listener;
+            reconnecting = false;
+            scheduleRollover(rolloverDelayMs());
+            return previous;
+        }
+
+        private synchronized void scheduleRollover(long delayMs) {
+            if (closed || scheduler.isShutdown()) return;
+            if (rolloverTask != null) rolloverTask.cancel(false);
+            rolloverTask = scheduler.schedule(() -> {
+                if (!closed) open(true);
+            }, delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void retryAfterFailedConnect(WebSocketListener listener) {
+            reconnecting = false;
+            onDisconnect(listener);
+        }
+
+        synchronized void onDisconnect(WebSocketListener listener) {
+            if (closed || reconnecting || listener.retired || (primary != null && primary != listener)) {
+                return;
+            }
+            reconnecting = true;
+            primary = null;
+            if (disconnectedAtNanos == 0) {
+                disconnectedAtNanos = System.nanoTime();
+            }
+            long delay = backoffDelayMs(attempt++);
+            logger.warn("🔁 RECONNECTING [{}] in {} ms (attempt {})", symbol, delay, attempt);
+            scheduler.schedule(() -> {
+                if (closed) return;
+                reconnectCount.increment();
+                open(false);
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        synchronized void markRecovered() {
+            if (disconnectedAtNanos == 0) return;
+            long recoveryNanos = System.nanoTime() - disconnectedAtNanos;
+            long recovery = TimeUnit.NANOSECONDS.toMillis(recoveryNanos);
+            recoveryTime.record(recoveryNanos);
+            disconnectedAtNanos = 0;
+            attempt = 0;
+            lastRecoveryMillis.set(recovery);
+            maxRecoveryMillis.accumulateAndGet(recovery, Math::max);
+            logger.info("✅ STREAM RECOVERED [{}] in {} ms", symbol, recovery);
+        }
+
+        synchronized void close() {
+            closed = true;
+            if (rolloverTask != null) rolloverTask.cancel(false);
+            WebSocketListener current = primary;
+            if (current != null) current.retire();
+        }
+    }
+
+    /**
+     * Per-symbol {@code @trade} stream, sequenced and backfilled before fan-out.
+     */
+    private class TradeStream extends ManagedStream {
+
+        private final TradeSequencer sequencer;
+        private final TradeMessageDecoder decoder;
+        private final Counter messages;
+
+        TradeStream(String symbol) {
+            super(symbol, symbol.toLowerCase() + "@trade");
+            this.sequencer = new TradeSequencer(symbol, restService::getTradesFromId,
+                    batcher != null ? batcher : new DirectFanOut(), backfillMaxTrades);
+            this.decoder = new TradeMessageDecoder(mapper, sequencer);
+            this.messages = metrics.counter("stream_messages_total", "Trade messages received per symbol",
+                    "symbol", symbol);
+            metrics.counter("stream_gaps_total", "Trade-id gaps detected per symbol",
+                    sequencer::getGapsDetected, "symbol", symbol);
+            metrics.counter("stream_backfilled_trades_total", "Trades recovered via REST backfill per symbol",
+                    sequencer::getTradesBackfilled, "symbol", symbol);
+        }
+
+        @Override
+        void onMessage(WebSocketListener source, CharSequence message) {
+            messages.increment();
+            try {
+                if (decoder.decode(message) && disconnectedAtNanos != 0) {
+                    markRecovered();
+                }
+            } catch (Exception e) {
+                parseErrors.increment();
+                logger.error("❌ Error parsing WS message: {}", message, e);
+            }
+        }
+    }
+
+    /**
+     * All-market ticker stream decoded in place into a {@link MarketTickerTable}.
+     */
+    private class TickerStream extends ManagedStream {
+
+        private final TickerFrameDecoder decoder;
+        private final Counter frames;
+        private final LatencyHistogram decodeTime;
+
+        TickerStream(String streamName, MarketTickerTable table) {
+            super(streamName, streamName);
+            this.decoder = new TickerFrameDecoder(table);
+            this.frames = metrics.counter("ticker_frames_total", "All-market ticker frames applied", "stream", streamName);
+            this.decodeTime = metrics.histogram("ticker_decode_seconds", "Time to decode and apply one ticker frame",
+                    "stream", streamName);
+            metrics.gauge("ticker_symbols", "Symbols tracked in the ticker table", table::size, "stream", streamName);
+        }
+
+        @Override
+        void onMessage(WebSocketListener source, CharSequence message) {
+            // During a rollover overlap only the primary socket writes, keeping the table single-writer
+            WebSocketListener current = primary;
+            if (current != null && source != current) return;
+            long start = System.nanoTime();
+            try {
+                synchronized (decoder) {
+                    decoder.decode(message);
+                }
+                decodeTime.recordSince(start);
+                frames.increment();
+                if (disconnectedAtNanos != 0) markRecovered();
+            } catch (Exception e) {
+                parseErrors.increment();
+                logger.error("❌ Error parsing ticker frame ({} chars): {}", message.length(), e.getMessage());
+            }
+        }
     }
 
     /**
@@ -75,12 +434,33 @@ public class BinanceStreamClient {
      */
     private class WebSocketListener implements WebSocket.Listener {
 
-        private StringBuilder buffer = new StringBuilder();
+        private final ManagedStream stream;
+        private final StringBuilder buffer = new StringBuilder();
+        /** Frames consumed since demand was last topped up; only touched by the socket's callbacks. */
+        private int consumed;
+        private volatile WebSocket webSocket;
+        private volatile boolean retired;
+
+        WebSocketListener(ManagedStream stream) {
+            this.stream = stream;
+        }
+
+        /**
+         * Gracefully closes this socket without triggering a reconnect.
+         */
+        void retire() {
+            retired = true;
+            WebSocket ws = this.webSocket;
+            if (ws != null) {
+                ws.sendClose(WebSocket.NORMAL_CLOSURE, "rollover");
+            }
+        }
 
         @Override
         public void onOpen(WebSocket webSocket) {
+            this.webSocket = webSocket;
             logger.info("✅ WEBSOCKET OPENED! Real-time data stream started.");
-            WebSocket.Listener.super.onOpen(webSocket);
+            webSocket.request(demandWindow);
         }
 
         @Override
@@ -90,33 +470,34 @@ public class BinanceStreamClient {
 
             // 2. Eğer bu mesajın SON parçasıysa (last == true), işlemi başlat
             if (last) {
-                String fullMessage = buffer.toString();
-
-                // Buffer'ı temizle ki sonraki mesaja hazır olsun
-                buffer = new StringBuilder(); // veya buffer.setLength(0);
-
-                try {
-                    JsonNode node = mapper.readTree(fullMessage);
-                    if (node.has("p") && node.has("E")) {
-                        double price = node.get("p").asDouble();
-                        long eventTime = node.get("E").asLong();
+                // Decode straight from the buffer, then clear it for the next message
+                stream.onMessage(this, buffer);
+                buffer.setLength(0);
+            }
 
-                        for (TradeEventListener listener : listeners) {
-                            listener.onTradeEvent(price, eventTime);
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.error("❌ Error parsing WS message: {}", fullMessage, e);
-                }
+            // Top up in half-windows, so frames keep flowing without one request per frame
+            if (++consumed >= demandRefill) {
+                webSocket.request(consumed);
+                consumed = 0;
             }
+            return null;
+        }
 
-            webSocket.request(1);
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            if (retired) {
+                logger.info("👋 WEBSOCKET RETIRED [{}] ({} {})", stream.symbol, statusCode, reason);
+            } else {
+                logger.warn("⚠️ WEBSOCKET CLOSED [{}] ({} {})", stream.symbol, statusCode, reason);
+                stream.onDisconnect(this);
+            }
             return null;
         }
 
         @Override
         public void onError(WebSocket webSocket, Throwable error) {
             logger.error("❌ WEBSOCKET ERROR: ", error);
+            stream.onDisconnect(this);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.quant.crypto.stream;
+
+/**
+ * Receives trades a batch at a time, so per-trade work (dispatch, locking, bookkeeping) can be
+ * amortized over a burst and numeric work can run as tight loops over primitive columns.
+ */
+@FunctionalInterface
+public interface TradeBatchListener {
+
+    /**
+     * @param batch Sequenced trades in arrival order. The view is reused after this returns.
+     */
+    void onTradeBatch(TradeBatchView batch);
+}
@@ -0,0 +1,130 @@
+package com.quant.crypto.stream;
+
+import com.quant.crypto.model.TradeEventListener;
+
+/**
+ * Reusable view over a run of trades, stored as parallel primitive arrays.
+ * <p>
+ * A batch is only valid during the {@link TradeBatchListener#onTradeBatch(TradeBatchView)} call
+ * that receives it; the producer refills the same arrays for the next one. Listeners may loop
+ * over the raw columns ({@link #prices()}, {@link #quantities()}, ...) for entries
+ * {@code [0, size())} and must copy anything they keep.
+ */
+public final class TradeBatchView {
+
+    private final String[] symbols;
+    private final long[] tradeIds;
+    private final double[] prices;
+    private final double[] quantities;
+    private final long[] eventTimes;
+    private final boolean[] buyerMakers;
+    private int size;
+
+    /**
+     * @param capacity Most trades one batch can hold.
+     */
+    public TradeBatchView(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Batch capacity must be positive: " + capacity);
+        this.symbols = new String[capacity];
+        this.tradeIds = new long[capacity];
+        this.prices = new double[capacity];
+        this.quantities = new double[capacity];
+        this.eventTimes = new long[capacity];
+        this.buyerMakers = new boolean[capacity];
+    }
+
+    // --- Producer side ---
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Appends a trade.
+     *
+     * @throws IllegalStateException if the batch is full.
+     */
+    public void add(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+        if (size == symbols.length) throw new IllegalStateException("Trade batch is full: " + size);
+        int i = size++;
+        symbols[i] = symbol;
+        tradeIds[i] = tradeId;
+        prices[i] = price;
+        quantities[i] = quantity;
+        eventTimes[i] = eventTime;
+        buyerMakers[i] = buyerMaker;
+    }
+
+    public boolean isFull() {
+        return size == symbols.length;
+    }
+
+    /**
+     * Replays the batch to a per-trade listener, in order. An exception ends the replay; callers
+     * that must isolate failing trades loop over the batch themselves.
+     */
+    public void deliverTo(TradeEventListener listener) {
+        for (int i = 0; i < size; i++) {
+            listener.onTrade(symbols[i], tradeIds[i], prices[i], quantities[i], eventTimes[i], buyerMakers[i]);
+        }
+    }
+
+    // --- Consumer side ---
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return symbols.length;
+    }
+
+    public String symbol(int i) {
+        return symbols[i];
+    }
+
+    public long tradeId(int i) {
+        return tradeIds[i];
+    }
+
+    public double price(int i) {
+        return prices[i];
+    }
+
+    public double quantity(int i) {
+        return quantities[i];
+    }
+
+    public long eventTime(int i) {
+        return eventTimes[i];
+    }
+
+    public boolean buyerMaker(int i) {
+        return buyerMakers[i];
+    }
+
+    /** @return The price column; entries past {@link #size()} are stale. */
+    public double[] prices() {
+        return prices;
+    }
+
+    /** @return The quantity column; entries past {@link #size()} are stale. */
+    public double[] quantities() {
+        return quantities;
+    }
+
+    /** @return The event time column (milliseconds); entries past {@link #size()} are stale. */
+    public long[] eventTimes() {
+        return eventTimes;
+    }
+
+    /** @return The trade id column; entries past {@link #size()} are stale. */
+    public long[] tradeIds() {
+        return tradeIds;
+    }
+
+    /** @return The aggressor column (true if the buyer was the maker); entries past {@link #size()} are stale. */
+    public boolean[] buyerMakers() {
+        return buyerMakers;
+    }
+}
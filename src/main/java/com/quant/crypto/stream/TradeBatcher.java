@@ -0,0 +1,209 @@
+package com.quant.crypto.stream;
+
+import com.quant.crypto.metrics.Counter;
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.model.TradeEventListener;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves trade delivery off the WebSocket threads and hands it out in batches.
+ * <p>
+ * Socket threads publish sequenced trades into a bounded multi-producer ring of primitive
+ * slots (no allocation per trade). A single delivery thread wakes up, drains every trade
+ * published so far (up to the batch size) into one reusable {@link TradeBatchView}, and delivers
+ * it once to each {@link TradeBatchListener}; per-trade {@link TradeEventListener}s get the
+ * same batch replayed in order, trade by trade, so a listener that fails on one trade still
+ * receives the others. Under a burst, one wake-up and one virtual call per listener
+ * cover hundreds of trades. When the ring is full, producers spin until space frees up
+ * (backpressure towards the socket, which in turn stops requesting frames).
+ */
+public class TradeBatcher implements TradeEventListener, AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(TradeBatcher.class);
+
+    /** Idle spins before a waiting producer or the delivery thread starts parking. */
+    private static final int SPIN_LIMIT = 200;
+    private static final long PARK_NANOS = 50_000;
+
+    private final int capacity;
+    private final int mask;
+    private final List<TradeEventListener> listeners;
+    private final List<TradeBatchListener> batchListeners;
+    private final TradeBatchView batch;
+
+    // Slot storage
+    private final AtomicLongArray publishedSeq;
+    private final String[] symbols;
+    private final long[] tradeIds;
+    private final double[] prices;
+    private final double[] quantities;
+    private final long[] eventTimes;
+    private final boolean[] buyerMakers;
+
+    private final AtomicLong claimSeq = new AtomicLong();
+    private final AtomicLong consumedSeq = new AtomicLong();
+
+    private final Counter batches;
+    private final Counter batchedTrades;
+
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean parked;
+
+    /**
+     * @param queueCapacity  Ring size; rounded up to a power of two.
+     * @param maxBatchSize   Most trades delivered per batch.
+     * @param listeners      Per-trade subscribers (read on every batch, so later additions are seen).
+     * @param batchListeners Batch subscribers (read on every batch).
+     */
+    public TradeBatcher(int queueCapacity, int maxBatchSize, List<TradeEventListener> listeners,
+                        List<TradeBatchListener> batchListeners) {
+        this.capacity = queueCapacity <= 2 ? 2 : Integer.highestOneBit(queueCapacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.listeners = listeners;
+        this.batchListeners = batchListeners;
+        this.batch = new TradeBatchView(Math.min(maxBatchSize, this.capacity));
+
+        this.publishedSeq = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) publishedSeq.set(i, -1);
+        this.symbols = new String[this.capacity];
+        this.tradeIds = new long[this.capacity];
+        this.prices = new double[this.capacity];
+        this.quantities = new double[this.capacity];
+        this.eventTimes = new long[this.capacity];
+        this.buyerMakers = new boolean[this.capacity];
+
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        this.batches = metrics.counter("stream_batches_total", "Trade batches delivered");
+        this.batchedTrades = metrics.counter("stream_batched_trades_total", "Trades delivered in batches");
+        metrics.gauge("stream_batch_queue_depth", "Trades waiting for the delivery thread", this::getQueueDepth);
+
+        this.thread = new Thread(this::run, "trade-batcher");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Price-only events carry no symbol; only the full callback is used.
+     */
+    @Override
+    public void onTradeEvent(double price, long eventTime) {
+        // Intentionally empty: see onTrade(...)
+    }
+
+    /**
+     * Queues a trade for the delivery thread. Called by the symbol's sequencer.
+     */
+    @Override
+    public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+        long seq = claim();
+        int i = (int) (seq & mask);
+        symbols[i] = symbol;
+        tradeIds[i] = tradeId;
+        prices[i] = price;
+        quantities[i] = quantity;
+        eventTimes[i] = eventTime;
+        buyerMakers[i] = buyerMaker;
+        publishedSeq.lazySet(i, seq);
+        // Only pay for unpark when the delivery thread actually went to sleep
+        if (parked) LockSupport.unpark(thread);
+    }
+
+    private long claim() {
+        long seq = claimSeq.getAndIncrement();
+        int spins = 0;
+        while (seq - consumedSeq.get() >= capacity) {
+            if (!running) throw new IllegalStateException("Trade batcher is stopped");
+            if (++spins < SPIN_LIMIT) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        return seq;
+    }
+
+    private void run() {
+        long next = consumedSeq.get();
+        int idle = 0;
+
+        while (running) {
+            int i = (int) (next & mask);
+            if (publishedSeq.get(i) != next) {
+                if (++idle < SPIN_LIMIT) {
+                    Thread.onSpinWait();
+                } else {
+                    parked = true;
+                    if (publishedSeq.get(i) != next) LockSupport.parkNanos(PARK_NANOS);
+                    parked = false;
+                }
+                continue;
+            }
+            idle = 0;
+
+            // Drain everything already published, one batch at a time
+            batch.clear();
+            while (publishedSeq.get(i) == next && !batch.isFull()) {
+                batch.add(symbols[i], tradeIds[i], prices[i], quantities[i], eventTimes[i], buyerMakers[i]);
+                symbols[i] = null;
+                next++;
+                i = (int) (next & mask);
+            }
+            // Slots are free once copied, before the (possibly slow) listeners run
+            consumedSeq.lazySet(next);
+            deliver();
+        }
+    }
+
+    private void deliver() {
+        for (TradeBatchListener listener : batchListeners) {
+            try {
+                listener.onTradeBatch(batch);
+            } catch (Exception e) {
+                logger.error("❌ Batch listener failed on a batch of {} trades", batch.size(), e);
+            }
+        }
+        for (TradeEventListener listener : listeners) {
+            replay(listener);
+        }
+        batches.increment();
+        batchedTrades.add(batch.size());
+    }
+
+    /**
+     * Replays the batch to a per-trade listener, isolating each trade: a failure costs the
+     * listener that one trade, as it would without batching, not the rest of the batch.
+     */
+    private void replay(TradeEventListener listener) {
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                listener.onTrade(batch.symbol(i), batch.tradeId(i), batch.price(i), batch.quantity(i),
+                        batch.eventTime(i), batch.buyerMaker(i));
+            } catch (Exception e) {
+                logger.error("❌ Trade listener failed on [{}] trade {}", batch.symbol(i), batch.tradeId(i), e);
+            }
+        }
+    }
+
+    /**
+     * @return Trades published but not yet taken by the delivery thread.
+     */
+    public long getQueueDepth() {
+        return Math.max(0, claimSeq.get() - consumedSeq.get());
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+}
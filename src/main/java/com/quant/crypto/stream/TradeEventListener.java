@@ -16,4 +16,20 @@ public interface TradeEventListener {
      * @param eventTime The timestamp of the trade event (in milliseconds).
      */
     void onTradeEvent(double price, long eventTime);
+
+    /**
+     * Triggered with the full trade details. Listeners that need the symbol, size or
+     * aggressor side (e.g. bar aggregation) override this; the default forwards to
+     * {@link #onTradeEvent(double, long)}.
+     *
+     * @param symbol     The trading pair symbol (e.g., "BTCUSDT").
+     * @param tradeId    The exchange trade id (strictly increasing per symbol).
+     * @param price      The price at which the trade was executed.
+     * @param quantity   The executed base-asset quantity.
+     * @param eventTime  The timestamp of the trade event (in milliseconds).
+     * @param buyerMaker true if the buyer was the maker, i.e. the aggressor sold.
+     */
+    default void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+        onTradeEvent(price, eventTime);
+    }
 }
\ No newline at end of file
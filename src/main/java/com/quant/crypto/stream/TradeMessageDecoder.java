@@ -0,0 +1,46 @@
+package com.quant.crypto.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Decodes {@code @trade} WebSocket messages and hands them to the symbol's {@link TradeSequencer}.
+ * <p>
+ * Used by the live trade stream and by the startup warm-up alike, so the code compiled during
+ * warm-up is the code that later handles live messages.
+ */
+public class TradeMessageDecoder {
+
+    private final ObjectMapper mapper;
+    private final TradeSequencer sequencer;
+
+    /**
+     * @param mapper    The (thread-safe, shareable) Jackson mapper.
+     * @param sequencer The sequencer receiving the decoded trades.
+     */
+    public TradeMessageDecoder(ObjectMapper mapper, TradeSequencer sequencer) {
+        this.mapper = mapper;
+        this.sequencer = sequencer;
+    }
+
+    /**
+     * Decodes one message; messages without a trade id, price and event time are ignored.
+     *
+     * @return true if a trade was delivered, false if it was ignored or a duplicate.
+     * @throws IOException if the message is not valid JSON.
+     */
+    public boolean decode(CharSequence message) throws IOException {
+        JsonNode node = mapper.readTree(message.toString());
+        if (!node.has("t") || !node.has("p") || !node.has("E")) {
+            return false;
+        }
+        long tradeId = node.get("t").asLong();
+        double price = node.get("p").asDouble();
+        long eventTime = node.get("E").asLong();
+        double quantity = node.path("q").asDouble();
+        boolean buyerMaker = node.path("m").asBoolean();
+        return sequencer.onTrade(tradeId, price, quantity, eventTime, buyerMaker);
+    }
+}
@@ -0,0 +1,144 @@
+package com.quant.crypto.stream;
+
+import com.quant.crypto.model.Trade;
+import com.quant.crypto.model.TradeEventListener;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+
+/**
+ * Enforces trade-id continuity for a single symbol.
+ * <p>
+ * Binance assigns strictly increasing trade ids per symbol. Every live trade passes through
+ * {@link #onTrade}: duplicates (e.g. from an overlapping rollover connection) are dropped,
+ * and a jump in ids is filled from the REST API before the live trade is released.
+ * Downstream listeners therefore observe an ordered, gap-free sequence.
+ * <p>
+ * All methods are synchronized; backfill runs on the caller's thread, which holds back
+ * further WebSocket demand until the gap is closed.
+ */
+public class TradeSequencer {
+
+    private static final Logger logger = LogManager.getLogger(TradeSequencer.class);
+
+    /** Binance caps historical trade pages at 1000 entries. */
+    private static final int PAGE_LIMIT = 1000;
+
+    /**
+     * Source of historical trades used to fill gaps.
+     */
+    @FunctionalInterface
+    public interface TradeBackfill {
+
+        /**
+         * @param symbol The trading pair symbol.
+         * @param fromId The first trade id to return (inclusive).
+         * @param limit  Maximum number of trades to return.
+         * @return Trades in ascending id order, or an empty list if unavailable.
+         */
+        List<Trade> fetch(String symbol, long fromId, int limit);
+    }
+
+    private final String symbol;
+    private final TradeBackfill backfill;
+    private final TradeEventListener downstream;
+    private final long maxBackfillTrades;
+
+    private long lastTradeId = -1;
+    private long gapsDetected;
+    private long tradesBackfilled;
+    private long duplicatesDropped;
+
+    /**
+     * @param symbol            The trading pair this sequencer guards.
+     * @param backfill          REST source used to fill detected gaps.
+     * @param downstream        Receiver of the ordered trade sequence.
+     * @param maxBackfillTrades Largest gap that is backfilled; larger gaps are logged and skipped.
+     */
+    public TradeSequencer(String symbol, TradeBackfill backfill, TradeEventListener downstream, long maxBackfillTrades) {
+        this.symbol = symbol;
+        this.backfill = backfill;
+        this.downstream = downstream;
+        this.maxBackfillTrades = maxBackfillTrades;
+    }
+
+    /**
+     * Accepts a live trade, filling any gap before it and dropping it if already seen.
+     *
+     * @param tradeId    The exchange trade id.
+     * @param price      The execution price.
+     * @param quantity   The executed quantity.
+     * @param eventTime  The event timestamp (in milliseconds).
+     * @param buyerMaker true if the buyer was the maker.
+     * @return true if the trade was delivered, false if it was a duplicate.
+     */
+    public synchronized boolean onTrade(long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+        if (lastTradeId >= 0) {
+            if (tradeId <= lastTradeId) {
+                duplicatesDropped++;
+                return false;
+            }
+            if (tradeId > lastTradeId + 1) {
+                fillGap(tradeId);
+            }
+        }
+        deliver(tradeId, price, quantity, eventTime, buyerMaker);
+        return true;
+    }
+
+    private void fillGap(long liveTradeId) {
+        gapsDetected++;
+        long missing = liveTradeId - lastTradeId - 1;
+
+        if (missing > maxBackfillTrades) {
+            logger.warn("⚠️ GAP TOO LARGE for [{}]: {} trades missing (limit {}). Resuming without backfill.",
+                    symbol, missing, maxBackfillTrades);
+            return;
+        }
+
+        logger.info("🩹 GAP DETECTED for [{}]: ids {}..{} ({} trades). Backfilling via REST.",
+                symbol, lastTradeId + 1, liveTradeId - 1, missing);
+
+        while (lastTradeId + 1 < liveTradeId) {
+            long next = lastTradeId + 1;
+            int limit = (int) Math.min(PAGE_LIMIT, liveTradeId - next);
+            List<Trade> page = backfill.fetch(symbol, next, limit);
+
+            for (Trade trade : page) {
+                if (trade.getId() <= lastTradeId) continue;
+                if (trade.getId() >= liveTradeId) break;
+                deliver(trade.getId(), trade.getPrice(), trade.getQuantity(), trade.getTimestamp(), trade.isBuyerMaker());
+                tradesBackfilled++;
+            }
+
+            // No progress means the REST source cannot serve this range; do not spin on it.
+            if (lastTradeId < next) {
+                logger.error("❌ Backfill for [{}] stalled at id {}. {} trades left unfilled.",
+                        symbol, next, liveTradeId - next);
+                return;
+            }
+        }
+    }
+
+    private void deliver(long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+        lastTradeId = tradeId;
+        downstream.onTrade(symbol, tradeId, price, quantity, eventTime, buyerMaker);
+    }
+
+    public synchronized long getLastTradeId() {
+        return lastTradeId;
+    }
+
+    public synchronized long getGapsDetected() {
+        return gapsDetected;
+    }
+
+    public synchronized long getTradesBackfilled() {
+        return tradesBackfilled;
+    }
+
+    public synchronized long getDuplicatesDropped() {
+        return duplicatesDropped;
+    }
+}
@@ -0,0 +1,31 @@
+package com.quant.crypto.stream.anomaly;
+
+import com.quant.crypto.model.TradeAnalysis;
+
+/**
+ * Receives alerts from the {@link VolumeAnomalyDetector}.
+ * <p>
+ * Callbacks run on the thread that fed the triggering trade; the windows passed in are live
+ * and only stable for the duration of the call. Override only what you need.
+ */
+public interface AnomalyListener {
+
+    /**
+     * Triggered for a trade whose notional reached the symbol's adaptive threshold.
+     *
+     * @param analysis  The trade, WARNING (or CRITICAL past the critical multiple) and its notional.
+     * @param threshold The notional threshold the trade reached.
+     */
+    default void onLargeTrade(TradeAnalysis analysis, double threshold) {
+    }
+
+    /**
+     * Triggered when the shortest window's notional jumps far above the rate of the longest.
+     *
+     * @param analysis The trade that completed the spike, CRITICAL and its notional.
+     * @param burst    The shortest window (notional, count and imbalance of the burst).
+     * @param baseline The longest window, for comparison.
+     */
+    default void onVolumeSpike(TradeAnalysis analysis, RollingWindow burst, RollingWindow baseline) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.quant.crypto.stream.anomaly;
+
+/**
+ * Streaming estimate of a high quantile of trade notional, adapting to the recent regime.
+ * <p>
+ * Values go into a log-scale histogram with four bins per power of two (bin edges within
+ * 19% of each other), indexed straight from the double's exponent and top mantissa bits,
+ * so recording is a few bit operations. Counts are halved every {@code halfLife} values,
+ * which makes old trades fade out; the quantile is re-read from the histogram every
+ * {@value #RECOMPUTE_EVERY} values, keeping the per-trade cost constant.
+ * <p>
+ * Not thread-safe: an estimator must be fed by a single thread at a time.
+ */
+final class NotionalQuantile {
+
+    private static final int SUB_BINS_LOG2 = 2;
+    private static final int SUB_BINS = 1 << SUB_BINS_LOG2;
+    /** Smallest tracked exponent: 2^-20 (about 1e-6); smaller values share the first bin. */
+    private static final int MIN_EXPONENT = -20;
+    /** Largest tracked exponent: 2^43 (about 8.8e12); larger values share the last bin. */
+    private static final int MAX_EXPONENT = 43;
+    private static final int BINS = (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BINS;
+    private static final int RECOMPUTE_EVERY = 256;
+
+    private final double quantile;
+    private final int halfLife;
+    private final double[] counts = new double[BINS];
+    private double total;
+    private long recorded;
+    private int sinceDecay;
+    private int sinceRecompute;
+    private double threshold = Double.POSITIVE_INFINITY;
+
+    /**
+     * @param quantile The quantile to track, e.g. 0.999.
+     * @param halfLife Values after which the weight of older values halves.
+     */
+    NotionalQuantile(double quantile, int halfLife) {
+        this.quantile = quantile;
+        this.halfLife = halfLife;
+    }
+
+    void add(double value) {
+        counts[bin(value)]++;
+        total++;
+        recorded++;
+        if (++sinceDecay >= halfLife) {
+            sinceDecay = 0;
+            for (int i = 0; i < BINS; i++) counts[i] *= 0.5;
+            total *= 0.5;
+        }
+        if (++sinceRecompute >= RECOMPUTE_EVERY) {
+            sinceRecompute = 0;
+            recompute();
+        }
+    }
+
+    /**
+     * @return Values recorded so far (not decayed).
+     */
+    long getRecorded() {
+        return recorded;
+    }
+
+    /**
+     * @return The upper edge of the bin holding the quantile: values at or above it are in the
+     *         top {@code 1 - quantile} of recent trades. Infinite until the first recompute.
+     */
+    double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Re-reads the threshold now instead of at the next periodic recompute.
+     */
+    void recompute() {
+        double tail = (1 - quantile) * total;
+        double above = 0;
+        for (int i = BINS - 1; i >= 0; i--) {
+            above += counts[i];
+            if (above > tail) {
+                threshold = upperEdge(i);
+                return;
+            }
+        }
+        threshold = Double.POSITIVE_INFINITY;
+    }
+
+    private static int bin(double value) {
+        if (!(value > 0)) return 0;
+        int exponent = Math.getExponent(value);
+        if (exponent < MIN_EXPONENT) return 0;
+        if (exponent > MAX_EXPONENT) return BINS - 1;
+        int sub = (int) (Double.doubleToRawLongBits(value) >>> (52 - SUB_BINS_LOG2)) & (SUB_BINS - 1);
+        return ((exponent - MIN_EXPONENT) << SUB_BINS_LOG2) | sub;
+    }
+
+    static double upperEdge(int bin) {
+        int exponent = MIN_EXPONENT + (bin >> SUB_BINS_LOG2);
+        int sub = bin & (SUB_BINS - 1);
+        return Math.scalb(1.0 + (sub + 1) / (double) SUB_BINS, exponent);
+    }
+}
@@ -0,0 +1,145 @@
+package com.quant.crypto.stream.anomaly;
+
+/**
+ * Rolling notional, trade count and aggressor-buy notional over a fixed time window.
+ * <p>
+ * The window is a ring of equal time buckets with running totals. A trade adds to the current
+ * bucket; moving into a new bucket subtracts and clears the buckets that fell out of the
+ * window, so each bucket is expired once per rotation and the per-trade cost is O(1). Totals
+ * are re-summed from the buckets once per rotation so floating-point drift cannot accumulate.
+ * The window spans the current bucket plus the {@code buckets - 1} before it.
+ * <p>
+ * Not thread-safe: a window must be fed by a single thread at a time.
+ */
+public final class RollingWindow {
+
+    private final long windowMillis;
+    private final long bucketMillis;
+    private final int buckets;
+
+    private final double[] notional;
+    private final double[] buyNotional;
+    private final long[] counts;
+
+    private long headBucket = Long.MIN_VALUE;
+    private double totalNotional;
+    private double totalBuyNotional;
+    private long totalCount;
+
+    /**
+     * @param windowMillis Length of the window.
+     * @param buckets      Number of buckets; the expiry granularity is {@code windowMillis / buckets}.
+     */
+    public RollingWindow(long windowMillis, int buckets) {
+        if (buckets <= 0 || windowMillis < buckets) {
+            throw new IllegalArgumentException("Window of " + windowMillis + " ms cannot hold " + buckets + " buckets");
+        }
+        this.windowMillis = windowMillis;
+        this.bucketMillis = windowMillis / buckets;
+        this.buckets = buckets;
+        this.notional = new double[buckets];
+        this.buyNotional = new double[buckets];
+        this.counts = new long[buckets];
+    }
+
+    /**
+     * Adds a trade. Trades older than the window (late arrivals) are ignored.
+     *
+     * @param time         Trade time (in milliseconds).
+     * @param value        Trade notional (price x quantity).
+     * @param buyAggressor true if the taker bought.
+     */
+    public void add(long time, double value, boolean buyAggressor) {
+        long bucket = Math.floorDiv(time, bucketMillis);
+        advance(bucket);
+        if (bucket <= headBucket - buckets) return;
+
+        int i = Math.floorMod(bucket, buckets);
+        notional[i] += value;
+        counts[i]++;
+        totalNotional += value;
+        totalCount++;
+        if (buyAggressor) {
+            buyNotional[i] += value;
+            totalBuyNotional += value;
+        }
+    }
+
+    /**
+     * Expires buckets that fall out of the window at {@code time}, without adding a trade.
+     */
+    public void advanceTo(long time) {
+        advance(Math.floorDiv(time, bucketMillis));
+    }
+
+    private void advance(long bucket) {
+        if (bucket <= headBucket) return;
+        if (headBucket == Long.MIN_VALUE || bucket - headBucket >= buckets) {
+            clear();
+        } else {
+            for (long b = headBucket + 1; b <= bucket; b++) {
+                int i = Math.floorMod(b, buckets);
+                totalNotional -= notional[i];
+                totalBuyNotional -= buyNotional[i];
+                totalCount -= counts[i];
+                notional[i] = 0;
+                buyNotional[i] = 0;
+                counts[i] = 0;
+                if (i == 0) resum();
+            }
+        }
+        headBucket = bucket;
+    }
+
+    private void clear() {
+        for (int i = 0; i < buckets; i++) {
+            notional[i] = 0;
+            buyNotional[i] = 0;
+            counts[i] = 0;
+        }
+        totalNotional = 0;
+        totalBuyNotional = 0;
+        totalCount = 0;
+    }
+
+    private void resum() {
+        double n = 0;
+        double b = 0;
+        for (int i = 0; i < buckets; i++) {
+            n += notional[i];
+            b += buyNotional[i];
+        }
+        totalNotional = n;
+        totalBuyNotional = b;
+    }
+
+    // --- Totals as of the latest trade or advance ---
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public double getNotional() {
+        return totalNotional;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public double getBuyNotional() {
+        return totalBuyNotional;
+    }
+
+    public double getSellNotional() {
+        return Math.max(0, totalNotional - totalBuyNotional);
+    }
+
+    /**
+     * @return (buy - sell) / total aggressor notional, in [-1, 1]; 0 for an empty window.
+     */
+    public double getImbalance() {
+        if (totalNotional <= 0) return 0;
+        return Math.max(-1, Math.min(1, (2 * totalBuyNotional - totalNotional) / totalNotional));
+    }
+}
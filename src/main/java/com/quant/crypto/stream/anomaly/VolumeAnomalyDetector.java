@@ -0,0 +1,245 @@
+package com.quant.crypto.stream.anomaly;
+
+import com.quant.crypto.metrics.Counter;
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.model.RiskLevel;
+import com.quant.crypto.model.Trade;
+import com.quant.crypto.model.TradeAnalysis;
+import com.quant.crypto.model.TradeEventListener;
+import com.quant.crypto.stream.TradeBatchView;
+import com.quant.crypto.stream.TradeBatchListener;
+import com.quant.crypto.util.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming large-trade and volume-anomaly detector.
+ * <p>
+ * Subscribe an instance to the {@link com.quant.crypto.service.BinanceStreamClient} (per trade
+ * or per batch). For every symbol it keeps {@link RollingWindow}s (1s/10s/60s by default) of
+ * notional, trade count and aggressor imbalance, plus an adaptive high quantile of trade
+ * notional. It raises two alerts, each as a {@link TradeAnalysis} of the triggering trade:
+ * <ul>
+ *   <li>large trade: the notional reached the symbol's recent quantile (p99.9 by default);
+ *       WARNING, or CRITICAL at a multiple of it;</li>
+ *   <li>volume spike: the shortest window traded far more than its share of the longest
+ *       window; CRITICAL, at most once per shortest window.</li>
+ * </ul>
+ * The per-trade cost is one map lookup and a constant amount of arithmetic per window, with no
+ * allocation unless an alert fires, so one core keeps up with the full-market trade stream.
+ * <p>
+ * Each symbol must be fed by a single thread at a time, which the stream client guarantees.
+ */
+public class VolumeAnomalyDetector implements TradeEventListener, TradeBatchListener {
+
+    private static final Logger logger = LogManager.getLogger(VolumeAnomalyDetector.class);
+
+    private final long[] windowMillis;
+    private final int bucketsPerWindow;
+    private final double percentile;
+    private final double criticalMultiple;
+    private final int minTrades;
+    private final int halfLifeTrades;
+    private final double spikeFactor;
+    private final int spikeMinTrades;
+
+    private final Map<String, SymbolActivity> activity = new ConcurrentHashMap<>();
+
+    // Copy-on-write array so that alert fan-out does not allocate an iterator
+    private volatile AnomalyListener[] listeners = new AnomalyListener[0];
+
+    private final Counter largeTrades;
+    private final Counter volumeSpikes;
+
+    /**
+     * Per-symbol state.
+     */
+    private final class SymbolActivity {
+
+        final RollingWindow[] windows = new RollingWindow[windowMillis.length];
+        final NotionalQuantile quantile = new NotionalQuantile(percentile, halfLifeTrades);
+        final long firstEventTime;
+        long spikeQuietUntil;
+
+        SymbolActivity(long firstEventTime) {
+            this.firstEventTime = firstEventTime;
+            for (int i = 0; i < windows.length; i++) {
+                windows[i] = new RollingWindow(windowMillis[i], bucketsPerWindow);
+            }
+        }
+    }
+
+    /**
+     * Creates a detector from 'application.properties' (anomaly.* keys).
+     */
+    public VolumeAnomalyDetector() {
+        this(parseWindows(ConfigManager.getProperty("anomaly.windows.seconds", "1,10,60")),
+                Integer.parseInt(ConfigManager.getProperty("anomaly.window.buckets", "20")),
+                Double.parseDouble(ConfigManager.getProperty("anomaly.large.trade.percentile", "0.999")),
+                Double.parseDouble(ConfigManager.getProperty("anomaly.large.trade.critical.multiple", "5")),
+                Integer.parseInt(ConfigManager.getProperty("anomaly.large.trade.min.trades", "500")),
+                Integer.parseInt(ConfigManager.getProperty("anomaly.quantile.half.life.trades", "20000")),
+                Double.parseDouble(ConfigManager.getProperty("anomaly.volume.spike.factor", "5")),
+                Integer.parseInt(ConfigManager.getProperty("anomaly.volume.spike.min.trades", "20")));
+    }
+
+    /**
+     * @param windowMillis     Window lengths, shortest first (e.g. 1000, 10000, 60000).
+     * @param bucketsPerWindow Ring buckets per window (expiry granularity).
+     * @param percentile       Quantile of recent trade notional that marks a large trade (e.g. 0.999).
+     * @param criticalMultiple Multiple of the threshold at which a large trade is CRITICAL.
+     * @param minTrades        Trades of a symbol seen before large trades are flagged.
+     * @param halfLifeTrades   Trades after which older trades weigh half in the quantile.
+     * @param spikeFactor      How many times its share of the longest window the shortest must trade.
+     * @param spikeMinTrades   Trades the shortest window must hold for a spike (filters single prints).
+     */
+    public VolumeAnomalyDetector(long[] windowMillis, int bucketsPerWindow, double percentile, double criticalMultiple,
+                                 int minTrades, int halfLifeTrades, double spikeFactor, int spikeMinTrades) {
+        if (windowMillis.length == 0) throw new IllegalArgumentException("At least one window is required");
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be within (0, 1): " + percentile);
+        }
+        this.windowMillis = windowMillis.clone();
+        Arrays.sort(this.windowMillis);
+        this.bucketsPerWindow = bucketsPerWindow;
+        this.percentile = percentile;
+        this.criticalMultiple = criticalMultiple;
+        this.minTrades = minTrades;
+        this.halfLifeTrades = halfLifeTrades;
+        this.spikeFactor = spikeFactor;
+        this.spikeMinTrades = spikeMinTrades;
+
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        this.largeTrades = metrics.counter("anomaly_large_trades_total", "Trades above the adaptive notional threshold");
+        this.volumeSpikes = metrics.counter("anomaly_volume_spikes_total", "Short-window volume spikes");
+    }
+
+    private static long[] parseWindows(String seconds) {
+        return Arrays.stream(seconds.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .mapToLong(s -> TimeUnit.SECONDS.toMillis(Long.parseLong(s)))
+                .toArray();
+    }
+
+    /**
+     * Subscribes a listener to receive large-trade and volume-spike alerts.
+     * @param listener The observer implementing {@link AnomalyListener}.
+     */
+    public synchronized void subscribe(AnomalyListener listener) {
+        AnomalyListener[] next = Arrays.copyOf(listeners, listeners.length + 1);
+        next[listeners.length] = listener;
+        listeners = next;
+    }
+
+    /**
+     * Notional needs the quantity, which only the full trade callback carries.
+     */
+    @Override
+    public void onTradeEvent(double price, long eventTime) {
+        // Intentionally empty: see onTrade(...)
+    }
+
+    @Override
+    public void onTradeBatch(TradeBatchView batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            onTrade(batch.symbol(i), batch.tradeId(i), batch.price(i), batch.quantity(i), batch.eventTime(i),
+                    batch.buyerMaker(i));
+        }
+    }
+
+    @Override
+    public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+        SymbolActivity state = activity.get(symbol);
+        if (state == null) {
+            state = activity.computeIfAbsent(symbol, s -> new SymbolActivity(eventTime));
+        }
+
+        double notional = price * quantity;
+        boolean buyAggressor = !buyerMaker;
+        RollingWindow[] windows = state.windows;
+        for (RollingWindow window : windows) {
+            window.add(eventTime, notional, buyAggressor);
+        }
+
+        // Large trade, judged against the trades before it
+        NotionalQuantile quantile = state.quantile;
+        double threshold = quantile.getThreshold();
+        if (quantile.getRecorded() >= minTrades && notional >= threshold) {
+            RiskLevel level = notional >= criticalMultiple * threshold ? RiskLevel.CRITICAL : RiskLevel.WARNING;
+            largeTrade(new Trade(symbol, tradeId, price, quantity, eventTime, buyerMaker), level, notional, threshold);
+        }
+        quantile.add(notional);
+
+        // Volume spike: the burst window against its share of the baseline window
+        if (windows.length > 1 && eventTime >= state.spikeQuietUntil) {
+            RollingWindow burst = windows[0];
+            RollingWindow baseline = windows[windows.length - 1];
+            if (burst.getCount() >= spikeMinTrades && eventTime - state.firstEventTime >= baseline.getWindowMillis()) {
+                double expected = baseline.getNotional() * burst.getWindowMillis() / baseline.getWindowMillis();
+                if (burst.getNotional() >= spikeFactor * expected) {
+                    state.spikeQuietUntil = eventTime + burst.getWindowMillis();
+                    volumeSpike(new Trade(symbol, tradeId, price, quantity, eventTime, buyerMaker), notional,
+                            burst, baseline);
+                }
+            }
+        }
+    }
+
+    private void largeTrade(Trade trade, RiskLevel level, double notional, double threshold) {
+        largeTrades.increment();
+        TradeAnalysis analysis = new TradeAnalysis(trade, level, notional);
+        // Debug: at p99.9 the full market produces several of these per second
+        logger.debug("🐋 LARGE TRADE {} | {} {} @ {} | threshold {}", analysis, trade.getSide(), trade.getQuantity(),
+                trade.getPrice(), String.format("%.2f", threshold));
+        for (AnomalyListener listener : listeners) {
+            try {
+                listener.onLargeTrade(analysis, threshold);
+            } catch (Exception e) {
+                logger.error("❌ Anomaly listener failed on a large trade", e);
+            }
+        }
+    }
+
+    private void volumeSpike(Trade trade, double notional, RollingWindow burst, RollingWindow baseline) {
+        volumeSpikes.increment();
+        TradeAnalysis analysis = new TradeAnalysis(trade, RiskLevel.CRITICAL, notional);
+        logger.warn("📈 VOLUME SPIKE [{}] {} in {} ms ({} trades, imbalance {}) vs {} in {} ms",
+                trade.getPair(), String.format("%.2f", burst.getNotional()), burst.getWindowMillis(), burst.getCount(),
+                String.format("%+.2f", burst.getImbalance()), String.format("%.2f", baseline.getNotional()),
+                baseline.getWindowMillis());
+        for (AnomalyListener listener : listeners) {
+            try {
+                listener.onVolumeSpike(analysis, burst, baseline);
+            } catch (Exception e) {
+                logger.error("❌ Anomaly listener failed on a volume spike", e);
+            }
+        }
+    }
+
+    // --- Monitoring ---
+
+    /**
+     * @param symbol The trading pair symbol.
+     * @param index  Window index, shortest first.
+     * @return The symbol's window (live, only stable on the feeding thread), or null if it has not traded.
+     */
+    public RollingWindow getWindow(String symbol, int index) {
+        SymbolActivity state = activity.get(symbol);
+        return state == null ? null : state.windows[index];
+    }
+
+    /**
+     * @return The symbol's current large-trade notional threshold, or NaN while it is still warming up.
+     */
+    public double getLargeTradeThreshold(String symbol) {
+        SymbolActivity state = activity.get(symbol);
+        if (state == null || state.quantile.getRecorded() < minTrades) return Double.NaN;
+        return state.quantile.getThreshold();
+    }
+}
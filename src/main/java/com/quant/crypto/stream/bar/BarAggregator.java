@@ -0,0 +1,121 @@
+package com.quant.crypto.stream.bar;
+
+import com.quant.crypto.model.TradeEventListener;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds OHLCV bars in real time from the trade stream.
+ * <p>
+ * Subscribe an instance to the {@link com.quant.crypto.service.BinanceStreamClient}; every trade
+ * updates all configured series of its symbol (e.g. 1s/1m/5m/1h time bars plus tick and volume
+ * bars) at once. The per-trade cost is one map lookup plus a constant update per series, with no
+ * allocation once a symbol's series exist.
+ * <p>
+ * Each symbol's series must be fed by a single thread at a time, which the stream client
+ * guarantees per symbol.
+ */
+public class BarAggregator implements TradeEventListener {
+
+    private final BarSpec[] specs;
+    private final int capacity;
+    private final Map<String, BarSeries[]> seriesBySymbol = new ConcurrentHashMap<>();
+
+    // Copy-on-write array so that fan-out does not allocate an iterator per bar
+    private volatile BarListener[] listeners = new BarListener[0];
+
+    private final BarListener fanOut = (series, index, revision) -> {
+        for (BarListener listener : listeners) {
+            listener.onBar(series, index, revision);
+        }
+    };
+
+    /**
+     * @param capacity Number of closed bars kept per series.
+     * @param specs    The bar series maintained for every symbol.
+     */
+    public BarAggregator(int capacity, BarSpec... specs) {
+        if (specs.length == 0) throw new IllegalArgumentException("At least one bar spec is required");
+        this.capacity = capacity;
+        this.specs = specs.clone();
+    }
+
+    /**
+     * Creates an aggregator with the standard 1s/1m/5m/1h time bars.
+     */
+    public static BarAggregator withDefaultIntervals(int capacity) {
+        return new BarAggregator(capacity, BarSpec.seconds(1), BarSpec.minutes(1), BarSpec.minutes(5), BarSpec.hours(1));
+    }
+
+    /**
+     * Subscribes a listener to receive closed and revised bars of every series.
+     * @param listener The observer implementing {@link BarListener}.
+     */
+    public synchronized void subscribe(BarListener listener) {
+        BarListener[] next = Arrays.copyOf(listeners, listeners.length + 1);
+        next[listeners.length] = listener;
+        listeners = next;
+    }
+
+    /**
+     * Bars need the symbol and quantity, which only the full trade callback carries.
+     */
+    @Override
+    public void onTradeEvent(double price, long eventTime) {
+        // Intentionally empty: see onTrade(...)
+    }
+
+    @Override
+    public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+        for (BarSeries series : seriesFor(symbol)) {
+            series.onTrade(price, quantity, eventTime, fanOut);
+        }
+    }
+
+    /**
+     * Closes time bars of a symbol whose interval ended before the watermark.
+     * Must be called from the thread that feeds that symbol.
+     *
+     * @param symbol    The trading pair symbol.
+     * @param watermark Event time known to be complete (in milliseconds).
+     */
+    public void advanceTo(String symbol, long watermark) {
+        BarSeries[] series = seriesBySymbol.get(symbol);
+        if (series == null) return;
+        for (BarSeries s : series) {
+            s.advanceTo(watermark, fanOut);
+        }
+    }
+
+    /**
+     * @param symbol The trading pair symbol.
+     * @param spec   One of the specs this aggregator was created with.
+     * @return The matching series, or null if the symbol has not traded yet or the spec is unknown.
+     */
+    public BarSeries getSeries(String symbol, BarSpec spec) {
+        BarSeries[] series = seriesBySymbol.get(symbol);
+        if (series == null) return null;
+        for (BarSeries s : series) {
+            if (s.getSpec() == spec) return s;
+        }
+        return null;
+    }
+
+    private BarSeries[] seriesFor(String symbol) {
+        BarSeries[] series = seriesBySymbol.get(symbol);
+        if (series == null) {
+            series = seriesBySymbol.computeIfAbsent(symbol, this::createSeries);
+        }
+        return series;
+    }
+
+    private BarSeries[] createSeries(String symbol) {
+        BarSeries[] series = new BarSeries[specs.length];
+        for (int i = 0; i < specs.length; i++) {
+            series[i] = new BarSeries(symbol, specs[i], capacity);
+        }
+        return series;
+    }
+}
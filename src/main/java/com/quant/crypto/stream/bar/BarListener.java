@@ -0,0 +1,21 @@
+package com.quant.crypto.stream.bar;
+
+/**
+ * Interface for receiving completed OHLCV bars from the {@link BarAggregator}.
+ * <p>
+ * Bars are not copied into objects; the listener reads them from the series' ring arrays
+ * using the supplied index. Callbacks run on the thread that fed the trade, so the values
+ * are stable for the duration of the call.
+ */
+@FunctionalInterface
+public interface BarListener {
+
+    /**
+     * Triggered when a bar closes, or when a late trade amends the most recently closed bar.
+     *
+     * @param series   The series the bar belongs to (symbol, spec and ring storage).
+     * @param index    The ring index of the bar; pass to the {@code BarSeries} accessors.
+     * @param revision true if this is an amendment of an already published bar.
+     */
+    void onBar(BarSeries series, int index, boolean revision);
+}
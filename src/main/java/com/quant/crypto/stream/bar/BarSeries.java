@@ -0,0 +1,248 @@
+package com.quant.crypto.stream.bar;
+
+import com.quant.crypto.model.enums.BarType;
+
+/**
+ * OHLCV bar history for one symbol and one {@link BarSpec}.
+ * <p>
+ * Closed bars are stored in preallocated primitive ring arrays, so updating a series costs a
+ * handful of arithmetic operations and never allocates. Once the ring is full, the oldest bar
+ * is overwritten.
+ * <p>
+ * Time bars close on event-time boundaries: the first trade of a later interval closes the
+ * current bar (or {@link #advanceTo} does, when the market is quiet). A late trade that falls
+ * into the most recently closed bar amends it and is re-published as a revision; older
+ * trades are counted and dropped.
+ * <p>
+ * Not thread-safe: a series has a single writer, the thread that delivers its symbol's trades.
+ */
+public class BarSeries {
+
+    private final String symbol;
+    private final BarSpec spec;
+    private final int capacity;
+
+    // Closed bars (ring storage)
+    private final long[] openTime;
+    private final long[] closeTime;
+    private final long[] tradeCount;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private long closedCount;
+    private long lastClosedOpenTime = Long.MIN_VALUE;
+
+    // Bar under construction
+    private boolean building;
+    private long curOpenTime;
+    private long curCloseTime;
+    private long curTrades;
+    private double curOpen;
+    private double curHigh;
+    private double curLow;
+    private double curClose;
+    private double curVolume;
+
+    private long lateTrades;
+    private long droppedLateTrades;
+
+    /**
+     * @param symbol   The trading pair symbol.
+     * @param spec     What closes a bar.
+     * @param capacity Number of closed bars kept in memory.
+     */
+    public BarSeries(String symbol, BarSpec spec, int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Bar capacity must be positive: " + capacity);
+        this.symbol = symbol;
+        this.spec = spec;
+        this.capacity = capacity;
+        this.openTime = new long[capacity];
+        this.closeTime = new long[capacity];
+        this.tradeCount = new long[capacity];
+        this.open = new double[capacity];
+        this.high = new double[capacity];
+        this.low = new double[capacity];
+        this.close = new double[capacity];
+        this.volume = new double[capacity];
+    }
+
+    /**
+     * Folds a trade into the series, closing the current bar when its threshold is reached.
+     *
+     * @param price     The execution price.
+     * @param quantity  The executed quantity.
+     * @param eventTime The trade event time (in milliseconds).
+     * @param listener  Receiver of closed or revised bars.
+     */
+    public void onTrade(double price, double quantity, long eventTime, BarListener listener) {
+        if (spec.getType() == BarType.TIME) {
+            long interval = spec.getIntervalMillis();
+            long bucket = eventTime - Math.floorMod(eventTime, interval);
+            // Intervals up to the last closed one are final, even when no bar is being built
+            if (bucket <= lastClosedOpenTime || (building && bucket < curOpenTime)) {
+                onLateTrade(bucket, price, quantity, eventTime, listener);
+                return;
+            }
+            if (building && bucket != curOpenTime) closeCurrent(listener);
+            if (!building) start(bucket, price);
+            update(price, quantity, eventTime);
+            return;
+        }
+
+        if (!building) start(eventTime, price);
+        update(price, quantity, eventTime);
+
+        boolean full = spec.getType() == BarType.TICK
+                ? curTrades >= spec.getTickCount()
+                : curVolume >= spec.getVolumeThreshold();
+        if (full) closeCurrent(listener);
+    }
+
+    /**
+     * Closes the current time bar if the event-time watermark has passed its end.
+     * Lets quiet symbols publish bars without waiting for the next trade.
+     *
+     * @param watermark Event time known to be complete (in milliseconds).
+     * @param listener  Receiver of closed bars.
+     */
+    public void advanceTo(long watermark, BarListener listener) {
+        if (building && spec.getType() == BarType.TIME && watermark >= curOpenTime + spec.getIntervalMillis()) {
+            closeCurrent(listener);
+        }
+    }
+
+    private void start(long barOpenTime, double price) {
+        building = true;
+        curOpenTime = barOpenTime;
+        curTrades = 0;
+        curOpen = price;
+        curHigh = price;
+        curLow = price;
+        curVolume = 0;
+    }
+
+    private void update(double price, double quantity, long eventTime) {
+        if (price > curHigh) curHigh = price;
+        if (price < curLow) curLow = price;
+        curClose = price;
+        curCloseTime = eventTime;
+        curVolume += quantity;
+        curTrades++;
+    }
+
+    private void closeCurrent(BarListener listener) {
+        int i = (int) (closedCount % capacity);
+        openTime[i] = curOpenTime;
+        closeTime[i] = curCloseTime;
+        tradeCount[i] = curTrades;
+        open[i] = curOpen;
+        high[i] = curHigh;
+        low[i] = curLow;
+        close[i] = curClose;
+        volume[i] = curVolume;
+        closedCount++;
+        lastClosedOpenTime = curOpenTime;
+        building = false;
+        listener.onBar(this, i, false);
+    }
+
+    private void onLateTrade(long bucket, double price, double quantity, long eventTime, BarListener listener) {
+        lateTrades++;
+        if (closedCount == 0) {
+            droppedLateTrades++;
+            return;
+        }
+        int i = latestIndex();
+        if (openTime[i] != bucket) {
+            droppedLateTrades++;
+            return;
+        }
+        if (price > high[i]) high[i] = price;
+        if (price < low[i]) low[i] = price;
+        if (eventTime >= closeTime[i]) {
+            close[i] = price;
+            closeTime[i] = eventTime;
+        }
+        volume[i] += quantity;
+        tradeCount[i]++;
+        listener.onBar(this, i, true);
+    }
+
+    // --- Accessors ---
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public BarSpec getSpec() {
+        return spec;
+    }
+
+    /** @return Number of closed bars currently held (at most the capacity). */
+    public int size() {
+        return (int) Math.min(closedCount, capacity);
+    }
+
+    /** @return Total number of bars closed since creation. */
+    public long getClosedCount() {
+        return closedCount;
+    }
+
+    /** @return Ring index of the most recently closed bar. Only valid when {@link #size()} > 0. */
+    public int latestIndex() {
+        return (int) ((closedCount - 1) % capacity);
+    }
+
+    /**
+     * @param barsAgo 0 for the latest closed bar, 1 for the one before, and so on.
+     * @return The ring index of that bar.
+     */
+    public int indexOf(int barsAgo) {
+        if (barsAgo < 0 || barsAgo >= size()) {
+            throw new IndexOutOfBoundsException("barsAgo " + barsAgo + " outside [0, " + size() + ")");
+        }
+        return (int) ((closedCount - 1 - barsAgo) % capacity);
+    }
+
+    public long getOpenTime(int index) {
+        return openTime[index];
+    }
+
+    public long getCloseTime(int index) {
+        return closeTime[index];
+    }
+
+    public long getTradeCount(int index) {
+        return tradeCount[index];
+    }
+
+    public double getOpen(int index) {
+        return open[index];
+    }
+
+    public double getHigh(int index) {
+        return high[index];
+    }
+
+    public double getLow(int index) {
+        return low[index];
+    }
+
+    public double getClose(int index) {
+        return close[index];
+    }
+
+    public double getVolume(int index) {
+        return volume[index];
+    }
+
+    public long getLateTrades() {
+        return lateTrades;
+    }
+
+    public long getDroppedLateTrades() {
+        return droppedLateTrades;
+    }
+}
@@ -0,0 +1,78 @@
+package com.quant.crypto.stream.bar;
+
+import com.quant.crypto.model.enums.BarType;
+
+/**
+ * Immutable description of a bar series: its type and closing threshold.
+ * Use the static factories, e.g. {@code BarSpec.minutes(1)} or {@code BarSpec.ticks(100)}.
+ */
+public final class BarSpec {
+
+    private final BarType type;
+    private final long intervalMillis;
+    private final long tickCount;
+    private final double volumeThreshold;
+    private final String label;
+
+    private BarSpec(BarType type, long intervalMillis, long tickCount, double volumeThreshold, String label) {
+        this.type = type;
+        this.intervalMillis = intervalMillis;
+        this.tickCount = tickCount;
+        this.volumeThreshold = volumeThreshold;
+        this.label = label;
+    }
+
+    public static BarSpec seconds(long seconds) {
+        return time(seconds * 1_000L, seconds + "s");
+    }
+
+    public static BarSpec minutes(long minutes) {
+        return time(minutes * 60_000L, minutes + "m");
+    }
+
+    public static BarSpec hours(long hours) {
+        return time(hours * 3_600_000L, hours + "h");
+    }
+
+    private static BarSpec time(long intervalMillis, String label) {
+        if (intervalMillis <= 0) throw new IllegalArgumentException("Bar interval must be positive: " + label);
+        return new BarSpec(BarType.TIME, intervalMillis, 0, 0, label);
+    }
+
+    /**
+     * @param trades Number of trades per bar.
+     */
+    public static BarSpec ticks(long trades) {
+        if (trades <= 0) throw new IllegalArgumentException("Tick bar size must be positive: " + trades);
+        return new BarSpec(BarType.TICK, 0, trades, 0, trades + "T");
+    }
+
+    /**
+     * @param volume Base-asset volume per bar. The closing trade is not split, so bars may overshoot.
+     */
+    public static BarSpec volume(double volume) {
+        if (volume <= 0) throw new IllegalArgumentException("Volume bar size must be positive: " + volume);
+        return new BarSpec(BarType.VOLUME, 0, 0, volume, volume + "V");
+    }
+
+    public BarType getType() {
+        return type;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public double getVolumeThreshold() {
+        return volumeThreshold;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,286 @@
+package com.quant.crypto.stream.shard;
+
+import com.quant.crypto.model.TradeEventListener;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * A single worker thread draining one bounded multi-producer ring of trade events.
+ * <p>
+ * Slots are preallocated primitive arrays; producers claim a sequence number, fill the slot
+ * and publish it with a release write, so enqueueing never allocates. The consumer delivers
+ * events to the dispatcher's listeners in sequence order. When the ring is full, producers
+ * spin until space frees up (backpressure towards the WebSocket thread).
+ * <p>
+ * Events of a symbol that was just moved here are parked until its previous shard has
+ * drained it, so a migration never holds up the other symbols of this shard.
+ */
+final class ShardLoop implements Runnable {
+
+    private static final Logger logger = LogManager.getLogger(ShardLoop.class);
+
+    private static final byte KIND_TRADE = 0;
+    private static final byte KIND_DRAIN_MARKER = 1;
+
+    /** Idle spins before a waiting producer or consumer starts parking. */
+    private static final int SPIN_LIMIT = 200;
+    private static final long PARK_NANOS = 50_000;
+
+    private final int index;
+    private final int capacity;
+    private final int mask;
+    private final Supplier<TradeEventListener[]> listeners;
+
+    // Slot storage
+    private final AtomicLongArray publishedSeq;
+    private final byte[] kinds;
+    private final SymbolRoute[] routes;
+    private final long[] tradeIds;
+    private final double[] prices;
+    private final double[] quantities;
+    private final long[] eventTimes;
+    private final boolean[] buyerMakers;
+
+    private final AtomicLong claimSeq = new AtomicLong();
+    private final AtomicLong consumedSeq = new AtomicLong();
+
+    // Metrics (written by the consumer thread only)
+    private volatile long processed;
+    private volatile long busyNanos;
+
+    // Events of migrated symbols whose previous shard has not drained yet, in arrival order.
+    // Consumer thread only; allocates, but only around the rare migration.
+    private final ArrayDeque<ParkedTrade> parkedTrades = new ArrayDeque<>();
+    // Symbols with parked events still waiting for their drain marker, and (during one
+    // release) the ones found drained; a handful at most, so lists are cheaper than sets
+    private final ArrayList<SymbolRoute> waitingRoutes = new ArrayList<>();
+    private final ArrayList<SymbolRoute> releasing = new ArrayList<>();
+
+    private volatile boolean running = true;
+    private volatile boolean parked;
+    private volatile Thread thread;
+
+    /**
+     * @param index     The shard number.
+     * @param capacity  Ring size; rounded up to a power of two.
+     * @param listeners Current listener array of the owning dispatcher.
+     */
+    ShardLoop(int index, int capacity, Supplier<TradeEventListener[]> listeners) {
+        this.index = index;
+        this.capacity = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.listeners = listeners;
+        this.publishedSeq = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) publishedSeq.set(i, -1);
+        this.kinds = new byte[this.capacity];
+        this.routes = new SymbolRoute[this.capacity];
+        this.tradeIds = new long[this.capacity];
+        this.prices = new double[this.capacity];
+        this.quantities = new double[this.capacity];
+        this.eventTimes = new long[this.capacity];
+        this.buyerMakers = new boolean[this.capacity];
+    }
+
+    void publishTrade(SymbolRoute route, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+        long seq = claim();
+        int i = (int) (seq & mask);
+        kinds[i] = KIND_TRADE;
+        routes[i] = route;
+        tradeIds[i] = tradeId;
+        prices[i] = price;
+        quantities[i] = quantity;
+        eventTimes[i] = eventTime;
+        buyerMakers[i] = buyerMaker;
+        publish(seq, i);
+    }
+
+    /**
+     * Queues a marker that releases the route's gate once every earlier event of the
+     * symbol on this shard has been delivered.
+     */
+    void publishDrainMarker(SymbolRoute route) {
+        long seq = claim();
+        int i = (int) (seq & mask);
+        kinds[i] = KIND_DRAIN_MARKER;
+        routes[i] = route;
+        publish(seq, i);
+    }
+
+    private long claim() {
+        long seq = claimSeq.getAndIncrement();
+        int spins = 0;
+        while (seq - consumedSeq.get() >= capacity) {
+            if (!running) throw new IllegalStateException("Shard " + index + " is stopped");
+            // Back off so a full ring does not starve the consumer of CPU
+            if (++spins < SPIN_LIMIT) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        return seq;
+    }
+
+    private void publish(long seq, int i) {
+        publishedSeq.lazySet(i, seq);
+        // Only pay for unpark when the consumer actually went to sleep
+        if (parked) LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        long next = consumedSeq.get();
+        int idle = 0;
+
+        while (running) {
+            if (!waitingRoutes.isEmpty() && drainArrived()) releaseParked();
+            int i = (int) (next & mask);
+            if (publishedSeq.get(i) != next) {
+                if (++idle < SPIN_LIMIT) {
+                    Thread.onSpinWait();
+                } else {
+                    parked = true;
+                    if (publishedSeq.get(i) != next) LockSupport.parkNanos(PARK_NANOS);
+                    parked = false;
+                }
+                continue;
+            }
+            idle = 0;
+
+            long start = System.nanoTime();
+            long drained = 0;
+            // Drain everything already published before taking the next timestamp
+            while (publishedSeq.get(i) == next) {
+                dispatch(i);
+                routes[i] = null;
+                next++;
+                drained++;
+                consumedSeq.lazySet(next);
+                i = (int) (next & mask);
+            }
+            busyNanos += System.nanoTime() - start;
+            processed += drained;
+        }
+    }
+
+    private void dispatch(int i) {
+        SymbolRoute route = routes[i];
+        if (kinds[i] == KIND_DRAIN_MARKER) {
+            route.drained = true;
+            return;
+        }
+        // A freshly migrated symbol waits until its previous shard has drained it
+        if (route.gated && route.drainingShard != index) {
+            if (!route.drained) {
+                parkedTrades.add(new ParkedTrade(route, tradeIds[i], prices[i], quantities[i], eventTimes[i],
+                        buyerMakers[i]));
+                if (!waitingRoutes.contains(route)) waitingRoutes.add(route);
+                return;
+            }
+            if (!waitingRoutes.isEmpty()) releaseParked();
+            open(route);
+        }
+        deliver(route, tradeIds[i], prices[i], quantities[i], eventTimes[i], buyerMakers[i]);
+    }
+
+    /**
+     * @return true if the previous shard of a symbol with parked events has drained it.
+     */
+    private boolean drainArrived() {
+        for (int k = 0; k < waitingRoutes.size(); k++) {
+            if (waitingRoutes.get(k).drained) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Delivers, in arrival order, the parked events of every symbol whose previous shard has drained.
+     */
+    private void releaseParked() {
+        // Decide once per symbol before the scan: a drain completing mid-scan must not let a
+        // symbol's later events overtake the ones already passed over
+        for (int k = waitingRoutes.size() - 1; k >= 0; k--) {
+            SymbolRoute route = waitingRoutes.get(k);
+            if (route.drained) {
+                releasing.add(route);
+                waitingRoutes.remove(k);
+            }
+        }
+        if (releasing.isEmpty()) return;
+        for (Iterator<ParkedTrade> it = parkedTrades.iterator(); it.hasNext(); ) {
+            ParkedTrade t = it.next();
+            if (!releasing.contains(t.route)) continue;
+            it.remove();
+            // Safe before the rest is delivered: a new move's marker queues behind this loop
+            open(t.route);
+            deliver(t.route, t.tradeId, t.price, t.quantity, t.eventTime, t.buyerMaker);
+        }
+        releasing.clear();
+    }
+
+    private static void open(SymbolRoute route) {
+        route.drainingShard = -1;
+        route.gated = false;
+    }
+
+    private void deliver(SymbolRoute route, long tradeId, double price, double quantity, long eventTime,
+                         boolean buyerMaker) {
+        try {
+            for (TradeEventListener listener : listeners.get()) {
+                listener.onTrade(route.symbol, tradeId, price, quantity, eventTime, buyerMaker);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Listener failed on shard {} for [{}]", index, route.symbol, e);
+        }
+    }
+
+    void stop() {
+        running = false;
+        Thread t = thread;
+        if (t != null) LockSupport.unpark(t);
+    }
+
+    long getQueueDepth() {
+        return Math.max(0, claimSeq.get() - consumedSeq.get());
+    }
+
+    long getProcessed() {
+        return processed;
+    }
+
+    long getBusyNanos() {
+        return busyNanos;
+    }
+
+    /**
+     * A trade held back while its symbol migrates onto this shard.
+     */
+    private static final class ParkedTrade {
+
+        final SymbolRoute route;
+        final long tradeId;
+        final double price;
+        final double quantity;
+        final long eventTime;
+        final boolean buyerMaker;
+
+        ParkedTrade(SymbolRoute route, long tradeId, double price, double quantity, long eventTime,
+                    boolean buyerMaker) {
+            this.route = route;
+            this.tradeId = tradeId;
+            this.price = price;
+            this.quantity = quantity;
+            this.eventTime = eventTime;
+            this.buyerMaker = buyerMaker;
+        }
+    }
+}
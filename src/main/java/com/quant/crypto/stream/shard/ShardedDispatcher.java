@@ -0,0 +1,338 @@
+package com.quant.crypto.stream.shard;
+
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.model.TradeEventListener;
+import com.quant.crypto.util.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans the trade stream out to N single-writer event loops, one per shard.
+ * <p>
+ * Each symbol is hashed to one shard, so all of its events are handled by exactly one thread
+ * in order, and listener state kept per symbol needs no locks. Subscribe this dispatcher to
+ * the {@link com.quant.crypto.service.BinanceStreamClient} and subscribe the actual listeners
+ * to the dispatcher; they are then called on the shard threads.
+ * <p>
+ * Optionally, a rebalancer periodically moves a hot symbol from the busiest shard to the idlest
+ * one (work stealing at symbol granularity, see {@link SymbolRoute} for the handoff protocol).
+ * Per-shard queue depth and utilization are exposed for monitoring.
+ * <p>
+ * Producers must publish a given symbol from one thread at a time, which the stream client
+ * guarantees through its per-symbol sequencer.
+ */
+public class ShardedDispatcher implements TradeEventListener, AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(ShardedDispatcher.class);
+
+    /** Busiest shard must exceed the idlest by this factor before a symbol is moved. */
+    private static final double REBALANCE_IMBALANCE = 1.5;
+
+    /** Shards below this utilization are not considered overloaded, whatever the imbalance. */
+    private static final double REBALANCE_MIN_UTILIZATION = 0.5;
+
+    /** Rounds after which a requested move is dropped if the symbol has not published since. */
+    private static final int PENDING_MOVE_ROUNDS = 3;
+
+    private final ShardLoop[] shards;
+    private final Thread[] threads;
+    private final int[] cpuHints;
+    private final Map<String, SymbolRoute> routes = new ConcurrentHashMap<>();
+    private final boolean rebalanceEnabled;
+    private final long rebalanceIntervalMs;
+    private final ScheduledExecutorService monitor;
+    private final AtomicLong migrations = new AtomicLong();
+
+    // Copy-on-write array so shard loops iterate without allocation
+    private volatile TradeEventListener[] listeners = new TradeEventListener[0];
+
+    // Utilization sampling (monitor thread only)
+    private final long[] busyAtLastSample;
+    private final double[] utilization;
+    private long lastSampleNanos;
+
+    /**
+     * Creates a dispatcher from 'application.properties' (shard.* keys).
+     */
+    public ShardedDispatcher() {
+        this(Integer.parseInt(ConfigManager.getProperty("shard.count",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Integer.parseInt(ConfigManager.getProperty("shard.queue.capacity", "65536")),
+                parseCpuHints(ConfigManager.getProperty("shard.cpu.hints", "")),
+                Boolean.parseBoolean(ConfigManager.getProperty("shard.rebalance.enabled", "false")),
+                Long.parseLong(ConfigManager.getProperty("shard.rebalance.interval.ms", "5000")));
+    }
+
+    /**
+     * @param shardCount          Number of worker loops.
+     * @param queueCapacity       Ring size per shard (rounded up to a power of two).
+     * @param cpuHints            Preferred CPU per shard (may be empty). Java cannot pin threads itself;
+     *                            the hint is carried in the thread name for external affinity tooling.
+     * @param rebalanceEnabled    Whether hot symbols are moved between shards.
+     * @param rebalanceIntervalMs Sampling period for utilization and rebalancing.
+     */
+    public ShardedDispatcher(int shardCount, int queueCapacity, int[] cpuHints,
+                             boolean rebalanceEnabled, long rebalanceIntervalMs) {
+        if (shardCount <= 0) throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        this.shards = new ShardLoop[shardCount];
+        this.threads = new Thread[shardCount];
+        this.cpuHints = cpuHints.clone();
+        this.rebalanceEnabled = rebalanceEnabled;
+        this.rebalanceIntervalMs = rebalanceIntervalMs;
+        this.busyAtLastSample = new long[shardCount];
+        this.utilization = new double[shardCount];
+
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new ShardLoop(i, queueCapacity, () -> listeners);
+        }
+        this.monitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "shard-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Starts the shard threads and the utilization/rebalance monitor.
+     */
+    public void start() {
+        for (int i = 0; i < shards.length; i++) {
+            String name = i < cpuHints.length ? "shard-" + i + "-cpu" + cpuHints[i] : "shard-" + i;
+            threads[i] = new Thread(shards[i], name);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+        registerMetrics();
+        lastSampleNanos = System.nanoTime();
+        monitor.scheduleAtFixedRate(this::tick, rebalanceIntervalMs, rebalanceIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("🧵 SHARDS STARTED: {} loops | Rebalancing: {}", shards.length, rebalanceEnabled);
+    }
+
+    private void registerMetrics() {
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        for (int i = 0; i < shards.length; i++) {
+            int shard = i;
+            String label = String.valueOf(i);
+            metrics.gauge("dispatch_queue_depth", "Events queued per shard", () -> getQueueDepth(shard), "shard", label);
+            metrics.gauge("dispatch_shard_utilization", "Fraction of time a shard spent delivering events",
+                    () -> getUtilization(shard), "shard", label);
+            metrics.counter("dispatch_events_total", "Events delivered per shard", () -> getProcessed(shard), "shard", label);
+        }
+        metrics.counter("dispatch_migrations_total", "Symbols moved between shards by the rebalancer", this::getMigrations);
+    }
+
+    /**
+     * Subscribes a listener; it is invoked on the shard thread owning each symbol.
+     * @param listener The observer implementing {@link TradeEventListener}.
+     */
+    public synchronized void subscribe(TradeEventListener listener) {
+        TradeEventListener[] next = Arrays.copyOf(listeners, listeners.length + 1);
+        next[listeners.length] = listener;
+        listeners = next;
+    }
+
+    /**
+     * Price-only events carry no symbol and cannot be routed; only the full callback is used.
+     */
+    @Override
+    public void onTradeEvent(double price, long eventTime) {
+        // Intentionally empty: see onTrade(...)
+    }
+
+    @Override
+    public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+        SymbolRoute route = routes.get(symbol);
+        if (route == null) {
+            route = routes.computeIfAbsent(symbol, s -> new SymbolRoute(s, Math.floorMod(s.hashCode(), shards.length)));
+        }
+
+        int target = route.pendingShard;
+        if (target >= 0) {
+            migrate(route, target);
+        }
+
+        route.published++;
+        shards[route.shard].publishTrade(route, tradeId, price, quantity, eventTime, buyerMaker);
+    }
+
+    /**
+     * Requests that a symbol be moved to another shard (manual rebalancing). The move is carried
+     * out by the symbol's producer on its next publish, preserving per-symbol order.
+     *
+     * @param symbol The trading pair symbol.
+     * @param shard  The target shard.
+     * @return false if the symbol has not been seen yet or a previous move of it is still draining.
+     */
+    public boolean requestMove(String symbol, int shard) {
+        if (shard < 0 || shard >= shards.length) {
+            throw new IllegalArgumentException("Shard " + shard + " outside [0, " + shards.length + ")");
+        }
+        SymbolRoute route = routes.get(symbol);
+        if (route == null || route.gated) return false;
+        route.pendingRounds = 0;
+        route.pendingShard = shard;
+        return true;
+    }
+
+    /**
+     * Executed by the symbol's producer, so no event of the symbol can race the switch.
+     */
+    private void migrate(SymbolRoute route, int target) {
+        int source = route.shard;
+        route.pendingShard = -1;
+        if (source == target) return;
+
+        route.drainingShard = source;
+        route.drained = false;
+        route.gated = true;
+        shards[source].publishDrainMarker(route);
+        route.shard = target;
+        migrations.incrementAndGet();
+        logger.info("🔀 REBALANCE: [{}] moved shard {} -> {}", route.symbol, source, target);
+    }
+
+    /**
+     * Samples utilization and, if enabled, moves one hot symbol off the busiest shard.
+     */
+    private void tick() {
+        try {
+            sampleUtilization();
+            if (rebalanceEnabled) rebalance();
+        } catch (Exception e) {
+            logger.error("❌ Shard monitor failed", e);
+        }
+    }
+
+    private void sampleUtilization() {
+        long now = System.nanoTime();
+        long wall = Math.max(1, now - lastSampleNanos);
+        for (int i = 0; i < shards.length; i++) {
+            long busy = shards[i].getBusyNanos();
+            utilization[i] = Math.min(1.0, (double) (busy - busyAtLastSample[i]) / wall);
+            busyAtLastSample[i] = busy;
+        }
+        lastSampleNanos = now;
+    }
+
+    /**
+     * Moves at most one symbol per round, and never while a previous move is still draining.
+     * Only the symbol's producer can carry a move out, so a request for a symbol that stopped
+     * trading is dropped after {@value #PENDING_MOVE_ROUNDS} rounds instead of blocking
+     * rebalancing forever.
+     */
+    private void rebalance() {
+        long[] load = new long[shards.length];
+        SymbolRoute[] hottest = new SymbolRoute[shards.length];
+        long[] hottestDelta = new long[shards.length];
+        int[] symbolsOnShard = new int[shards.length];
+
+        for (SymbolRoute route : routes.values()) {
+            if (route.gated) return;
+            if (route.pendingShard >= 0) {
+                if (++route.pendingRounds >= PENDING_MOVE_ROUNDS) {
+                    route.pendingShard = -1;
+                    logger.debug("🔀 REBALANCE: [{}] idle, move to shard dropped", route.symbol);
+                }
+                return;
+            }
+        }
+
+        for (SymbolRoute route : routes.values()) {
+            long published = route.published;
+            long delta = published - route.publishedAtLastRebalance;
+            route.publishedAtLastRebalance = published;
+
+            int s = route.shard;
+            load[s] += delta;
+            symbolsOnShard[s]++;
+            if (hottest[s] == null || delta > hottestDelta[s]) {
+                hottest[s] = route;
+                hottestDelta[s] = delta;
+            }
+        }
+
+        int busiest = 0;
+        int idlest = 0;
+        for (int i = 1; i < shards.length; i++) {
+            if (load[i] > load[busiest]) busiest = i;
+            if (load[i] < load[idlest]) idlest = i;
+        }
+
+        if (busiest == idlest || symbolsOnShard[busiest] < 2) return;
+        if (utilization[busiest] < REBALANCE_MIN_UTILIZATION) return;
+        if (load[busiest] < REBALANCE_IMBALANCE * Math.max(1, load[idlest])) return;
+        // Moving a symbol hotter than the gap would just swap which shard is overloaded
+        if (hottestDelta[busiest] >= load[busiest] - load[idlest]) return;
+
+        hottest[busiest].pendingRounds = 0;
+        hottest[busiest].pendingShard = idlest;
+    }
+
+    // --- Monitoring ---
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * @param symbol The trading pair symbol.
+     * @return The shard currently owning the symbol, or -1 if it has not been seen yet.
+     */
+    public int shardOf(String symbol) {
+        SymbolRoute route = routes.get(symbol);
+        return route == null ? -1 : route.shard;
+    }
+
+    /** @return Events queued but not yet delivered on the shard. */
+    public long getQueueDepth(int shard) {
+        return shards[shard].getQueueDepth();
+    }
+
+    /** @return Fraction of wall time the shard spent delivering events during the last sample period. */
+    public double getUtilization(int shard) {
+        return utilization[shard];
+    }
+
+    /** @return Number of symbols moved between shards since startup. */
+    public long getMigrations() {
+        return migrations.get();
+    }
+
+    /** @return Total events delivered by the shard. */
+    public long getProcessed(int shard) {
+        return shards[shard].getProcessed();
+    }
+
+    /**
+     * Stops the monitor and the shard threads. Queued events that were not yet delivered are dropped.
+     */
+    @Override
+    public void close() {
+        monitor.shutdownNow();
+        for (ShardLoop shard : shards) {
+            shard.stop();
+        }
+        for (Thread t : threads) {
+            if (t == null) continue;
+            try {
+                t.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static int[] parseCpuHints(String value) {
+        if (value == null || value.isBlank()) return new int[0];
+        return Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
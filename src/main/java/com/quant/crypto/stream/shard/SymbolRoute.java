@@ -0,0 +1,45 @@
+package com.quant.crypto.stream.shard;
+
+/**
+ * Routing state of one symbol inside the {@link ShardedDispatcher}.
+ * <p>
+ * A symbol is owned by exactly one shard at a time. Migration to another shard is requested by
+ * the rebalancer ({@link #pendingShard}) and carried out by the symbol's producer on its next
+ * publish: a drain marker is queued on the old shard, the route is switched, and the new shard
+ * parks the symbol's events until the old shard has processed the marker ({@link #drained}).
+ * The new shard then delivers the parked events in order and opens the gate ({@link #gated}).
+ * This keeps per-symbol ordering and a single writer without any locks.
+ */
+final class SymbolRoute {
+
+    final String symbol;
+
+    /** Shard currently receiving this symbol's events. */
+    volatile int shard;
+
+    /** Shard the rebalancer wants this symbol moved to, or -1. */
+    volatile int pendingShard = -1;
+
+    /** Rebalance rounds {@link #pendingShard} has been waiting for a publish (monitor bookkeeping). */
+    int pendingRounds;
+
+    /** Previous owner that still has queued events for this symbol, or -1. */
+    volatile int drainingShard = -1;
+
+    /** Set by {@link #drainingShard} when it reaches the drain marker. */
+    volatile boolean drained;
+
+    /** True from the switch until the new shard has delivered every event it parked meanwhile. */
+    volatile boolean gated;
+
+    /** Events published for this symbol; written by the symbol's single producer only. */
+    volatile long published;
+
+    /** Value of {@link #published} at the last rebalance; touched by the rebalancer only. */
+    long publishedAtLastRebalance;
+
+    SymbolRoute(String symbol, int shard) {
+        this.symbol = symbol;
+        this.shard = shard;
+    }
+}
@@ -0,0 +1,186 @@
+package com.quant.crypto.stream.ticker;
+
+import com.quant.crypto.util.ConfigManager;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latest 24h ticker state of every symbol on the exchange, stored as a struct of arrays
+ * (one primitive column per field, row = interned symbol id).
+ * <p>
+ * There is a single writer (the ticker stream's decoder); any number of readers may run
+ * concurrently without locks. Consistency is provided by two seqlocks:
+ * <ul>
+ *   <li>a per-row sequence, so {@link #readRow(int, TickerRow)} never waits for a whole frame;</li>
+ *   <li>a frame sequence, so {@link #snapshot(TickerSnapshot)} copies the table as of a
+ *       complete frame (the writer holds it only while applying one array frame).</li>
+ * </ul>
+ * Readers retry when a sequence was odd or changed while they copied.
+ */
+public class MarketTickerTable {
+
+    private final SymbolTable symbols;
+    private final double[][] columns;
+    private final long[] eventTimes;
+    private final long[] tradeCounts;
+    private final AtomicLongArray rowSeq;
+    private final AtomicLong frameSeq = new AtomicLong();
+    private volatile long lastFrameTime;
+
+    /**
+     * Creates a table sized from 'application.properties' ('ticker.max.symbols').
+     */
+    public MarketTickerTable() {
+        this(Integer.parseInt(ConfigManager.getProperty("ticker.max.symbols", "4096")));
+    }
+
+    /**
+     * @param capacity Maximum number of symbols; further symbols are ignored.
+     */
+    public MarketTickerTable(int capacity) {
+        this.symbols = new SymbolTable(capacity);
+        this.columns = new double[TickerField.COUNT][capacity];
+        for (double[] column : columns) {
+            Arrays.fill(column, Double.NaN);
+        }
+        this.eventTimes = new long[capacity];
+        this.tradeCounts = new long[capacity];
+        this.rowSeq = new AtomicLongArray(capacity);
+    }
+
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * @return Number of symbols seen so far.
+     */
+    public int size() {
+        return symbols.size();
+    }
+
+    /**
+     * @return Event time of the last applied frame (epoch millis).
+     */
+    public long getLastFrameTime() {
+        return lastFrameTime;
+    }
+
+    /**
+     * @return Number of frames applied so far.
+     */
+    public long getVersion() {
+        return frameSeq.get() >>> 1;
+    }
+
+    // --- Writer side (single thread) ---
+
+    void beginFrame() {
+        frameSeq.setOpaque(frameSeq.getPlain() + 1);
+        VarHandle.storeStoreFence();
+    }
+
+    void endFrame(long frameTime) {
+        lastFrameTime = frameTime;
+        frameSeq.setRelease(frameSeq.getPlain() + 1);
+    }
+
+    /**
+     * Applies one decoded row. Columns whose bit is clear in {@code presentMask} keep their value.
+     *
+     * @param values      Decoded values indexed by {@link TickerField#ordinal()}.
+     * @param presentMask Bit {@code i} set when {@code values[i]} was present in the payload.
+     */
+    void update(int id, long eventTime, long tradeCount, double[] values, int presentMask) {
+        long seq = rowSeq.getPlain(id);
+        rowSeq.setOpaque(id, seq + 1);
+        VarHandle.storeStoreFence();
+
+        eventTimes[id] = eventTime;
+        if (tradeCount >= 0) tradeCounts[id] = tradeCount;
+        for (int mask = presentMask; mask != 0; mask &= mask - 1) {
+            int field = Integer.numberOfTrailingZeros(mask);
+            columns[field][id] = values[field];
+        }
+
+        rowSeq.setRelease(id, seq + 2);
+    }
+
+    // --- Reader side (any thread) ---
+
+    /**
+     * Copies one symbol's row without blocking the writer.
+     *
+     * @param id   The symbol id (see {@link SymbolTable#idOf(String)}).
+     * @param into The holder to fill.
+     * @return false if the id is unknown.
+     */
+    public boolean readRow(int id, TickerRow into) {
+        if (id < 0 || id >= symbols.size()) return false;
+        while (true) {
+            long before = rowSeq.getAcquire(id);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            into.eventTime = eventTimes[id];
+            into.tradeCount = tradeCounts[id];
+            for (int f = 0; f < TickerField.COUNT; f++) {
+                into.values[f] = columns[f][id];
+            }
+            VarHandle.loadLoadFence();
+            if (rowSeq.getOpaque(id) == before) break;
+        }
+        into.symbolId = id;
+        into.symbol = symbols.nameOf(id);
+        return true;
+    }
+
+    /**
+     * Copies one symbol's row by name.
+     *
+     * @return false if the symbol has not been seen yet.
+     */
+    public boolean readRow(String symbol, TickerRow into) {
+        return readRow(symbols.idOf(symbol), into);
+    }
+
+    /**
+     * @return A snapshot holder sized for this table, to be reused with {@link #snapshot(TickerSnapshot)}.
+     */
+    public TickerSnapshot newSnapshot() {
+        return new TickerSnapshot(symbols);
+    }
+
+    /**
+     * Copies every row as of the last complete frame. Only bulk array copies happen inside the
+     * critical window; if a frame lands meanwhile, the copy is retried.
+     *
+     * @param into A holder from {@link #newSnapshot()}.
+     * @return The same holder, for chaining.
+     */
+    public TickerSnapshot snapshot(TickerSnapshot into) {
+        while (true) {
+            long before = frameSeq.getAcquire();
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int n = symbols.size();
+            for (int f = 0; f < TickerField.COUNT; f++) {
+                System.arraycopy(columns[f], 0, into.columns[f], 0, n);
+            }
+            System.arraycopy(eventTimes, 0, into.eventTimes, 0, n);
+            System.arraycopy(tradeCounts, 0, into.tradeCounts, 0, n);
+            VarHandle.loadLoadFence();
+            if (frameSeq.getOpaque() == before) {
+                into.size = n;
+                into.version = before >>> 1;
+                return into;
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.quant.crypto.stream.ticker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns symbol names to dense integer ids (0, 1, 2, ...) used as row numbers in the
+ * ticker table.
+ * <p>
+ * The writer interns straight from the frame text through a char-keyed open-addressing
+ * table, so a symbol seen before costs a hash and a compare and no {@link String} is created.
+ * Readers look ids up by name through a concurrent map. Ids are never reused.
+ */
+public final class SymbolTable {
+
+    private final int capacity;
+    private final String[] names;
+    private final int[] slots; // id + 1, 0 = empty
+    private final int slotMask;
+    private final Map<String, Integer> byName = new ConcurrentHashMap<>();
+    private volatile int size;
+
+    /**
+     * @param capacity Maximum number of distinct symbols.
+     */
+    public SymbolTable(int capacity) {
+        this.capacity = capacity;
+        this.names = new String[capacity];
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        this.slots = new int[tableSize];
+        this.slotMask = tableSize - 1;
+    }
+
+    /**
+     * Returns the id of the symbol in {@code text[start, end)}, assigning the next free id
+     * on first sight. Must only be called by the single writer thread.
+     *
+     * @return The symbol id, or -1 if the table is full.
+     */
+    int intern(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        int slot = mix(hash) & slotMask;
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0) break;
+            if (matches(names[entry - 1], text, start, end)) return entry - 1;
+            slot = (slot + 1) & slotMask;
+        }
+        int id = size;
+        if (id >= capacity) return -1;
+
+        String name = text.subSequence(start, end).toString();
+        names[id] = name;
+        slots[slot] = id + 1;
+        byName.put(name, id);
+        size = id + 1; // volatile write publishes the name
+        return id;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(String name, CharSequence text, int start, int end) {
+        if (name.length() != end - start) return false;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != text.charAt(start + i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param symbol The trading pair (e.g., "BTCUSDT").
+     * @return The symbol id, or -1 if the symbol has not been seen yet.
+     */
+    public int idOf(String symbol) {
+        Integer id = byName.get(symbol.toUpperCase());
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id A symbol id below {@link #size()}.
+     * @return The symbol name.
+     */
+    public String nameOf(int id) {
+        if (id < 0 || id >= size) throw new IndexOutOfBoundsException("Unknown symbol id: " + id);
+        return names[id];
+    }
+
+    /**
+     * @return Number of interned symbols; ids are {@code 0 .. size() - 1}.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,54 @@
+package com.quant.crypto.stream.ticker;
+
+import java.util.Arrays;
+
+/**
+ * Decimal columns of the all-market ticker table, keyed by their single-letter field name
+ * in Binance's {@code 24hrMiniTicker} / {@code 24hrTicker} payloads.
+ * <p>
+ * The mini ticker only carries the OHLC and volume fields; the remaining columns are filled
+ * by the full {@code !ticker@arr} stream and stay {@code NaN} otherwise.
+ */
+public enum TickerField {
+    CLOSE('c'),
+    OPEN('o'),
+    HIGH('h'),
+    LOW('l'),
+    BASE_VOLUME('v'),
+    QUOTE_VOLUME('q'),
+    PRICE_CHANGE_PERCENT('P'),
+    BEST_BID('b'),
+    BEST_BID_QTY('B'),
+    BEST_ASK('a'),
+    BEST_ASK_QTY('A');
+
+    static final TickerField[] VALUES = values();
+    static final int COUNT = VALUES.length;
+
+    /** Column index by JSON key character, or -1 for keys that are not stored. */
+    private static final int[] BY_KEY = new int[128];
+
+    static {
+        Arrays.fill(BY_KEY, -1);
+        for (TickerField field : VALUES) {
+            BY_KEY[field.key] = field.ordinal();
+        }
+    }
+
+    private final char key;
+
+    TickerField(char key) {
+        this.key = key;
+    }
+
+    /**
+     * @return The JSON field name in the ticker payload.
+     */
+    public char getKey() {
+        return key;
+    }
+
+    static int indexOf(char key) {
+        return key < 128 ? BY_KEY[key] : -1;
+    }
+}
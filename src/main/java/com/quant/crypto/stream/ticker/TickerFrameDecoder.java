@@ -0,0 +1,405 @@
+package com.quant.crypto.stream.ticker;
+
+/**
+ * Single-pass decoder for all-market ticker frames ({@code !miniTicker@arr}, {@code !ticker@arr})
+ * that writes straight into a {@link MarketTickerTable}.
+ * <p>
+ * The frame is scanned in place as a {@link CharSequence} (the WebSocket buffer can be passed
+ * without copying). Symbols are interned from the raw characters and decimal strings of up to 18
+ * significant digits (Binance's 8-decimal padding included) are parsed without creating
+ * {@link String}s, so a steady-state frame allocates nothing. Accepted shapes are
+ * a raw array of ticker objects, a combined-stream wrapper ({@code {"stream":..,"data":[..]}})
+ * and a single ticker object.
+ * <p>
+ * Not thread-safe: one decoder per table, used by the table's single writer.
+ */
+public final class TickerFrameDecoder {
+
+    private static final double[] POW10 = new double[23];
+
+    private static final long[] POW5 = new long[POW10.length];
+
+    /** Every integer up to 2^53 converts to a double exactly. */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /** Largest mantissa that can take another decimal digit without overflowing a long. */
+    private static final long MAX_MANTISSA_BEFORE_DIGIT = (Long.MAX_VALUE - 9) / 10;
+
+    static {
+        POW10[0] = 1;
+        POW5[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+            POW5[i] = POW5[i - 1] * 5;
+        }
+    }
+
+    private final MarketTickerTable table;
+    private final SymbolTable symbols;
+
+    // Scanner state
+    private CharSequence text;
+    private int pos;
+    private int end;
+
+    // Current row scratch
+    private final double[] values = new double[TickerField.COUNT];
+    private int present;
+    private int symbolId;
+    private long eventTime;
+    private long tradeCount;
+
+    // Frame results
+    private int rows;
+    private int rejected;
+    private long frameTime;
+
+    public TickerFrameDecoder(MarketTickerTable table) {
+        this.table = table;
+        this.symbols = table.getSymbols();
+    }
+
+    /**
+     * Decodes one frame and applies it to the table as a single atomic frame.
+     *
+     * @param frame The complete WebSocket text message.
+     * @return Number of rows updated.
+     * @throws IllegalArgumentException if the frame is not valid ticker JSON. Rows decoded
+     *                                  before the error remain applied.
+     */
+    public int decode(CharSequence frame) {
+        text = frame;
+        pos = 0;
+        end = frame.length();
+        rows = 0;
+        rejected = 0;
+        frameTime = table.getLastFrameTime();
+
+        table.beginFrame();
+        try {
+            skipWhitespace();
+            char c = peek();
+            if (c == '[') {
+                parseArray();
+            } else if (c == '{') {
+                parseObject();
+            } else {
+                throw malformed("expected '[' or '{'");
+            }
+            return rows;
+        } finally {
+            table.endFrame(frameTime);
+            text = null;
+        }
+    }
+
+    /**
+     * @return Rows of the last frame ignored because the symbol table was full.
+     */
+    public int getRejected() {
+        return rejected;
+    }
+
+    private void parseArray() {
+        expect('[');
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return;
+        }
+        while (true) {
+            skipWhitespace();
+            parseObject();
+            skipWhitespace();
+            char c = next();
+            if (c == ']') return;
+            if (c != ',') throw malformed("expected ',' or ']'");
+        }
+    }
+
+    private void parseObject() {
+        expect('{');
+        resetRow();
+        boolean hasSymbol = false;
+        boolean wrapper = false;
+
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return;
+        }
+        while (true) {
+            skipWhitespace();
+            expect('"');
+            int keyStart = pos;
+            int keyEnd = scanString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+
+            int keyLength = keyEnd - keyStart;
+            if (keyLength == 1) {
+                char key = text.charAt(keyStart);
+                if (key == 's') {
+                    expect('"');
+                    int start = pos;
+                    symbolId = symbols.intern(text, start, scanString());
+                    hasSymbol = true;
+                } else if (key == 'E') {
+                    eventTime = parseLongToken();
+                } else if (key == 'n') {
+                    tradeCount = parseLongToken();
+                } else {
+                    int field = TickerField.indexOf(key);
+                    if (field >= 0) {
+                        values[field] = parseDecimalToken();
+                        present |= 1 << field;
+                    } else {
+                        skipValue();
+                    }
+                }
+            } else if (keyLength == 4 && regionEquals(keyStart, "data")) {
+                // Combined-stream wrapper: the payload is nested
+                wrapper = true;
+                if (peek() == '[') {
+                    parseArray();
+                } else {
+                    parseObject();
+                }
+            } else {
+                skipValue();
+            }
+
+            skipWhitespace();
+            char c = next();
+            if (c == '}') break;
+            if (c != ',') throw malformed("expected ',' or '}'");
+        }
+
+        if (wrapper || !hasSymbol) return;
+        if (symbolId < 0) {
+            rejected++;
+            return;
+        }
+        table.update(symbolId, eventTime, tradeCount, values, present);
+        if (eventTime > frameTime) frameTime = eventTime;
+        rows++;
+    }
+
+    private void resetRow() {
+        present = 0;
+        symbolId = -1;
+        eventTime = 0;
+        tradeCount = -1;
+    }
+
+    // --- Token scanning ---
+
+    /**
+     * Scans to the closing quote of a string whose opening quote was consumed.
+     * @return The index of the closing quote; {@code pos} is moved past it.
+     */
+    private int scanString() {
+        while (pos < end) {
+            char c = text.charAt(pos);
+            if (c == '"') {
+                return pos++;
+            }
+            pos += c == '\\' ? 2 : 1;
+        }
+        throw malformed("unterminated string");
+    }
+
+    private int scanBareToken() {
+        int start = pos;
+        while (pos < end) {
+            char c = text.charAt(pos);
+            if (c == ',' || c == '}' || c == ']' || c <= ' ') break;
+            pos++;
+        }
+        if (pos == start) throw malformed("expected a value");
+        return start;
+    }
+
+    private long parseLongToken() {
+        boolean quoted = peek() == '"';
+        int start;
+        int stop;
+        if (quoted) {
+            pos++;
+            start = pos;
+            stop = scanString();
+        } else {
+            start = scanBareToken();
+            stop = pos;
+        }
+        boolean negative = text.charAt(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == stop) throw malformed("expected an integer");
+        long value = 0;
+        for (; i < stop; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') throw malformed("expected an integer");
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private double parseDecimalToken() {
+        int start;
+        int stop;
+        if (peek() == '"') {
+            pos++;
+            start = pos;
+            stop = scanString();
+        } else {
+            start = scanBareToken();
+            stop = pos;
+        }
+        return parseDecimal(start, stop);
+    }
+
+    /**
+     * Parses a plain decimal ("95123.45", "-0.00012") into the correctly rounded double without
+     * allocating. Trailing fractional zeros (Binance pads to 8 decimals) are dropped. When the
+     * remaining digits fit in a double's 53-bit mantissa, an exact integer divided by an exact
+     * power of ten (up to 10^22) is rounded once, correctly; longer mantissas up to 2^63, such as
+     * the 17-18 significant digits of an active pair's quote volume, go through
+     * {@link #divideRounded}. Only wider numbers fall back to the JDK parser.
+     */
+    private double parseDecimal(int start, int stop) {
+        int i = start;
+        boolean negative = i < stop && text.charAt(i) == '-';
+        if (negative) i++;
+
+        long mantissa = 0;
+        int scale = 0;
+        int pendingZeros = 0;
+        boolean fraction = false;
+        boolean any = false;
+        for (; i < stop; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                any = true;
+                if (mantissa == 0 && c == '0') {
+                    if (fraction) scale++;
+                    continue;
+                }
+                if (fraction && c == '0') {
+                    // Only matters if a non-zero digit follows
+                    pendingZeros++;
+                    continue;
+                }
+                for (; pendingZeros > 0; pendingZeros--) {
+                    if (mantissa > MAX_MANTISSA_BEFORE_DIGIT) return parseSlow(start, stop);
+                    mantissa *= 10;
+                    scale++;
+                }
+                if (mantissa > MAX_MANTISSA_BEFORE_DIGIT) return parseSlow(start, stop);
+                mantissa = mantissa * 10 + (c - '0');
+                if (fraction) scale++;
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                return parseSlow(start, stop);
+            }
+        }
+        if (!any) throw malformed("expected a number");
+        if (scale >= POW10.length) return parseSlow(start, stop);
+        double value = mantissa <= MAX_EXACT_MANTISSA ? mantissa / POW10[scale] : divideRounded(mantissa, scale);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Correctly rounded {@code mantissa / 10^scale} for {@code 2^53 < mantissa < 2^63} and
+     * {@code scale <= 22}, in integer arithmetic.
+     * <p>
+     * 10^scale is 5^scale * 2^scale, and 5^22 still fits in 52 bits, so the division by 5^scale
+     * is carried out exactly: the quotient is extended bit by bit until it holds at least 55
+     * significant bits, the remainder becomes a sticky bit, and the result is rounded to 53 bits
+     * (half to even) before the powers of two are applied with an exact {@link Math#scalb}.
+     */
+    private static double divideRounded(long mantissa, int scale) {
+        long divisor = POW5[scale];
+        long quotient = mantissa / divisor;
+        long remainder = mantissa % divisor;
+        int exponent = -scale;
+        while (quotient < 1L << 54) {
+            // remainder < divisor < 2^52, so an 11-bit shift cannot overflow
+            int shift = Math.min(11, Long.numberOfLeadingZeros(quotient) - 9);
+            long shifted = remainder << shift;
+            quotient = (quotient << shift) + shifted / divisor;
+            remainder = shifted % divisor;
+            exponent -= shift;
+        }
+        int extra = 64 - Long.numberOfLeadingZeros(quotient) - 53;
+        long half = 1L << (extra - 1);
+        long low = quotient & ((1L << extra) - 1);
+        long rounded = quotient >>> extra;
+        if (low > half || (low == half && (remainder != 0 || (rounded & 1) != 0))) {
+            rounded++;
+        }
+        return Math.scalb((double) rounded, exponent + extra);
+    }
+
+    private double parseSlow(int start, int stop) {
+        try {
+            return Double.parseDouble(text.subSequence(start, stop).toString());
+        } catch (NumberFormatException e) {
+            throw malformed("invalid number");
+        }
+    }
+
+    private void skipValue() {
+        char c = peek();
+        if (c == '"') {
+            pos++;
+            scanString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            while (pos < end) {
+                char d = text.charAt(pos++);
+                if (d == '"') {
+                    scanString();
+                } else if (d == '{' || d == '[') {
+                    depth++;
+                } else if ((d == '}' || d == ']') && --depth == 0) {
+                    return;
+                }
+            }
+            throw malformed("unterminated value");
+        } else {
+            scanBareToken();
+        }
+    }
+
+    private boolean regionEquals(int start, String expected) {
+        for (int i = 0; i < expected.length(); i++) {
+            if (text.charAt(start + i) != expected.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && text.charAt(pos) <= ' ') pos++;
+    }
+
+    private char peek() {
+        if (pos >= end) throw malformed("unexpected end of frame");
+        return text.charAt(pos);
+    }
+
+    private char next() {
+        char c = peek();
+        pos++;
+        return c;
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) throw malformed("expected '" + expected + "'");
+    }
+
+    private IllegalArgumentException malformed(String reason) {
+        return new IllegalArgumentException("Malformed ticker frame at offset " + pos + ": " + reason);
+    }
+}
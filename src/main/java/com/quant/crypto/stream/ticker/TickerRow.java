@@ -0,0 +1,58 @@
+package com.quant.crypto.stream.ticker;
+
+import java.util.Arrays;
+
+/**
+ * Reusable holder for a consistent copy of one ticker row.
+ * Filled by {@link MarketTickerTable#readRow(int, TickerRow)}; keep one per reader thread.
+ */
+public final class TickerRow {
+
+    int symbolId = -1;
+    String symbol;
+    long eventTime;
+    long tradeCount;
+    final double[] values = new double[TickerField.COUNT];
+
+    public TickerRow() {
+        Arrays.fill(values, Double.NaN);
+    }
+
+    public int getSymbolId() {
+        return symbolId;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * @return Exchange event time of the last update (epoch millis).
+     */
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    /**
+     * @return 24h trade count (full ticker only, 0 otherwise).
+     */
+    public long getTradeCount() {
+        return tradeCount;
+    }
+
+    /**
+     * @return The column value, or {@code NaN} if the stream does not carry it.
+     */
+    public double get(TickerField field) {
+        return values[field.ordinal()];
+    }
+
+    public double getClose() {
+        return values[TickerField.CLOSE.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return symbol + " @ " + getClose() + " (" + eventTime + ")";
+    }
+}
@@ -0,0 +1,63 @@
+package com.quant.crypto.stream.ticker;
+
+/**
+ * Reusable struct-of-arrays copy of the whole ticker table as of one complete frame.
+ * <p>
+ * Filled by {@link MarketTickerTable#snapshot(TickerSnapshot)}. Scans should iterate a
+ * column directly, e.g. {@code double[] close = snapshot.column(TickerField.CLOSE)} for
+ * {@code i < snapshot.size()}; the arrays are reused by the next refresh.
+ */
+public final class TickerSnapshot {
+
+    private final SymbolTable symbols;
+    final double[][] columns;
+    final long[] eventTimes;
+    final long[] tradeCounts;
+    int size;
+    long version;
+
+    TickerSnapshot(SymbolTable symbols) {
+        int capacity = symbols.getCapacity();
+        this.symbols = symbols;
+        this.columns = new double[TickerField.COUNT][capacity];
+        this.eventTimes = new long[capacity];
+        this.tradeCounts = new long[capacity];
+    }
+
+    /**
+     * @return Number of rows; row {@code i} belongs to symbol id {@code i}.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The table's frame counter when the snapshot was taken.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public String symbol(int row) {
+        return symbols.nameOf(row);
+    }
+
+    public double get(int row, TickerField field) {
+        return columns[field.ordinal()][row];
+    }
+
+    public long eventTime(int row) {
+        return eventTimes[row];
+    }
+
+    public long tradeCount(int row) {
+        return tradeCounts[row];
+    }
+
+    /**
+     * @return The backing column; only the first {@link #size()} entries are valid. Do not modify.
+     */
+    public double[] column(TickerField field) {
+        return columns[field.ordinal()];
+    }
+}
@@ -0,0 +1,50 @@
+package com.quant.crypto.userdata;
+
+/**
+ * Immutable balance of one asset, as last reported by an {@code outboundAccountPosition} event.
+ */
+public class Balance {
+
+    private final String asset;
+    private final double free;
+    private final double locked;
+    private final long updateTime;
+
+    /**
+     * @param asset      The asset (e.g., "USDT").
+     * @param free       Amount available for new orders.
+     * @param locked     Amount reserved by open orders.
+     * @param updateTime Time of the account update (in milliseconds).
+     */
+    public Balance(String asset, double free, double locked, long updateTime) {
+        this.asset = asset;
+        this.free = free;
+        this.locked = locked;
+        this.updateTime = updateTime;
+    }
+
+    public String getAsset() {
+        return asset;
+    }
+
+    public double getFree() {
+        return free;
+    }
+
+    public double getLocked() {
+        return locked;
+    }
+
+    public double getTotal() {
+        return free + locked;
+    }
+
+    public long getUpdateTime() {
+        return updateTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s free=%.8f locked=%.8f", asset, free, locked);
+    }
+}
@@ -0,0 +1,113 @@
+package com.quant.crypto.userdata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quant.crypto.exception.BinanceApiException;
+import com.quant.crypto.metrics.RestMetrics;
+import com.quant.crypto.model.BinanceError;
+import com.quant.crypto.util.ConfigManager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * REST management of a spot user data stream's listenKey ({@code /api/v3/userDataStream}).
+ * <p>
+ * A listenKey expires 60 minutes after its last keepalive. Creating a key while one is
+ * active returns the same key and extends its validity, so {@link #create()} is also safe to
+ * call on every reconnect.
+ */
+public class ListenKeyService {
+
+    /** Binance error code for an unknown or expired listenKey. */
+    public static final int UNKNOWN_LISTEN_KEY = -1125;
+
+    private static final String ENDPOINT = "/api/v3/userDataStream";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String apiKey;
+
+    /**
+     * Creates a service for the account configured in 'application.properties'
+     * ('api.testnet.base.url', 'api.key'), the same one orders are placed on.
+     *
+     * @throws RuntimeException if the API key is missing.
+     */
+    public ListenKeyService() {
+        this(ConfigManager.getProperty("api.testnet.base.url", "https://testnet.binance.vision"),
+                ConfigManager.get("api.key"));
+    }
+
+    public ListenKeyService(String baseUrl, String apiKey) {
+        if (apiKey == null) {
+            throw new RuntimeException("❌ Property 'api.key' is missing!");
+        }
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Opens a user data stream (or extends the active one).
+     *
+     * @return The listenKey to append to the WebSocket base URL.
+     */
+    public String create() throws IOException, InterruptedException {
+        String body = send("POST", "");
+        return mapper.readTree(body).get("listenKey").asText();
+    }
+
+    /**
+     * Extends the key's validity by 60 minutes.
+     *
+     * @throws BinanceApiException with code {@link #UNKNOWN_LISTEN_KEY} if the key has expired.
+     */
+    public void keepAlive(String listenKey) throws IOException, InterruptedException {
+        send("PUT", "?listenKey=" + listenKey);
+    }
+
+    /**
+     * Closes the stream; the exchange disconnects the socket.
+     */
+    public void close(String listenKey) throws IOException, InterruptedException {
+        send("DELETE", "?listenKey=" + listenKey);
+    }
+
+    private String send(String method, String query) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + ENDPOINT + query))
+                .header("X-MBX-APIKEY", apiKey)
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            RestMetrics.recordFailure(ENDPOINT);
+            throw e;
+        }
+        RestMetrics.record(ENDPOINT, response, start);
+
+        if (response.statusCode() != 200) {
+            BinanceError error = null;
+            try {
+                error = mapper.readValue(response.body(), BinanceError.class);
+            } catch (Exception ignored) {
+                // Not a JSON error payload
+            }
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(0);
+            throw new BinanceApiException(response.statusCode(), error, retryAfter);
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,108 @@
+package com.quant.crypto.userdata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quant.crypto.exception.BinanceApiException;
+import com.quant.crypto.metrics.RestMetrics;
+import com.quant.crypto.model.BinanceError;
+import com.quant.crypto.util.ConfigManager;
+import com.quant.crypto.util.SignatureUtil;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Signed REST queries of this account's orders, used to re-sync the {@link OrderStateCache}
+ * after the user data stream was down.
+ * <p>
+ * Both calls are rare (once per reconnect) and heavy in request weight: {@code openOrders}
+ * without a symbol costs 80, so they must not be used for routine status checks.
+ */
+public class OrderQueryService {
+
+    /** Binance error code for an order the exchange no longer knows (e.g. archived). */
+    public static final int NO_SUCH_ORDER = -2013;
+
+    private static final String OPEN_ORDERS_ENDPOINT = "/api/v3/openOrders";
+    private static final String ORDER_ENDPOINT = "/api/v3/order";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String apiKey;
+    private final String apiSecret;
+
+    /**
+     * Creates a service for the account configured in 'application.properties'
+     * ('api.testnet.base.url', 'api.key', 'api.secret'), the same one orders are placed on.
+     *
+     * @throws RuntimeException if the API credentials are missing.
+     */
+    public OrderQueryService() {
+        this(ConfigManager.getProperty("api.testnet.base.url", "https://testnet.binance.vision"),
+                ConfigManager.get("api.key"), ConfigManager.get("api.secret"));
+    }
+
+    public OrderQueryService(String baseUrl, String apiKey, String apiSecret) {
+        if (apiKey == null || apiSecret == null) {
+            throw new RuntimeException("❌ Properties 'api.key' and 'api.secret' are required!");
+        }
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.apiSecret = apiSecret;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * @return The JSON array of every open order of the account, across all symbols.
+     */
+    public String openOrders() throws IOException, InterruptedException {
+        return send(OPEN_ORDERS_ENDPOINT, "");
+    }
+
+    /**
+     * @return The JSON state of one order.
+     * @throws BinanceApiException with code {@link #NO_SUCH_ORDER} if the exchange does not know it.
+     */
+    public String order(String symbol, long orderId) throws IOException, InterruptedException {
+        return send(ORDER_ENDPOINT, "symbol=" + symbol + "&orderId=" + orderId + "&");
+    }
+
+    private String send(String endpoint, String params) throws IOException, InterruptedException {
+        String query = params + "timestamp=" + System.currentTimeMillis() + "&recvWindow=5000";
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + endpoint + "?" + query
+                        + "&signature=" + SignatureUtil.getSignature(query, apiSecret)))
+                .header("X-MBX-APIKEY", apiKey)
+                .GET()
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            RestMetrics.recordFailure(endpoint);
+            throw e;
+        }
+        RestMetrics.record(endpoint, response, start);
+
+        if (response.statusCode() != 200) {
+            BinanceError error = null;
+            try {
+                error = mapper.readValue(response.body(), BinanceError.class);
+            } catch (Exception ignored) {
+                // Not a JSON error payload
+            }
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(0);
+            throw new BinanceApiException(response.statusCode(), error, retryAfter);
+        }
+        return response.body();
+    }
+}
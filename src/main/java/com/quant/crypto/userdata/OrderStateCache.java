@@ -0,0 +1,458 @@
+package com.quant.crypto.userdata;
+
+import com.quant.crypto.model.OrderVerification;
+import com.quant.crypto.model.enums.OrderSide;
+import com.quant.crypto.model.enums.OrderStatus;
+import com.quant.crypto.model.enums.OrderType;
+import com.quant.crypto.util.ConfigManager;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Live state of this account's orders and balances, fed by the user data stream.
+ * <p>
+ * Orders are stored as a struct of arrays (one primitive column per field, row = slot) and
+ * found through an open-addressing {@code long -> slot} index keyed by exchange order id, so
+ * a status check is a hash probe and a few array reads, with no boxing and no allocation.
+ * <p>
+ * There is a single writer (the stream's event decoder); readers never block. Like the
+ * ticker table, consistency comes from seqlocks: one per slot for the row contents and one
+ * for the index, which readers re-probe if it moved while they searched. When all slots are
+ * in use, the oldest slot holding a final (filled, canceled, ...) order is recycled.
+ * <p>
+ * While the stream is down the cache cannot see fills or cancels, so it is flagged stale
+ * ({@link #getStaleSince()}) until the stream client has re-synced it from REST.
+ */
+public class OrderStateCache {
+
+    private static final long EMPTY_KEY = 0;
+    private static final OrderSide[] SIDES = OrderSide.values();
+    private static final OrderType[] TYPES = OrderType.values();
+
+    private final int capacity;
+    private final long[] orderIds;
+    private final String[] symbols;
+    private final String[] clientOrderIds;
+    private final byte[] sides;
+    private final byte[] types;
+    private final byte[] statuses; // ordinal + 1, 0 = free slot
+    private final double[] prices;
+    private final double[] quantities;
+    private final double[] executedQuantities;
+    private final double[] cumulativeQuotes;
+    private final double[] lastFillPrices;
+    private final double[] lastFillQuantities;
+    private final long[] updateTimes;
+    private final AtomicLongArray slotSeq;
+
+    private final long[] indexKeys;
+    private final int[] indexSlots; // slot + 1, 0 = empty
+    private final int indexMask;
+    private final AtomicLong indexSeq = new AtomicLong();
+
+    private final Map<String, Balance> balances = new ConcurrentHashMap<>();
+
+    // Writer state
+    private int nextSlot;
+    private volatile int size;
+    private volatile int openOrders;
+    private long evictedOpen;
+
+    // Staleness (rare; guarded by this)
+    private volatile long staleSince;
+    private long staleEpoch;
+
+    /**
+     * Creates a cache sized from 'application.properties' ('userdata.order.capacity').
+     */
+    public OrderStateCache() {
+        this(Integer.parseInt(ConfigManager.getProperty("userdata.order.capacity", "65536")));
+    }
+
+    /**
+     * @param capacity Maximum number of orders kept.
+     */
+    public OrderStateCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.orderIds = new long[this.capacity];
+        this.symbols = new String[this.capacity];
+        this.clientOrderIds = new String[this.capacity];
+        this.sides = new byte[this.capacity];
+        this.types = new byte[this.capacity];
+        this.statuses = new byte[this.capacity];
+        this.prices = new double[this.capacity];
+        this.quantities = new double[this.capacity];
+        this.executedQuantities = new double[this.capacity];
+        this.cumulativeQuotes = new double[this.capacity];
+        this.lastFillPrices = new double[this.capacity];
+        this.lastFillQuantities = new double[this.capacity];
+        this.updateTimes = new long[this.capacity];
+        this.slotSeq = new AtomicLongArray(this.capacity);
+
+        int tableSize = Integer.highestOneBit(Math.max(2, this.capacity) * 2 - 1) << 1;
+        this.indexKeys = new long[tableSize];
+        this.indexSlots = new int[tableSize];
+        this.indexMask = tableSize - 1;
+    }
+
+    /**
+     * @return Number of orders currently cached.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Number of cached orders that can still trade.
+     */
+    public int getOpenOrderCount() {
+        return openOrders;
+    }
+
+    /**
+     * @return Open orders dropped because every slot held an open order (0 unless the capacity is too small).
+     */
+    public long getEvictedOpenOrders() {
+        return evictedOpen;
+    }
+
+    /**
+     * @return Wall-clock time (in milliseconds) since which updates may have been missed, or 0
+     *         if the cache is in sync with the exchange. Strategies should not act on the
+     *         cached state of an order while it is stale.
+     */
+    public long getStaleSince() {
+        return staleSince;
+    }
+
+    public boolean isStale() {
+        return staleSince != 0;
+    }
+
+    // --- Staleness (stream client) ---
+
+    /**
+     * Flags the cache as possibly missing updates from {@code time} on (kept if already stale).
+     */
+    synchronized void markStale(long time) {
+        if (staleSince == 0) staleSince = time;
+        staleEpoch++;
+    }
+
+    /**
+     * @return A token to pass to {@link #markFresh(long)}; read before a re-sync starts.
+     */
+    synchronized long getStaleEpoch() {
+        return staleEpoch;
+    }
+
+    /**
+     * Clears the stale flag after a re-sync, unless the stream dropped again since {@code epoch}.
+     *
+     * @return true if the cache is now in sync.
+     */
+    synchronized boolean markFresh(long epoch) {
+        if (epoch != staleEpoch) return false;
+        staleSince = 0;
+        return true;
+    }
+
+    // --- Writer side (single thread) ---
+
+    /**
+     * Inserts or overwrites the state of one order.
+     */
+    void apply(long orderId, String symbol, String clientOrderId, OrderSide side, OrderType type, OrderStatus status,
+               double price, double quantity, double executedQuantity, double cumulativeQuote,
+               double lastFillPrice, double lastFillQuantity, long updateTime) {
+        int slot = find(orderId);
+        boolean wasOpen = false;
+        if (slot < 0) {
+            slot = allocate();
+            indexInsert(orderId, slot);
+        } else {
+            wasOpen = !OrderStatus.ofOrdinal(statuses[slot] - 1).isFinal();
+        }
+
+        long seq = slotSeq.getPlain(slot);
+        slotSeq.setOpaque(slot, seq + 1);
+        VarHandle.storeStoreFence();
+
+        orderIds[slot] = orderId;
+        symbols[slot] = symbol;
+        clientOrderIds[slot] = clientOrderId;
+        sides[slot] = (byte) (side == null ? 0 : side.ordinal() + 1);
+        types[slot] = (byte) (type == null ? 0 : type.ordinal() + 1);
+        statuses[slot] = (byte) (status.ordinal() + 1);
+        prices[slot] = price;
+        quantities[slot] = quantity;
+        executedQuantities[slot] = executedQuantity;
+        cumulativeQuotes[slot] = cumulativeQuote;
+        lastFillPrices[slot] = lastFillPrice;
+        lastFillQuantities[slot] = lastFillQuantity;
+        updateTimes[slot] = updateTime;
+
+        slotSeq.setRelease(slot, seq + 2);
+
+        boolean isOpen = !status.isFinal();
+        if (isOpen != wasOpen) {
+            openOrders = openOrders + (isOpen ? 1 : -1);
+        }
+    }
+
+    /**
+     * Applies an order state queried over REST, unless the cache already holds a newer update
+     * of the order (a stream event that overtook the query).
+     *
+     * @return true if the state was applied.
+     */
+    boolean applySnapshot(long orderId, String symbol, String clientOrderId, OrderSide side, OrderType type,
+                          OrderStatus status, double price, double quantity, double executedQuantity,
+                          double cumulativeQuote, long updateTime) {
+        int slot = find(orderId);
+        double lastFillPrice = 0;
+        double lastFillQuantity = 0;
+        if (slot >= 0) {
+            if (updateTimes[slot] > updateTime) return false;
+            lastFillPrice = lastFillPrices[slot];
+            lastFillQuantity = lastFillQuantities[slot];
+        }
+        apply(orderId, symbol, clientOrderId, side, type, status, price, quantity, executedQuantity,
+                cumulativeQuote, lastFillPrice, lastFillQuantity, updateTime);
+        return true;
+    }
+
+    /**
+     * @return Copies of every cached order that can still trade.
+     */
+    List<OrderVerification> copyOpenOrders() {
+        List<OrderVerification> open = new ArrayList<>();
+        for (int slot = 0; slot < size; slot++) {
+            if (OrderStatus.ofOrdinal(statuses[slot] - 1).isFinal()) continue;
+            OrderVerification order = new OrderVerification();
+            if (read(orderIds[slot], order)) open.add(order);
+        }
+        return open;
+    }
+
+    /**
+     * Records an account balance from an {@code outboundAccountPosition} event.
+     */
+    void applyBalance(String asset, double free, double locked, long updateTime) {
+        balances.put(asset, new Balance(asset, free, locked, updateTime));
+    }
+
+    /**
+     * Picks a slot for a new order: a free one while the cache fills up, then the oldest
+     * final order, and only as a last resort the oldest open one.
+     */
+    private int allocate() {
+        if (size < capacity) {
+            size = size + 1;
+            return size - 1;
+        }
+        int victim = nextSlot;
+        for (int i = 0; i < capacity; i++) {
+            int candidate = (nextSlot + i) % capacity;
+            if (OrderStatus.ofOrdinal(statuses[candidate] - 1).isFinal()) {
+                victim = candidate;
+                break;
+            }
+        }
+        if (!OrderStatus.ofOrdinal(statuses[victim] - 1).isFinal()) {
+            evictedOpen++;
+            openOrders = openOrders - 1;
+        }
+        nextSlot = (victim + 1) % capacity;
+        indexRemove(orderIds[victim]);
+        return victim;
+    }
+
+    private int find(long orderId) {
+        int i = hash(orderId);
+        while (indexSlots[i] != 0) {
+            if (indexKeys[i] == orderId) return indexSlots[i] - 1;
+            i = (i + 1) & indexMask;
+        }
+        return -1;
+    }
+
+    private void indexInsert(long orderId, int slot) {
+        beginIndexUpdate();
+        int i = hash(orderId);
+        while (indexSlots[i] != 0) {
+            i = (i + 1) & indexMask;
+        }
+        indexKeys[i] = orderId;
+        indexSlots[i] = slot + 1;
+        endIndexUpdate();
+    }
+
+    /**
+     * Removes a key with backward-shift deletion, so probe chains stay intact without tombstones.
+     */
+    private void indexRemove(long orderId) {
+        int i = hash(orderId);
+        while (indexSlots[i] != 0 && indexKeys[i] != orderId) {
+            i = (i + 1) & indexMask;
+        }
+        if (indexSlots[i] == 0) return;
+
+        beginIndexUpdate();
+        int j = i;
+        while (true) {
+            j = (j + 1) & indexMask;
+            if (indexSlots[j] == 0) break;
+            int home = hash(indexKeys[j]);
+            boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!stays) {
+                indexKeys[i] = indexKeys[j];
+                indexSlots[i] = indexSlots[j];
+                i = j;
+            }
+        }
+        indexKeys[i] = EMPTY_KEY;
+        indexSlots[i] = 0;
+        endIndexUpdate();
+    }
+
+    private void beginIndexUpdate() {
+        indexSeq.setOpaque(indexSeq.getPlain() + 1);
+        VarHandle.storeStoreFence();
+    }
+
+    private void endIndexUpdate() {
+        indexSeq.setRelease(indexSeq.getPlain() + 1);
+    }
+
+    private int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & indexMask;
+    }
+
+    // --- Reader side (any thread) ---
+
+    /**
+     * Copies one order's state without blocking the writer.
+     *
+     * @param orderId The exchange order id.
+     * @param into    The holder to fill.
+     * @return false if the order is not (or no longer) cached.
+     */
+    public boolean read(long orderId, OrderVerification into) {
+        while (true) {
+            int slot = slotOf(orderId);
+            if (slot < 0) return false;
+
+            long before = slotSeq.getAcquire(slot);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long id = orderIds[slot];
+            String symbol = symbols[slot];
+            String clientOrderId = clientOrderIds[slot];
+            int side = sides[slot];
+            int type = types[slot];
+            int status = statuses[slot];
+            double price = prices[slot];
+            double quantity = quantities[slot];
+            double executed = executedQuantities[slot];
+            double cumulativeQuote = cumulativeQuotes[slot];
+            double lastFillPrice = lastFillPrices[slot];
+            double lastFillQuantity = lastFillQuantities[slot];
+            long updateTime = updateTimes[slot];
+            VarHandle.loadLoadFence();
+            if (slotSeq.getOpaque(slot) != before) continue;
+            if (id != orderId) continue; // slot recycled between lookup and copy
+
+            into.set(id, symbol, clientOrderId,
+                    side == 0 ? null : SIDES[side - 1],
+                    type == 0 ? null : TYPES[type - 1],
+                    OrderStatus.ofOrdinal(status - 1),
+                    price, quantity, executed, cumulativeQuote, lastFillPrice, lastFillQuantity, updateTime);
+            return true;
+        }
+    }
+
+    /**
+     * @return The order's current status, or null if it is not cached.
+     */
+    public OrderStatus getStatus(long orderId) {
+        while (true) {
+            int slot = slotOf(orderId);
+            if (slot < 0) return null;
+            long before = slotSeq.getAcquire(slot);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long id = orderIds[slot];
+            int status = statuses[slot];
+            VarHandle.loadLoadFence();
+            if (slotSeq.getOpaque(slot) == before && id == orderId) {
+                return OrderStatus.ofOrdinal(status - 1);
+            }
+        }
+    }
+
+    /**
+     * @return The order's cumulative filled quantity, or NaN if it is not cached.
+     */
+    public double getExecutedQuantity(long orderId) {
+        while (true) {
+            int slot = slotOf(orderId);
+            if (slot < 0) return Double.NaN;
+            long before = slotSeq.getAcquire(slot);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long id = orderIds[slot];
+            double executed = executedQuantities[slot];
+            VarHandle.loadLoadFence();
+            if (slotSeq.getOpaque(slot) == before && id == orderId) {
+                return executed;
+            }
+        }
+    }
+
+    /**
+     * @return The latest balance of the asset (e.g. "USDT"), or null if none was reported yet.
+     */
+    public Balance getBalance(String asset) {
+        return balances.get(asset.toUpperCase());
+    }
+
+    /**
+     * Probes the index, retrying if the writer changed it meanwhile.
+     */
+    private int slotOf(long orderId) {
+        while (true) {
+            long before = indexSeq.getAcquire();
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int slot = -1;
+            int i = hash(orderId);
+            for (int probes = 0; probes <= indexMask; probes++) {
+                int entry = indexSlots[i];
+                if (entry == 0) break;
+                if (indexKeys[i] == orderId) {
+                    slot = entry - 1;
+                    break;
+                }
+                i = (i + 1) & indexMask;
+            }
+            VarHandle.loadLoadFence();
+            if (indexSeq.getOpaque() == before) return slot;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.quant.crypto.userdata;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quant.crypto.model.Fill;
+import com.quant.crypto.model.OrderVerification;
+import com.quant.crypto.model.enums.OrderSide;
+import com.quant.crypto.model.enums.OrderStatus;
+import com.quant.crypto.model.enums.OrderType;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Applies user data stream events to an {@link OrderStateCache} and notifies a listener.
+ * <p>
+ * Handles {@code executionReport} (order updates and fills) and
+ * {@code outboundAccountPosition} (balances); other event types are returned but otherwise
+ * ignored. Account events are rare compared to market data, so they are parsed with Jackson;
+ * the hot path is the cache's read side.
+ * <p>
+ * Order states queried over REST ({@code openOrders}, {@code order}) are applied through
+ * {@link #applyOrderSnapshots(CharSequence)} when the stream client re-syncs after downtime.
+ * <p>
+ * Not thread-safe: one decoder per cache, used by the cache's single writer.
+ */
+public final class UserDataEventDecoder {
+
+    public static final String EXECUTION_REPORT = "executionReport";
+    public static final String ACCOUNT_POSITION = "outboundAccountPosition";
+    public static final String LISTEN_KEY_EXPIRED = "listenKeyExpired";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final OrderStateCache cache;
+    private final UserDataListener listener;
+    private final OrderVerification order = new OrderVerification();
+
+    /**
+     * @param cache    The cache to update; this decoder becomes its only writer.
+     * @param listener Notified after each applied event.
+     */
+    public UserDataEventDecoder(OrderStateCache cache, UserDataListener listener) {
+        this.cache = cache;
+        this.listener = listener;
+    }
+
+    /**
+     * Decodes and applies one stream message.
+     *
+     * @param message The complete WebSocket text message.
+     * @return The event type ({@code e}), or null if the message carries none.
+     * @throws IllegalArgumentException if the message is not valid JSON.
+     */
+    public String decode(CharSequence message) {
+        JsonNode node;
+        try {
+            node = mapper.readTree(message.toString());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed user data event: " + e.getMessage(), e);
+        }
+        // Combined-stream and WebSocket API subscriptions wrap the event
+        if (node.has("data")) node = node.get("data");
+        if (node.has("event")) node = node.get("event");
+
+        String type = node.path("e").asText(null);
+        if (EXECUTION_REPORT.equals(type)) {
+            onExecutionReport(node);
+        } else if (ACCOUNT_POSITION.equals(type)) {
+            onAccountPosition(node);
+        }
+        return type;
+    }
+
+    private void onExecutionReport(JsonNode node) {
+        long orderId = node.get("i").asLong();
+        String symbol = node.get("s").asText();
+        OrderSide side = OrderSide.valueOf(node.get("S").asText());
+        OrderType type = parseType(node.path("o").asText());
+        OrderStatus status = OrderStatus.valueOf(node.get("X").asText());
+        double lastFillQuantity = node.path("l").asDouble();
+        double lastFillPrice = node.path("L").asDouble();
+        long transactionTime = node.path("T").asLong(node.path("E").asLong());
+
+        cache.apply(orderId, symbol, node.path("c").asText(null), side, type, status,
+                node.path("p").asDouble(), node.path("q").asDouble(), node.path("z").asDouble(),
+                node.path("Z").asDouble(), lastFillPrice, lastFillQuantity, transactionTime);
+
+        if (cache.read(orderId, order)) {
+            listener.onOrderUpdate(order);
+        }
+        if ("TRADE".equals(node.path("x").asText()) && lastFillQuantity > 0) {
+            listener.onFill(new Fill(symbol, orderId, side, lastFillPrice, lastFillQuantity, transactionTime));
+        }
+    }
+
+    /**
+     * Applies REST order states: a JSON array ({@code GET /api/v3/openOrders}) or a single
+     * order ({@code GET /api/v3/order}). States older than the cached one are skipped; applied
+     * ones are reported through {@link UserDataListener#onOrderUpdate}. The individual fills
+     * that happened meanwhile are not known to REST and are not reported.
+     *
+     * @param body The response body.
+     * @return The order ids contained in the body.
+     * @throws IllegalArgumentException if the body is not valid JSON.
+     */
+    public Set<Long> applyOrderSnapshots(CharSequence body) {
+        JsonNode node;
+        try {
+            node = mapper.readTree(body.toString());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed order state: " + e.getMessage(), e);
+        }
+        Set<Long> orderIds = new HashSet<>();
+        if (node.isArray()) {
+            for (JsonNode entry : node) {
+                orderIds.add(onOrderSnapshot(entry));
+            }
+        } else {
+            orderIds.add(onOrderSnapshot(node));
+        }
+        return orderIds;
+    }
+
+    private long onOrderSnapshot(JsonNode node) {
+        long orderId = node.get("orderId").asLong();
+        boolean applied = cache.applySnapshot(orderId, node.get("symbol").asText(), node.path("clientOrderId").asText(null),
+                OrderSide.valueOf(node.get("side").asText()), parseType(node.path("type").asText()),
+                OrderStatus.valueOf(node.get("status").asText()), node.path("price").asDouble(),
+                node.path("origQty").asDouble(), node.path("executedQty").asDouble(),
+                node.path("cummulativeQuoteQty").asDouble(), node.path("updateTime").asLong(node.path("time").asLong()));
+        if (applied && cache.read(orderId, order)) {
+            listener.onOrderUpdate(order);
+        }
+        return orderId;
+    }
+
+    private void onAccountPosition(JsonNode node) {
+        long updateTime = node.path("u").asLong(node.path("E").asLong());
+        for (JsonNode entry : node.path("B")) {
+            String asset = entry.get("a").asText();
+            cache.applyBalance(asset, entry.path("f").asDouble(), entry.path("l").asDouble(), updateTime);
+            listener.onBalance(cache.getBalance(asset));
+        }
+    }
+
+    private static OrderType parseType(String type) {
+        try {
+            return OrderType.valueOf(type);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
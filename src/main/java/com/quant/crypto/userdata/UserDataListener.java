@@ -0,0 +1,32 @@
+package com.quant.crypto.userdata;
+
+import com.quant.crypto.model.Fill;
+import com.quant.crypto.model.OrderVerification;
+
+/**
+ * Observer interface for account events from the user data stream.
+ * Callbacks run on the stream's thread, after the {@link OrderStateCache} has been updated.
+ */
+public interface UserDataListener {
+
+    /**
+     * Called for every execution report (new, fill, cancel, reject, expiry).
+     *
+     * @param order The order's state after the update. The holder is reused for the next
+     *              event; copy what must outlive the callback.
+     */
+    default void onOrderUpdate(OrderVerification order) {
+    }
+
+    /**
+     * Called for each (partial) execution of one of this account's orders.
+     */
+    default void onFill(Fill fill) {
+    }
+
+    /**
+     * Called for each asset listed in an {@code outboundAccountPosition} event.
+     */
+    default void onBalance(Balance balance) {
+    }
+}
@@ -0,0 +1,412 @@
+package com.quant.crypto.userdata;
+
+import com.quant.crypto.exception.BinanceApiException;
+import com.quant.crypto.metrics.Counter;
+import com.quant.crypto.metrics.LatencyHistogram;
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.model.Fill;
+import com.quant.crypto.model.OrderVerification;
+import com.quant.crypto.util.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows this account's user data stream and keeps an {@link OrderStateCache} up to date, so
+ * strategies can check an order's status and fills with a memory read instead of a REST query.
+ * <p>
+ * Lifecycle: a listenKey is created over REST, the socket is opened on
+ * {@code <ws base>/<listenKey>}, and the key is kept alive every 'userdata.keepalive.minutes'.
+ * A dropped socket, an expired key or a {@code listenKeyExpired} event triggers a reconnect
+ * with jittered exponential backoff (re-creating the key if needed), and the connection is
+ * rolled over to a fresh one before Binance's 24h cutoff.
+ * <p>
+ * Events sent while no socket was connected are not replayed, so every disconnect flags the
+ * cache stale. Once the new socket is open, the cache is re-synced over REST: all open orders,
+ * plus the current state of cached open orders missing from that list (filled or canceled
+ * meanwhile). The flag is cleared only when that succeeds; a failed re-sync is retried.
+ */
+public class UserDataStreamClient implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(UserDataStreamClient.class);
+
+    private final ListenKeyService listenKeys;
+    private final OrderQueryService orderQueries;
+    private final OrderStateCache cache;
+    private final UserDataEventDecoder decoder;
+    private final List<UserDataListener> listeners = new CopyOnWriteArrayList<>();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "userdata-keepalive");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String websocketBaseUrl;
+    private final long keepAliveMinutes;
+    private final long rolloverMinutes;
+    private final long reconnectBaseDelayMs;
+    private final long reconnectMaxDelayMs;
+
+    private volatile String listenKey;
+    private volatile Connection current;
+    private volatile boolean closed;
+    // False from a disconnect until the next socket is open; a re-sync only counts while true
+    private volatile boolean live;
+    private boolean reconnecting;
+    private int attempt;
+
+    private final MetricsRegistry metrics = MetricsRegistry.getDefault();
+    private final Counter executionReports = metrics.counter("userdata_events_total",
+            "User data stream events applied", "event", UserDataEventDecoder.EXECUTION_REPORT);
+    private final Counter accountPositions = metrics.counter("userdata_events_total",
+            "User data stream events applied", "event", UserDataEventDecoder.ACCOUNT_POSITION);
+    private final Counter otherEvents = metrics.counter("userdata_events_total",
+            "User data stream events applied", "event", "other");
+    private final Counter parseErrors = metrics.counter("userdata_parse_errors_total",
+            "User data stream messages that failed to parse");
+    private final Counter reconnects = metrics.counter("userdata_reconnects_total",
+            "User data stream reconnects after disconnects or key expiry");
+    private final Counter keepAliveFailures = metrics.counter("userdata_keepalive_failures_total",
+            "Failed listenKey keepalive requests");
+    private final Counter resyncs = metrics.counter("userdata_resyncs_total",
+            "Order cache re-syncs over REST after the stream was down");
+    private final Counter resyncFailures = metrics.counter("userdata_resync_failures_total",
+            "Failed order cache re-syncs (retried)");
+    private final LatencyHistogram applyTime = metrics.histogram("userdata_apply_seconds",
+            "Time to decode one user data event and apply it to the order cache");
+
+    /**
+     * Creates a client configured from 'application.properties' (userdata.* and stream.reconnect.* keys).
+     */
+    public UserDataStreamClient(ListenKeyService listenKeys, OrderQueryService orderQueries, OrderStateCache cache) {
+        this(listenKeys, orderQueries, cache,
+                ConfigManager.getProperty("userdata.websocket.base.url", "wss://testnet.binance.vision/ws/"),
+                Long.parseLong(ConfigManager.getProperty("userdata.keepalive.minutes", "30")),
+                Long.parseLong(ConfigManager.getProperty("stream.rollover.minutes", "1380")),
+                Long.parseLong(ConfigManager.getProperty("stream.reconnect.base.delay.ms", "250")),
+                Long.parseLong(ConfigManager.getProperty("stream.reconnect.max.delay.ms", "30000")));
+    }
+
+    /**
+     * @param listenKeys           REST client for the listenKey.
+     * @param orderQueries         REST client used to re-sync the cache after downtime.
+     * @param cache                The cache to keep up to date; this client becomes its only writer.
+     * @param websocketBaseUrl     WebSocket base URL, to which the listenKey is appended.
+     * @param keepAliveMinutes     Keepalive interval (keys expire after 60 minutes without one).
+     * @param rolloverMinutes      Age at which the socket is replaced by a fresh one.
+     * @param reconnectBaseDelayMs Smallest reconnect delay.
+     * @param reconnectMaxDelayMs  Largest reconnect delay.
+     */
+    public UserDataStreamClient(ListenKeyService listenKeys, OrderQueryService orderQueries, OrderStateCache cache,
+                                String websocketBaseUrl, long keepAliveMinutes, long rolloverMinutes,
+                                long reconnectBaseDelayMs, long reconnectMaxDelayMs) {
+        this.listenKeys = listenKeys;
+        this.orderQueries = orderQueries;
+        this.cache = cache;
+        this.websocketBaseUrl = websocketBaseUrl;
+        this.keepAliveMinutes = Math.max(1, keepAliveMinutes);
+        this.rolloverMinutes = Math.max(1, rolloverMinutes);
+        this.reconnectBaseDelayMs = reconnectBaseDelayMs;
+        this.reconnectMaxDelayMs = reconnectMaxDelayMs;
+        this.decoder = new UserDataEventDecoder(cache, fanOut);
+        metrics.gauge("userdata_open_orders", "Open orders in the order cache", cache::getOpenOrderCount);
+        metrics.gauge("userdata_cached_orders", "Orders held in the order cache", cache::size);
+        metrics.gauge("userdata_cache_stale", "1 while the order cache may have missed updates",
+                () -> cache.isStale() ? 1 : 0);
+    }
+
+    /**
+     * Subscribes a listener to order, fill and balance events.
+     */
+    public void subscribe(UserDataListener listener) {
+        listeners.add(listener);
+    }
+
+    public OrderStateCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Creates the listenKey, opens the stream, loads the account's open orders and starts the
+     * keepalive and rollover timers.
+     *
+     * @throws IOException if the first connection cannot be established.
+     */
+    public void connect() throws IOException, InterruptedException {
+        // Orders placed before this process started are only known to REST
+        cache.markStale(System.currentTimeMillis());
+        openSession();
+        scheduler.scheduleAtFixedRate(this::keepAlive, keepAliveMinutes, keepAliveMinutes, TimeUnit.MINUTES);
+        scheduler.scheduleAtFixedRate(this::rollover, rolloverMinutes, rolloverMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the timers, closes the socket and the listenKey.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        Connection connection = current;
+        if (connection != null) connection.retire();
+        String key = listenKey;
+        if (key != null) {
+            try {
+                listenKeys.close(key);
+            } catch (Exception e) {
+                logger.warn("⚠️ Failed to close listenKey: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** @return Number of reconnects since startup. */
+    public long getReconnectCount() {
+        return reconnects.get();
+    }
+
+    /**
+     * Opens a socket on a (re-)created listenKey. The new socket takes over as soon as it is
+     * open; the previous one, if any, is retired. A stale cache is then re-synced.
+     */
+    private void openSession() throws IOException, InterruptedException {
+        String key = listenKeys.create();
+        listenKey = key;
+        logger.info("🔌 CONNECTING to user data stream");
+        try {
+            httpClient.newWebSocketBuilder()
+                    .buildAsync(URI.create(websocketBaseUrl + key), new Connection())
+                    .join();
+        } catch (CompletionException e) {
+            throw new IOException("User data stream connect failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        synchronized (this) {
+            attempt = 0;
+        }
+        live = true;
+        resync();
+    }
+
+    /**
+     * Re-syncs the cache over REST. Runs once the new socket is live, so every later update
+     * arrives on the stream; a REST state older than a streamed one is not applied.
+     */
+    private void resync() {
+        long epoch = cache.getStaleEpoch();
+        // A pending reconnect re-syncs after it has reopened the socket
+        if (closed || !live || !cache.isStale()) return;
+        long start = System.nanoTime();
+        try {
+            String openOrders = orderQueries.openOrders();
+            List<OrderVerification> cachedOpen;
+            Set<Long> stillOpen;
+            synchronized (decoder) {
+                cachedOpen = cache.copyOpenOrders();
+                stillOpen = decoder.applyOrderSnapshots(openOrders);
+            }
+            int resolved = 0;
+            for (OrderVerification order : cachedOpen) {
+                if (stillOpen.contains(order.getOrderId())) continue;
+                try {
+                    String state = orderQueries.order(order.getSymbol(), order.getOrderId());
+                    synchronized (decoder) {
+                        decoder.applyOrderSnapshots(state);
+                    }
+                    resolved++;
+                } catch (BinanceApiException e) {
+                    if (e.getError() == null || e.getError().getCode() != OrderQueryService.NO_SUCH_ORDER) throw e;
+                    logger.warn("⚠️ Order {} [{}] is unknown to the exchange; cached state kept",
+                            order.getOrderId(), order.getSymbol());
+                }
+            }
+            resyncs.increment();
+            if (cache.markFresh(epoch)) {
+                logger.info("🔄 ORDER CACHE RE-SYNCED: {} open, {} closed meanwhile | {} ms", stillOpen.size(), resolved,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            resyncFailures.increment();
+            logger.error("❌ Order cache re-sync failed, retrying in {} ms: {}", reconnectMaxDelayMs, e.getMessage());
+            if (!closed) scheduler.schedule(this::resync, reconnectMaxDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void keepAlive() {
+        try {
+            listenKeys.keepAlive(listenKey);
+        } catch (BinanceApiException e) {
+            keepAliveFailures.increment();
+            if (e.getError() != null && e.getError().getCode() == ListenKeyService.UNKNOWN_LISTEN_KEY) {
+                scheduleReconnect("listenKey expired");
+            } else {
+                logger.warn("⚠️ listenKey keepalive rejected: {}", e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            keepAliveFailures.increment();
+            logger.warn("⚠️ listenKey keepalive failed: {}", e.getMessage());
+        }
+    }
+
+    private void rollover() {
+        if (closed) return;
+        try {
+            openSession();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // The current socket is still serving; the next rollover or a disconnect retries.
+            logger.warn("⚠️ User data stream rollover failed: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void scheduleReconnect(String reason) {
+        if (closed) return;
+        live = false;
+        cache.markStale(System.currentTimeMillis());
+        if (reconnecting) return;
+        reconnecting = true;
+        long ceiling = Math.min(reconnectMaxDelayMs, reconnectBaseDelayMs << Math.min(attempt++, 20));
+        long delay = ThreadLocalRandom.current().nextLong(reconnectBaseDelayMs, Math.max(reconnectBaseDelayMs, ceiling) + 1);
+        logger.warn("🔁 RECONNECTING user data stream in {} ms ({})", delay, reason);
+        scheduler.schedule(() -> {
+            if (closed) return;
+            reconnects.increment();
+            synchronized (this) {
+                reconnecting = false;
+            }
+            try {
+                openSession();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.error("❌ User data stream reconnect failed: {}", e.getMessage());
+                scheduleReconnect("reconnect failed");
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void onMessage(Connection source, CharSequence message) {
+        // During a rollover overlap only the newest socket writes, keeping the cache single-writer
+        if (source != current) return;
+        long start = System.nanoTime();
+        try {
+            String type;
+            synchronized (decoder) {
+                type = decoder.decode(message);
+            }
+            applyTime.recordSince(start);
+            if (UserDataEventDecoder.EXECUTION_REPORT.equals(type)) {
+                executionReports.increment();
+            } else if (UserDataEventDecoder.ACCOUNT_POSITION.equals(type)) {
+                accountPositions.increment();
+            } else {
+                otherEvents.increment();
+                if (UserDataEventDecoder.LISTEN_KEY_EXPIRED.equals(type)) {
+                    scheduleReconnect("listenKeyExpired event");
+                }
+            }
+        } catch (Exception e) {
+            parseErrors.increment();
+            logger.error("❌ Error parsing user data event: {}", message, e);
+        }
+    }
+
+    /**
+     * Delivers decoded events to every subscriber.
+     */
+    private final UserDataListener fanOut = new UserDataListener() {
+        @Override
+        public void onOrderUpdate(OrderVerification order) {
+            for (UserDataListener listener : listeners) {
+                listener.onOrderUpdate(order);
+            }
+        }
+
+        @Override
+        public void onFill(Fill fill) {
+            for (UserDataListener listener : listeners) {
+                listener.onFill(fill);
+            }
+        }
+
+        @Override
+        public void onBalance(Balance balance) {
+            for (UserDataListener listener : listeners) {
+                listener.onBalance(balance);
+            }
+        }
+    };
+
+    /**
+     * One WebSocket connection of the stream.
+     */
+    private class Connection implements WebSocket.Listener {
+
+        private final StringBuilder buffer = new StringBuilder();
+        private volatile WebSocket webSocket;
+        private volatile boolean retired;
+
+        void retire() {
+            retired = true;
+            WebSocket ws = this.webSocket;
+            if (ws != null) {
+                ws.sendClose(WebSocket.NORMAL_CLOSURE, "rollover");
+            }
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            this.webSocket = webSocket;
+            Connection previous = current;
+            current = this;
+            if (previous != null) previous.retire();
+            logger.info("✅ USER DATA STREAM OPENED");
+            WebSocket.Listener.super.onOpen(webSocket);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                onMessage(this, buffer);
+                buffer.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            if (!retired && current == this) {
+                logger.warn("⚠️ USER DATA STREAM CLOSED ({} {})", statusCode, reason);
+                scheduleReconnect("socket closed");
+            }
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            if (!retired && current == this) {
+                logger.error("❌ USER DATA STREAM ERROR: ", error);
+                scheduleReconnect("socket error");
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.quant.crypto.util;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable, validated snapshot of 'application.properties'.
+ * <p>
+ * Everything the request paths need is parsed once when the snapshot is built: typed
+ * thresholds, the symbol list and the REST endpoint {@link URI}s (per configured symbol where
+ * the symbol is part of the URL). Callers read {@link ConfigManager#current()} once per
+ * operation and use its fields, so a hot reload never shows them a half-updated config and
+ * no request pays for property lookups or URL concatenation.
+ */
+public final class AppConfig {
+
+    public static final String PRICE_ENDPOINT = "/api/v3/ticker/price";
+    public static final String TRADES_ENDPOINT = "/api/v3/trades";
+    public static final String ORDER_ENDPOINT = "/api/v3/order";
+
+    private final Properties properties;
+    private final long version;
+
+    private final String restBaseUrl;
+    private final String testnetBaseUrl;
+    private final String websocketBaseUrl;
+    private final String apiKey;
+    private final String apiSecret;
+    private final String defaultSymbol;
+    private final List<String> symbols;
+    private final int tradeLimit;
+    private final int latencyWarningMs;
+    private final int latencyCriticalMs;
+
+    private final URI orderUri;
+    private final Map<String, URI> priceUris;
+    private final Map<String, URI> recentTradesUris;
+
+    private AppConfig(Properties properties, long version) {
+        this.properties = properties;
+        this.version = version;
+        List<String> errors = new ArrayList<>();
+
+        this.restBaseUrl = url(properties, "api.base.url", "https://api.binance.com", errors);
+        this.testnetBaseUrl = url(properties, "api.testnet.base.url", "https://testnet.binance.vision", errors);
+        this.websocketBaseUrl = properties.getProperty("api.websocket.base.url");
+        if (websocketBaseUrl == null) {
+            errors.add("Property 'api.websocket.base.url' is missing");
+        }
+        this.apiKey = properties.getProperty("api.key");
+        this.apiSecret = properties.getProperty("api.secret");
+
+        this.defaultSymbol = properties.getProperty("api.default.symbol", "BTCUSDT").trim().toUpperCase();
+        List<String> list = new ArrayList<>();
+        for (String symbol : properties.getProperty("api.symbols", defaultSymbol).split(",")) {
+            String s = symbol.trim().toUpperCase();
+            if (!s.isEmpty() && !list.contains(s)) list.add(s);
+        }
+        this.symbols = Collections.unmodifiableList(list);
+
+        this.tradeLimit = integer(properties, "api.trade.limit", 10, 1, 1000, errors);
+        this.latencyWarningMs = integer(properties, "latency.threshold.warning", 100, 0, Integer.MAX_VALUE, errors);
+        this.latencyCriticalMs = integer(properties, "latency.threshold.critical", 200, 0, Integer.MAX_VALUE, errors);
+        if (latencyWarningMs > latencyCriticalMs) {
+            errors.add("'latency.threshold.warning' (" + latencyWarningMs + ") exceeds 'latency.threshold.critical' ("
+                    + latencyCriticalMs + ")");
+        }
+
+        if (!errors.isEmpty()) {
+            throw new RuntimeException("❌ Invalid configuration: " + String.join("; ", errors));
+        }
+
+        this.orderUri = URI.create(testnetBaseUrl + ORDER_ENDPOINT);
+        Map<String, URI> prices = new HashMap<>();
+        Map<String, URI> trades = new HashMap<>();
+        for (String symbol : symbols) {
+            prices.put(symbol, buildPriceUri(symbol));
+            trades.put(symbol, buildRecentTradesUri(symbol));
+        }
+        this.priceUris = prices;
+        this.recentTradesUris = trades;
+    }
+
+    /**
+     * Builds and validates a snapshot.
+     *
+     * @param properties The raw properties (copied; later changes have no effect).
+     * @param version    Sequence number of this snapshot (1 for the startup load).
+     * @throws RuntimeException listing every invalid or missing property.
+     */
+    public static AppConfig from(Properties properties, long version) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return new AppConfig(copy, version);
+    }
+
+    private static String url(Properties properties, String key, String defaultValue, List<String> errors) {
+        String value = properties.getProperty(key, defaultValue).trim();
+        try {
+            URI uri = URI.create(value);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                errors.add("'" + key + "' is not an absolute URL: " + value);
+            }
+        } catch (IllegalArgumentException e) {
+            errors.add("'" + key + "' is not a valid URL: " + value);
+        }
+        return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    private static int integer(Properties properties, String key, int defaultValue, int min, int max, List<String> errors) {
+        String value = properties.getProperty(key);
+        if (value == null) return defaultValue;
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < min || parsed > max) {
+                errors.add("'" + key + "' must be within [" + min + ", " + max + "]: " + parsed);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            errors.add("'" + key + "' is not an integer: " + value);
+            return defaultValue;
+        }
+    }
+
+    private URI buildPriceUri(String symbol) {
+        return URI.create(restBaseUrl + PRICE_ENDPOINT + "?symbol=" + symbol);
+    }
+
+    private URI buildRecentTradesUri(String symbol) {
+        return URI.create(restBaseUrl + TRADES_ENDPOINT + "?limit=" + tradeLimit + "&symbol=" + symbol);
+    }
+
+    // --- Typed values ---
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The market data REST base URL, without a trailing slash.
+     */
+    public String getRestBaseUrl() {
+        return restBaseUrl;
+    }
+
+    /**
+     * @return The order (testnet) REST base URL, without a trailing slash.
+     */
+    public String getTestnetBaseUrl() {
+        return testnetBaseUrl;
+    }
+
+    public String getWebsocketBaseUrl() {
+        return websocketBaseUrl;
+    }
+
+    /** @return The API key, or null if not configured. */
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    /** @return The API secret, or null if not configured. */
+    public String getApiSecret() {
+        return apiSecret;
+    }
+
+    public String getDefaultSymbol() {
+        return defaultSymbol;
+    }
+
+    /**
+     * @return The symbols to monitor ('api.symbols', defaulting to the default symbol).
+     */
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    public int getLatencyWarningMs() {
+        return latencyWarningMs;
+    }
+
+    public int getLatencyCriticalMs() {
+        return latencyCriticalMs;
+    }
+
+    // --- Precomputed endpoints ---
+
+    public URI getOrderUri() {
+        return orderUri;
+    }
+
+    /**
+     * @return The ticker price URI; precomputed for configured symbols, built for others.
+     */
+    public URI getPriceUri(String symbol) {
+        URI uri = priceUris.get(symbol);
+        return uri != null ? uri : buildPriceUri(symbol.toUpperCase());
+    }
+
+    /**
+     * @return The recent trades URI ('api.trade.limit' trades); precomputed for configured symbols.
+     */
+    public URI getRecentTradesUri(String symbol) {
+        URI uri = recentTradesUris.get(symbol);
+        return uri != null ? uri : buildRecentTradesUri(symbol.toUpperCase());
+    }
+
+    /**
+     * @return {@code <api.base.url><endpoint>?<query>} for ad-hoc market data requests.
+     */
+    public URI getRestUri(String endpoint, String query) {
+        return URI.create(restBaseUrl + endpoint + "?" + query);
+    }
+
+    // --- Raw access, for components that read their own keys at construction ---
+
+    /**
+     * @return The raw value of the key, or {@code defaultValue} if absent.
+     */
+    public String getProperty(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    /**
+     * @return The raw value of the key, or null if absent.
+     */
+    public String get(String key) {
+        return properties.getProperty(key);
+    }
+}
@@ -1,24 +1,64 @@
-package com.quant.crypto;
+package com.quant.crypto.util;
+
+import com.quant.crypto.metrics.Counter;
+import com.quant.crypto.metrics.MetricsRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Utility class responsible for loading and managing application configuration settings.
  * It reads key-value pairs from the 'application.properties' file located in the classpath.
  * <p>
- * This class follows the Singleton pattern approach using a static block for initialization.
+ * The settings are held as one immutable, validated {@link AppConfig} snapshot. When the
+ * system property {@code config.file} names an external properties file, that file overrides
+ * the classpath defaults and is watched: every valid change is swapped in atomically and
+ * announced to the reload listeners, so thresholds and symbol lists can change without a
+ * restart. Components that read their settings once at construction keep using
+ * {@link #getProperty(String, String)}.
  */
 public class ConfigManager {
 
-    private static final Properties properties = new Properties();
+    private static final Logger logger = LogManager.getLogger(ConfigManager.class);
+
     private static final String CONFIG_FILE = "application.properties";
 
+    private static final Properties defaults = loadClasspathDefaults();
+    private static final List<Consumer<AppConfig>> listeners = new CopyOnWriteArrayList<>();
+    private static volatile AppConfig current = AppConfig.from(defaults, 1);
+    private static ConfigWatcher watcher;
+
+    private static final Counter reloads = MetricsRegistry.getDefault().counter("config_reloads_total",
+            "Configuration snapshots swapped in by the file watcher");
+
     /*
-     * Static initialization block to load configuration when the class is first accessed.
+     * Static initialization block to start watching the external file, if one is configured.
      */
     static {
+        MetricsRegistry.getDefault().gauge("config_version", "Version of the active configuration snapshot",
+                () -> current.getVersion());
+        String external = System.getProperty("config.file");
+        if (external != null) {
+            try {
+                watch(Path.of(external));
+            } catch (IOException e) {
+                throw new RuntimeException("❌ Failed to load configuration file '" + external + "'", e);
+            }
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private ConfigManager() {}
+
+    private static Properties loadClasspathDefaults() {
+        Properties properties = new Properties();
         try (InputStream input = ConfigManager.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
             if (input == null) {
                 System.err.println("ERROR: Unable to find " + CONFIG_FILE);
@@ -31,10 +71,59 @@ public class ConfigManager {
             System.err.println("ERROR: Failed to load configuration file.");
             ex.printStackTrace();
         }
+        return properties;
     }
 
-    // Private constructor to prevent instantiation
-    private ConfigManager() {}
+    /**
+     * @return The active configuration snapshot. Read it once per operation and use its fields.
+     */
+    public static AppConfig current() {
+        return current;
+    }
+
+    /**
+     * Loads an external properties file over the classpath defaults and reloads it on change.
+     *
+     * @param file The properties file to apply and watch.
+     * @throws IOException      if the file cannot be read.
+     * @throws RuntimeException if its contents are invalid (the active config is kept).
+     */
+    public static synchronized void watch(Path file) throws IOException {
+        if (watcher != null) watcher.close();
+        ConfigWatcher next = new ConfigWatcher(file, defaults, ConfigManager::apply);
+        apply(next.load());
+        next.start();
+        watcher = next;
+        logger.info("👀 Watching configuration file {}", file.toAbsolutePath());
+    }
+
+    /**
+     * Registers a callback invoked with each new snapshot after it has been swapped in.
+     */
+    public static void addReloadListener(Consumer<AppConfig> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Validates the properties and swaps them in as the next snapshot.
+     */
+    private static void apply(Properties properties) {
+        AppConfig next;
+        synchronized (ConfigManager.class) {
+            next = AppConfig.from(properties, current.getVersion() + 1);
+            current = next;
+        }
+        reloads.increment();
+        logger.info("🔁 Configuration v{} applied | symbols {} | latency warning > {}ms, critical > {}ms",
+                next.getVersion(), next.getSymbols(), next.getLatencyWarningMs(), next.getLatencyCriticalMs());
+        for (Consumer<AppConfig> listener : listeners) {
+            try {
+                listener.accept(next);
+            } catch (Exception e) {
+                logger.error("❌ Configuration reload listener failed", e);
+            }
+        }
+    }
 
     /**
      * Retrieves a string value for the specified configuration key with a default fallback.
@@ -45,7 +134,7 @@ public class ConfigManager {
      * @return The value associated with the key, or defaultValue if not found.
      */
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return current.getProperty(key, defaultValue);
     }
 
     /**
@@ -55,7 +144,7 @@ public class ConfigManager {
      * @return The value associated with the key, or null if not found.
      */
     public static String get(String key) {
-        return properties.getProperty(key);
+        return current.get(key);
     }
 
     /**
@@ -67,10 +156,10 @@ public class ConfigManager {
      * @throws NumberFormatException if the value cannot be parsed as an integer.
      */
     public static int getInt(String key) {
-        String value = properties.getProperty(key);
+        String value = current.get(key);
         if (value == null) {
             throw new IllegalArgumentException("Key not found in config: " + key);
         }
         return Integer.parseInt(value);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package com.quant.crypto.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches an external properties file and publishes a new {@link AppConfig} whenever it changes.
+ * <p>
+ * The file overrides the classpath defaults. A change that fails to parse or validate is
+ * logged and ignored, so a bad edit never replaces a working configuration. Bursts of events
+ * (editors often write a temporary file and rename it) are coalesced into one reload.
+ */
+public class ConfigWatcher implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(ConfigWatcher.class);
+
+    private static final long DEBOUNCE_MS = 200;
+
+    private final Path file;
+    private final Properties defaults;
+    private final Consumer<Properties> onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /**
+     * @param file     The properties file to watch.
+     * @param defaults Values used for keys the file does not set.
+     * @param onChange Receives the merged properties after each change; throws to reject them.
+     */
+    public ConfigWatcher(Path file, Properties defaults, Consumer<Properties> onChange) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.defaults = defaults;
+        this.onChange = onChange;
+        this.watchService = this.file.getFileSystem().newWatchService();
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_CREATE);
+        this.thread = new Thread(this::run, "config-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * @return The defaults merged with the current file contents.
+     */
+    public Properties load() throws IOException {
+        Properties merged = new Properties();
+        merged.putAll(defaults);
+        try (InputStream input = Files.newInputStream(file)) {
+            merged.load(input);
+        }
+        return merged;
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = touchesFile(key);
+                key.reset();
+                if (!changed) continue;
+
+                // Coalesce the rest of the burst
+                WatchKey more;
+                while ((more = watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    touchesFile(more);
+                    more.reset();
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    private boolean touchesFile(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (context instanceof Path && file.getFileName().equals(context)) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private void reload() {
+        try {
+            onChange.accept(load());
+        } catch (Exception e) {
+            logger.error("❌ Configuration change in {} rejected, keeping the current config: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("⚠️ Failed to close config watcher: {}", e.getMessage());
+        }
+    }
+}
@@ -1,4 +1,50 @@
 package com.quant.crypto.util;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * HMAC-SHA256 request signing for Binance SIGNED endpoints.
+ */
 public class SignatureUtil {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // Mac instances are not thread-safe and costly to look up; keep one per thread
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    });
+
+    // Private constructor to prevent instantiation
+    private SignatureUtil() {}
+
+    /**
+     * Signs a query string.
+     *
+     * @param data      The exact query string to be sent (without the signature parameter).
+     * @param secretKey The API secret.
+     * @return The lowercase hex HMAC-SHA256 of {@code data}.
+     */
+    public static String getSignature(String data, String secretKey) {
+        try {
+            Mac mac = MAC.get();
+            mac.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            byte[] digest = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[2 * i] = HEX[(digest[i] >> 4) & 0xF];
+                hex[2 * i + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign request", e);
+        }
+    }
 }
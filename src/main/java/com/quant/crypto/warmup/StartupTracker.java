@@ -0,0 +1,87 @@
+package com.quant.crypto.warmup;
+
+import com.quant.crypto.metrics.LatencyHistogram;
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.util.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Startup milestones measured from JVM start: readiness and the first "fast" order.
+ * <p>
+ * An order is fast when its local path (building, signing, request construction; network
+ * excluded) takes at most 'warmup.fast.order.micros'. On a cold JVM that path runs
+ * interpreted, so time-to-first-fast-order shows how long after a deploy orders stop paying
+ * for JIT compilation, with and without warm-up or a CDS archive.
+ */
+public final class StartupTracker {
+
+    private static final Logger logger = LogManager.getLogger(StartupTracker.class);
+
+    private static final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final long fastOrderNanos = TimeUnit.MICROSECONDS.toNanos(
+            Long.parseLong(ConfigManager.getProperty("warmup.fast.order.micros", "250")));
+
+    private static final AtomicBoolean ready = new AtomicBoolean();
+    private static final AtomicBoolean fastOrderSeen = new AtomicBoolean();
+    private static volatile double readySeconds = Double.NaN;
+    private static volatile double firstFastOrderSeconds = Double.NaN;
+
+    private static final MetricsRegistry metrics = MetricsRegistry.getDefault();
+    private static final LatencyHistogram orderPath = metrics.histogram("order_local_path_seconds",
+            "Local order path before the request is sent (build, sign, encode)");
+
+    static {
+        metrics.gauge("startup_ready", "1 once warm-up finished and the engine declared readiness",
+                () -> ready.get() ? 1 : 0);
+        metrics.gauge("startup_ready_seconds", "Time from JVM start to readiness", () -> readySeconds);
+        metrics.gauge("startup_first_fast_order_seconds", "Time from JVM start to the first fast order",
+                () -> firstFastOrderSeconds);
+    }
+
+    // Private constructor to prevent instantiation
+    private StartupTracker() {}
+
+    /**
+     * Declares the engine ready (called once warm-up has finished).
+     */
+    public static void markReady() {
+        if (ready.compareAndSet(false, true)) {
+            readySeconds = secondsSinceJvmStart();
+            logger.info("🟢 READY {} s after JVM start", String.format("%.3f", readySeconds));
+        }
+    }
+
+    public static boolean isReady() {
+        return ready.get();
+    }
+
+    /**
+     * Records the local path time of a real order.
+     *
+     * @param nanos Time from entering the order call until the request was handed to the client.
+     */
+    public static void recordOrderPath(long nanos) {
+        orderPath.record(nanos);
+        if (nanos <= fastOrderNanos && fastOrderSeen.compareAndSet(false, true)) {
+            firstFastOrderSeconds = secondsSinceJvmStart();
+            logger.info("⚡ FIRST FAST ORDER {} s after JVM start ({} µs local path)",
+                    String.format("%.3f", firstFastOrderSeconds), TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+    }
+
+    /**
+     * @return Seconds from JVM start to the first fast order, or NaN if none yet.
+     */
+    public static double getFirstFastOrderSeconds() {
+        return firstFastOrderSeconds;
+    }
+
+    private static double secondsSinceJvmStart() {
+        return (System.currentTimeMillis() - jvmStartMillis) / 1000.0;
+    }
+}
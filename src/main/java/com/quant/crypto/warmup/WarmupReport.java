@@ -0,0 +1,106 @@
+package com.quant.crypto.warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a warm-up: per phase, the cost of the first (cold) and last (compiled) batch.
+ */
+public class WarmupReport {
+
+    /**
+     * Timing of one warm-up phase.
+     */
+    public static class Phase {
+
+        private final String name;
+        private final long iterations;
+        private final double firstBatchNanosPerOp;
+        private final double lastBatchNanosPerOp;
+        private final boolean failed;
+
+        Phase(String name, long iterations, double firstBatchNanosPerOp, double lastBatchNanosPerOp, boolean failed) {
+            this.name = name;
+            this.iterations = iterations;
+            this.firstBatchNanosPerOp = firstBatchNanosPerOp;
+            this.lastBatchNanosPerOp = lastBatchNanosPerOp;
+            this.failed = failed;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getIterations() {
+            return iterations;
+        }
+
+        public double getFirstBatchNanosPerOp() {
+            return firstBatchNanosPerOp;
+        }
+
+        public double getLastBatchNanosPerOp() {
+            return lastBatchNanosPerOp;
+        }
+
+        /** @return true if the phase threw and was cut short. */
+        public boolean isFailed() {
+            return failed;
+        }
+
+        /**
+         * @return How many times faster the last batch ran than the first.
+         */
+        public double getSpeedup() {
+            return lastBatchNanosPerOp > 0 ? firstBatchNanosPerOp / lastBatchNanosPerOp : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-18s %8d ops | first %,10.0f ns/op | last %,8.0f ns/op | x%.1f%s",
+                    name, iterations, firstBatchNanosPerOp, lastBatchNanosPerOp, getSpeedup(), failed ? " (FAILED)" : "");
+        }
+    }
+
+    private final List<Phase> phases = new ArrayList<>();
+    private long elapsedNanos;
+
+    void add(Phase phase) {
+        phases.add(phase);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<Phase> getPhases() {
+        return Collections.unmodifiableList(phases);
+    }
+
+    /**
+     * @return The phase with this name, or null if it did not run.
+     */
+    public Phase getPhase(String name) {
+        for (Phase phase : phases) {
+            if (phase.name.equals(name)) return phase;
+        }
+        return null;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return A multi-line table, one row per phase.
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Warm-up finished in %.1f ms%n", elapsedNanos / 1e6));
+        for (Phase phase : phases) {
+            sb.append("  ").append(phase).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
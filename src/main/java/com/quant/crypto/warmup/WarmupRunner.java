@@ -0,0 +1,271 @@
+package com.quant.crypto.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.model.OrderRequest;
+import com.quant.crypto.model.TradeEventListener;
+import com.quant.crypto.model.enums.OrderSide;
+import com.quant.crypto.model.enums.OrderType;
+import com.quant.crypto.model.enums.TimeInForce;
+import com.quant.crypto.service.BinanceService;
+import com.quant.crypto.service.EnterOrderService;
+import com.quant.crypto.service.StrategyService;
+import com.quant.crypto.strategy.Strategy;
+import com.quant.crypto.stream.TradeMessageDecoder;
+import com.quant.crypto.stream.TradeSequencer;
+import com.quant.crypto.stream.ticker.MarketTickerTable;
+import com.quant.crypto.stream.ticker.TickerFrameDecoder;
+import com.quant.crypto.userdata.OrderStateCache;
+import com.quant.crypto.userdata.UserDataEventDecoder;
+import com.quant.crypto.userdata.UserDataListener;
+import com.quant.crypto.util.ConfigManager;
+import com.quant.crypto.util.SignatureUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the hot paths with synthetic input before the engine goes live, so the JIT has
+ * compiled them by the time the first real trade and order arrive.
+ * <p>
+ * Each phase runs the production code (trade decoding and sequencing, strategy dispatch, the
+ * ticker frame decoder, the user data decoder, order building and HMAC signing) on scratch
+ * instances that are discarded afterwards; nothing is sent to the exchange except optional pings that open
+ * the HTTP connections. Running the same warm-up under {@code -XX:ArchiveClassesAtExit}
+ * produces the AppCDS archive (see 'scripts/appcds.sh'), which removes class loading from the
+ * next start as well.
+ */
+public class WarmupRunner {
+
+    private static final Logger logger = LogManager.getLogger(WarmupRunner.class);
+
+    public static final String TRADE_DECODE = "trade-decode";
+    public static final String TRADE_DISPATCH = "trade-dispatch";
+    public static final String TICKER_DECODE = "ticker-decode";
+    public static final String USER_DATA_DECODE = "user-data-decode";
+    public static final String ORDER_BUILD_SIGN = "order-build-sign";
+
+    private static final int BATCH = 1000;
+
+    private static final String WARMUP_SYMBOL = "BTCUSDT";
+    private static final String WARMUP_STRATEGY = "warmup";
+    private static final String WARMUP_SECRET = "warmup-secret-not-used-for-real-orders";
+
+    private static final String[] TICKER_FRAMES = {
+            "[{\"e\":\"24hrMiniTicker\",\"E\":1700000000000,\"s\":\"BTCUSDT\",\"c\":\"37000.50\",\"o\":\"36000.00\"," +
+                    "\"h\":\"37500.00\",\"l\":\"35800.10\",\"v\":\"1234.5\",\"q\":\"45000000.75\"}," +
+                    "{\"e\":\"24hrMiniTicker\",\"E\":1700000000001,\"s\":\"ETHUSDT\",\"c\":\"2000.25\",\"o\":\"1980.00\"," +
+                    "\"h\":\"2050.00\",\"l\":\"1950.10\",\"v\":\"98765.4\",\"q\":\"197000000\"}]",
+            "{\"stream\":\"!ticker@arr\",\"data\":[{\"e\":\"24hrTicker\",\"E\":1700000000500,\"s\":\"BTCUSDT\"," +
+                    "\"p\":\"1000.50\",\"P\":\"2.78\",\"w\":\"36800.00\",\"c\":\"37001.00\",\"Q\":\"0.01\",\"b\":\"37000.90\"," +
+                    "\"B\":\"1.2\",\"a\":\"37001.10\",\"A\":\"0.8\",\"o\":\"36000.50\",\"h\":\"37500.00\",\"l\":\"35800.10\"," +
+                    "\"v\":\"1235.0\",\"q\":\"45010000.00\",\"O\":1699913600000,\"C\":1700000000499,\"F\":1,\"L\":500000," +
+                    "\"n\":500000}]}"
+    };
+
+    private static final String ORDER_RESPONSE = "{\"symbol\":\"BTCUSDT\",\"orderId\":28,\"orderListId\":-1," +
+            "\"clientOrderId\":\"6gCrw2kRUAF9CvJDGP16IP\",\"transactTime\":1507725176595,\"price\":\"37000.00000000\"," +
+            "\"origQty\":\"0.00100000\",\"executedQty\":\"0.00100000\",\"cummulativeQuoteQty\":\"37.00000000\"," +
+            "\"status\":\"FILLED\",\"timeInForce\":\"GTC\",\"type\":\"LIMIT\",\"side\":\"BUY\",\"fills\":[]}";
+
+    /**
+     * One warm-up operation; {@code i} varies the input so results cannot be cached.
+     */
+    @FunctionalInterface
+    private interface Operation {
+        void run(int i) throws Exception;
+    }
+
+    private final EnterOrderService orders;
+    private final BinanceService market;
+    private final int iterations;
+    private final boolean preconnect;
+
+    /**
+     * Creates a runner configured from 'application.properties' (warmup.* keys).
+     *
+     * @param orders The order service whose request path is warmed, or null to warm signing only.
+     * @param market The market data service to preconnect, or null.
+     */
+    public WarmupRunner(EnterOrderService orders, BinanceService market) {
+        this(orders, market,
+                Integer.parseInt(ConfigManager.getProperty("warmup.iterations", "20000")),
+                Boolean.parseBoolean(ConfigManager.getProperty("warmup.preconnect", "true")));
+    }
+
+    /**
+     * @param orders     The order service whose request path is warmed, or null to warm signing only.
+     * @param market     The market data service to preconnect, or null.
+     * @param iterations Operations per phase (rounded up to whole batches of 1000).
+     * @param preconnect Whether to open the REST connections after the compute phases.
+     */
+    public WarmupRunner(EnterOrderService orders, BinanceService market, int iterations, boolean preconnect) {
+        if (iterations <= 0) throw new IllegalArgumentException("Warm-up iterations must be positive: " + iterations);
+        this.orders = orders;
+        this.market = market;
+        this.iterations = iterations;
+        this.preconnect = preconnect;
+    }
+
+    /**
+     * Runs every phase, then declares the engine ready via {@link StartupTracker#markReady()}.
+     *
+     * @return Timings per phase.
+     */
+    public WarmupReport run() {
+        logger.info("🔥 WARM-UP started: {} iterations per phase", iterations);
+        long start = System.nanoTime();
+        WarmupReport report = new WarmupReport();
+
+        report.add(phase(TRADE_DECODE, tradeDecode()));
+        report.add(dispatchPhase());
+        report.add(phase(TICKER_DECODE, tickerDecode()));
+        report.add(phase(USER_DATA_DECODE, userDataDecode()));
+        report.add(phase(ORDER_BUILD_SIGN, orderBuildSign()));
+        if (preconnect) preconnect();
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        logger.info("🔥 {}", report.format().trim());
+        StartupTracker.markReady();
+        return report;
+    }
+
+    private WarmupReport.Phase phase(String name, Operation operation) {
+        int batches = (iterations + BATCH - 1) / BATCH;
+        double first = 0;
+        double last = 0;
+        int i = 0;
+        try {
+            for (int b = 0; b < batches; b++) {
+                long batchStart = System.nanoTime();
+                for (int n = 0; n < BATCH; n++) {
+                    operation.run(i++);
+                }
+                double nanosPerOp = (System.nanoTime() - batchStart) / (double) BATCH;
+                if (b == 0) first = nanosPerOp;
+                last = nanosPerOp;
+            }
+            return new WarmupReport.Phase(name, i, first, last, false);
+        } catch (Exception e) {
+            logger.warn("⚠️ Warm-up phase {} failed after {} operations: {}", name, i, e.getMessage());
+            return new WarmupReport.Phase(name, i, first, last, true);
+        }
+    }
+
+    // --- Phases ---
+
+    private Operation tradeDecode() {
+        ObjectMapper mapper = new ObjectMapper();
+        TradeEventListener sink = new TradeEventListener() {
+            @Override
+            public void onTradeEvent(double price, long eventTime) {
+                // Discarded
+            }
+        };
+        TradeSequencer sequencer = new TradeSequencer(WARMUP_SYMBOL, (symbol, fromId, limit) -> Collections.emptyList(),
+                sink, 0);
+        TradeMessageDecoder decoder = new TradeMessageDecoder(mapper, sequencer);
+        StringBuilder message = new StringBuilder(160);
+        return i -> {
+            // Same decoder as the live trade stream
+            message.setLength(0);
+            message.append("{\"e\":\"trade\",\"E\":").append(1700000000000L + i)
+                    .append(",\"s\":\"BTCUSDT\",\"t\":").append(i + 1)
+                    .append(",\"p\":\"").append(37000 + (i & 1023)).append(".12000000\",\"q\":\"0.00")
+                    .append(1 + (i & 7)).append("00000\",\"T\":").append(1700000000000L + i)
+                    .append(",\"m\":").append((i & 1) == 0).append(",\"M\":true}");
+            decoder.decode(message);
+        };
+    }
+
+    /**
+     * Fans synthetic trades out through a scratch {@link StrategyService} hosting one no-op
+     * strategy, warming the event wrapping, the inbox hand-off and the runner loop. The
+     * scratch service reports into a private registry and is shut down afterwards.
+     */
+    private WarmupReport.Phase dispatchPhase() {
+        StrategyService service = new StrategyService(TimeUnit.SECONDS.toMicros(1), Integer.MAX_VALUE, 0, 1024,
+                new MetricsRegistry());
+        service.register(new Strategy() {
+            @Override
+            public String getName() {
+                return WARMUP_STRATEGY;
+            }
+        });
+        service.start();
+        try {
+            return phase(TRADE_DISPATCH, i -> service.onTrade(WARMUP_SYMBOL, i + 1, 37000 + (i & 1023),
+                    0.001 * (1 + (i & 7)), 1700000000000L + i, (i & 1) == 0));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private Operation tickerDecode() {
+        TickerFrameDecoder decoder = new TickerFrameDecoder(new MarketTickerTable(16));
+        return i -> decoder.decode(TICKER_FRAMES[i & 1]);
+    }
+
+    private Operation userDataDecode() {
+        UserDataEventDecoder decoder = new UserDataEventDecoder(new OrderStateCache(1024), new UserDataListener() {});
+        StringBuilder message = new StringBuilder(512);
+        return i -> {
+            // Each order id goes NEW then FILLED, so the scratch cache never fills with open orders
+            long orderId = (i >> 1) & 511;
+            boolean fill = (i & 1) == 1;
+            message.setLength(0);
+            message.append("{\"e\":\"executionReport\",\"E\":").append(1700000000100L + i)
+                    .append(",\"s\":\"BTCUSDT\",\"c\":\"warmup-").append(orderId)
+                    .append("\",\"S\":\"BUY\",\"o\":\"LIMIT\",\"f\":\"GTC\",\"q\":\"1.00000000\",\"p\":\"37000.00000000\"")
+                    .append(",\"x\":\"").append(fill ? "TRADE" : "NEW")
+                    .append("\",\"X\":\"").append(fill ? "FILLED" : "NEW")
+                    .append("\",\"r\":\"NONE\",\"i\":").append(orderId)
+                    .append(",\"l\":\"").append(fill ? "1.00000000" : "0")
+                    .append("\",\"z\":\"").append(fill ? "1.00000000" : "0")
+                    .append("\",\"L\":\"37000.00000000\",\"n\":\"0\",\"N\":null,\"T\":").append(1700000000099L + i)
+                    .append(",\"t\":").append(fill ? i : -1)
+                    .append(",\"w\":").append(!fill).append(",\"m\":false,\"O\":1700000000000,\"Z\":\"")
+                    .append(fill ? "37000.00000000" : "0").append("\"}");
+            decoder.decode(message);
+        };
+    }
+
+    private Operation orderBuildSign() {
+        if (orders == null) {
+            StringBuilder query = new StringBuilder(160);
+            return i -> {
+                query.setLength(0);
+                query.append("symbol=BTCUSDT&side=BUY&type=LIMIT&quantity=0.001&price=").append(37000 + (i & 1023))
+                        .append("&timeInForce=GTC&timestamp=").append(System.currentTimeMillis())
+                        .append("&recvWindow=5000&newOrderRespType=FULL");
+                SignatureUtil.getSignature(query.toString(), WARMUP_SECRET);
+            };
+        }
+        return i -> {
+            // Built and signed exactly like a real order, but never sent
+            OrderRequest request = new OrderRequest(WARMUP_SYMBOL, (i & 1) == 0 ? OrderSide.BUY : OrderSide.SELL,
+                    OrderType.LIMIT, "0.001")
+                    .price(String.valueOf(37000 + (i & 1023)))
+                    .timeInForce(TimeInForce.GTC);
+            orders.buildOrderRequest(request);
+            orders.readResponse(ORDER_RESPONSE);
+        };
+    }
+
+    /**
+     * Opens the REST connections so the first real request skips DNS, TCP and TLS setup.
+     * Failures are logged; an unreachable host must not block startup.
+     */
+    private void preconnect() {
+        try {
+            if (orders != null) orders.preconnect();
+            if (market != null) market.preconnect();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("⚠️ Warm-up preconnect failed, continuing: {}", e.getMessage());
+        }
+    }
+}
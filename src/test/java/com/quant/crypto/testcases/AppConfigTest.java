@@ -0,0 +1,124 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.util.AppConfig;
+import com.quant.crypto.util.ConfigWatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AppConfig} snapshots and {@link ConfigWatcher} hot reload.
+ */
+public class AppConfigTest {
+
+    private static Properties baseProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("api.base.url", "https://api.binance.com/");
+        properties.setProperty("api.testnet.base.url", "https://testnet.binance.vision");
+        properties.setProperty("api.websocket.base.url", "wss://stream.binance.com:9443/ws/");
+        properties.setProperty("api.default.symbol", "BTCUSDT");
+        properties.setProperty("api.trade.limit", "10");
+        properties.setProperty("latency.threshold.warning", "100");
+        properties.setProperty("latency.threshold.critical", "200");
+        return properties;
+    }
+
+    @Test
+    @DisplayName("Snapshot is typed and endpoint URIs are precomputed per configured symbol")
+    void testTypedSnapshot() {
+        // GIVEN
+        Properties properties = baseProperties();
+        properties.setProperty("api.symbols", "btcusdt, ETHUSDT,,BTCUSDT");
+
+        // WHEN
+        AppConfig config = AppConfig.from(properties, 1);
+        properties.setProperty("latency.threshold.warning", "150");
+
+        // THEN: later changes to the source do not leak into the snapshot
+        assertEquals(List.of("BTCUSDT", "ETHUSDT"), config.getSymbols());
+        assertEquals(100, config.getLatencyWarningMs());
+        assertEquals("https://api.binance.com/api/v3/ticker/price?symbol=ETHUSDT", config.getPriceUri("ETHUSDT").toString());
+        assertSame(config.getPriceUri("ETHUSDT"), config.getPriceUri("ETHUSDT"));
+        assertEquals("https://api.binance.com/api/v3/trades?limit=10&symbol=SOLUSDT",
+                config.getRecentTradesUri("solusdt").toString());
+        assertEquals("https://testnet.binance.vision/api/v3/order", config.getOrderUri().toString());
+    }
+
+    @Test
+    @DisplayName("Invalid values are rejected with every problem listed")
+    void testValidation() {
+        // GIVEN
+        Properties properties = baseProperties();
+        properties.setProperty("latency.threshold.warning", "500");
+        properties.setProperty("api.trade.limit", "many");
+        properties.remove("api.websocket.base.url");
+
+        // WHEN
+        RuntimeException error = assertThrows(RuntimeException.class, () -> AppConfig.from(properties, 1));
+
+        // THEN
+        assertTrue(error.getMessage().contains("latency.threshold.warning"));
+        assertTrue(error.getMessage().contains("api.trade.limit"));
+        assertTrue(error.getMessage().contains("api.websocket.base.url"));
+    }
+
+    @Test
+    @DisplayName("Edits to the watched file publish a new snapshot and invalid edits are ignored")
+    void testHotReload() throws Exception {
+        // GIVEN
+        Path dir = Files.createTempDirectory("config");
+        Path file = dir.resolve("override.properties");
+        Files.writeString(file, "latency.threshold.critical=300\n");
+        List<AppConfig> published = new CopyOnWriteArrayList<>();
+        List<Throwable> rejected = new CopyOnWriteArrayList<>();
+
+        try (ConfigWatcher watcher = new ConfigWatcher(file, baseProperties(), properties -> {
+            try {
+                published.add(AppConfig.from(properties, published.size() + 2));
+            } catch (RuntimeException e) {
+                rejected.add(e);
+                throw e;
+            }
+        })) {
+            assertEquals(300, AppConfig.from(watcher.load(), 1).getLatencyCriticalMs());
+            watcher.start();
+
+            // WHEN: an invalid edit, then a valid one
+            Files.writeString(file, "latency.threshold.warning=900\n");
+            waitFor(() -> !rejected.isEmpty());
+            Files.writeString(file, "latency.threshold.critical=400\napi.symbols=ETHUSDT\n");
+            waitFor(() -> !published.isEmpty());
+
+            // THEN
+            AppConfig latest = published.get(published.size() - 1);
+            assertEquals(400, latest.getLatencyCriticalMs());
+            assertEquals(List.of("ETHUSDT"), latest.getSymbols());
+            assertEquals(100, latest.getLatencyWarningMs());
+        }
+        deleteRecursively(dir);
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("Timed out waiting for a config reload");
+            Thread.sleep(20);
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
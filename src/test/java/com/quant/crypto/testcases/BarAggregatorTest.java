@@ -0,0 +1,149 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.stream.bar.BarAggregator;
+import com.quant.crypto.stream.bar.BarSeries;
+import com.quant.crypto.stream.bar.BarSpec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BarAggregator}.
+ * Verifies time, tick and volume bar construction and late-trade handling.
+ */
+public class BarAggregatorTest {
+
+    private final BarSpec oneMinute = BarSpec.minutes(1);
+    private final BarSpec threeTicks = BarSpec.ticks(3);
+    private final BarSpec twoUnits = BarSpec.volume(2.0);
+
+    @Test
+    @DisplayName("Time bars close on event-time boundaries with correct OHLCV")
+    void testTimeBars() {
+        // GIVEN
+        BarAggregator aggregator = new BarAggregator(16, oneMinute);
+        int[] published = new int[1];
+        aggregator.subscribe((series, index, revision) -> published[0]++);
+
+        // WHEN: three trades in minute 0, one in minute 1
+        aggregator.onTrade("BTCUSDT", 1, 100.0, 1.0, 1_000, false);
+        aggregator.onTrade("BTCUSDT", 2, 105.0, 0.5, 20_000, false);
+        aggregator.onTrade("BTCUSDT", 3, 99.0, 0.25, 59_999, true);
+        aggregator.onTrade("BTCUSDT", 4, 101.0, 1.0, 60_000, false);
+
+        // THEN
+        BarSeries series = aggregator.getSeries("BTCUSDT", oneMinute);
+        assertEquals(1, published[0]);
+        assertEquals(1, series.size());
+        int i = series.latestIndex();
+        assertEquals(0, series.getOpenTime(i));
+        assertEquals(100.0, series.getOpen(i), 1e-9);
+        assertEquals(105.0, series.getHigh(i), 1e-9);
+        assertEquals(99.0, series.getLow(i), 1e-9);
+        assertEquals(99.0, series.getClose(i), 1e-9);
+        assertEquals(1.75, series.getVolume(i), 1e-9);
+        assertEquals(3, series.getTradeCount(i));
+    }
+
+    @Test
+    @DisplayName("Late trades amend the previous bar or are dropped")
+    void testLateTrades() {
+        // GIVEN
+        BarAggregator aggregator = new BarAggregator(16, oneMinute);
+        int[] revisions = new int[1];
+        aggregator.subscribe((series, index, revision) -> { if (revision) revisions[0]++; });
+
+        aggregator.onTrade("BTCUSDT", 1, 100.0, 1.0, 60_000, false);
+        aggregator.onTrade("BTCUSDT", 2, 100.0, 1.0, 120_000, false);
+
+        // WHEN: one trade late into the last closed bar, one into an older interval
+        aggregator.onTrade("BTCUSDT", 3, 120.0, 1.0, 119_000, false);
+        aggregator.onTrade("BTCUSDT", 4, 90.0, 1.0, 5_000, false);
+
+        // THEN
+        BarSeries series = aggregator.getSeries("BTCUSDT", oneMinute);
+        int i = series.latestIndex();
+        assertEquals(1, revisions[0]);
+        assertEquals(120.0, series.getHigh(i), 1e-9);
+        assertEquals(2.0, series.getVolume(i), 1e-9);
+        assertEquals(2, series.getLateTrades());
+        assertEquals(1, series.getDroppedLateTrades());
+    }
+
+    @Test
+    @DisplayName("Late trades after a watermark close do not reopen past bars")
+    void testLateTradeAfterAdvance() {
+        // GIVEN: minute 1 closed by the watermark, no bar under construction
+        BarAggregator aggregator = new BarAggregator(16, oneMinute);
+        int[] published = new int[2];
+        aggregator.subscribe((series, index, revision) -> published[revision ? 1 : 0]++);
+        aggregator.onTrade("BTCUSDT", 1, 100.0, 1.0, 60_000, false);
+        aggregator.advanceTo("BTCUSDT", 120_000);
+
+        // WHEN: one trade late into minute 1, one into minute 0
+        aggregator.onTrade("BTCUSDT", 2, 110.0, 1.0, 119_000, false);
+        aggregator.onTrade("BTCUSDT", 3, 90.0, 1.0, 5_000, false);
+
+        // THEN: the closed bar is revised, nothing is reopened
+        BarSeries series = aggregator.getSeries("BTCUSDT", oneMinute);
+        assertEquals(1, published[0]);
+        assertEquals(1, published[1]);
+        assertEquals(1, series.getClosedCount());
+        int i = series.latestIndex();
+        assertEquals(60_000, series.getOpenTime(i));
+        assertEquals(110.0, series.getHigh(i), 1e-9);
+        assertEquals(2.0, series.getVolume(i), 1e-9);
+        assertEquals(1, series.getDroppedLateTrades());
+
+        // WHEN: the next interval trades normally
+        aggregator.onTrade("BTCUSDT", 4, 101.0, 1.0, 125_000, false);
+        aggregator.advanceTo("BTCUSDT", 180_000);
+
+        // THEN
+        assertEquals(2, series.getClosedCount());
+        assertEquals(120_000, series.getOpenTime(series.latestIndex()));
+    }
+
+    @Test
+    @DisplayName("Tick and volume bars close on their thresholds")
+    void testTickAndVolumeBars() {
+        // GIVEN
+        BarAggregator aggregator = new BarAggregator(4, threeTicks, twoUnits);
+
+        // WHEN
+        for (int t = 1; t <= 7; t++) {
+            aggregator.onTrade("ETHUSDT", t, t, 0.5, t, false);
+        }
+
+        // THEN
+        BarSeries ticks = aggregator.getSeries("ETHUSDT", threeTicks);
+        assertEquals(2, ticks.size());
+        assertEquals(6.0, ticks.getClose(ticks.indexOf(0)), 1e-9);
+        assertEquals(1.0, ticks.getOpen(ticks.indexOf(1)), 1e-9);
+
+        BarSeries volume = aggregator.getSeries("ETHUSDT", twoUnits);
+        assertEquals(1, volume.size());
+        assertEquals(2.0, volume.getVolume(volume.latestIndex()), 1e-9);
+    }
+
+    @Test
+    @DisplayName("The ring keeps only the most recent bars")
+    void testRingOverwrite() {
+        // GIVEN
+        BarSpec spec = BarSpec.ticks(1);
+        BarAggregator aggregator = new BarAggregator(2, spec);
+
+        // WHEN
+        for (int t = 1; t <= 5; t++) {
+            aggregator.onTrade("BTCUSDT", t, t, 1.0, t, false);
+        }
+
+        // THEN
+        BarSeries series = aggregator.getSeries("BTCUSDT", spec);
+        assertEquals(2, series.size());
+        assertEquals(5, series.getClosedCount());
+        assertEquals(5.0, series.getClose(series.indexOf(0)), 1e-9);
+        assertEquals(4.0, series.getClose(series.indexOf(1)), 1e-9);
+    }
+}
@@ -0,0 +1,168 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.service.HedgedRequestSender;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link HedgedRequestSender} against a local HTTP server with injected stalls.
+ */
+public class HedgedRequestSenderTest {
+
+    private static final long STALL_MS = 1000;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile int stallCall = -1;
+    private volatile boolean stallAll;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            int call = calls.incrementAndGet();
+            if (stallAll || call == stallCall) {
+                try {
+                    Thread.sleep(STALL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = ("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private HttpRequest get() {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v3/ping"))
+                .GET()
+                .build();
+    }
+
+    @Test
+    @DisplayName("A request past p95 is hedged, the hedge wins, and the budget caps further hedges")
+    void testHedgeWithinBudget() throws Exception {
+        // GIVEN: 5 hedges per 100 requests; 20 fast requests earn exactly one
+        HedgedRequestSender sender = new HedgedRequestSender(HttpClient.newHttpClient(), HttpClient.newHttpClient(),
+                5000, true, 0.95, 20, 5, Long.MAX_VALUE);
+        String endpoint = "/hedge-test";
+        for (int i = 0; i < 20; i++) {
+            assertEquals(200, sender.send(endpoint, get()).statusCode());
+        }
+        assertEquals(0, sender.getHedges());
+
+        // WHEN: the next original stalls
+        stallCall = calls.get() + 1;
+        long start = System.nanoTime();
+        HttpResponse<String> hedged = sender.send(endpoint, get());
+        long hedgedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // THEN: the hedge (the following call) answered long before the stall ended
+        assertEquals("{\"call\":" + (stallCall + 1) + "}", hedged.body());
+        assertTrue(hedgedMs < STALL_MS, "Hedged request took " + hedgedMs + " ms");
+        assertEquals(1, sender.getHedges());
+        assertEquals(1, sender.getHedgeWins());
+
+        // WHEN: another stall before the budget has refilled
+        stallCall = calls.get() + 1;
+        HttpResponse<String> unhedged = sender.send(endpoint, get());
+
+        // THEN: no hedge is sent; the original is awaited
+        assertEquals("{\"call\":" + stallCall + "}", unhedged.body());
+        assertEquals(1, sender.getHedges());
+        assertEquals(1, sender.getHedgesSkipped());
+    }
+
+    @Test
+    @DisplayName("The hedge delay learns from the stalled original, not from the hedge that beat it")
+    void testWindowRecordsOriginalLatency() throws Exception {
+        // GIVEN: the delay is the slowest recent request, and 20 fast requests earn one hedge
+        HedgedRequestSender sender = new HedgedRequestSender(HttpClient.newHttpClient(), HttpClient.newHttpClient(),
+                5000, true, 0.99, 20, 5, Long.MAX_VALUE);
+        String endpoint = "/window-test";
+        for (int i = 0; i < 20; i++) {
+            sender.send(endpoint, get());
+        }
+        long fastDelayMs = sender.getHedgeDelayMillis(endpoint);
+        assertTrue(fastDelayMs < STALL_MS, "Delay before the stall: " + fastDelayMs + " ms");
+
+        // WHEN: the original stalls and the hedge wins
+        stallCall = calls.get() + 1;
+        sender.send(endpoint, get());
+        assertEquals(1, sender.getHedgeWins());
+
+        // THEN: once the original answers, its latency (not the hedge's) is in the window
+        long waitUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(3 * STALL_MS);
+        while (sender.getHedgeDelayMillis(endpoint) < STALL_MS && System.nanoTime() < waitUntil) {
+            Thread.sleep(20);
+        }
+        assertTrue(sender.getHedgeDelayMillis(endpoint) >= STALL_MS,
+                "Delay after the stall: " + sender.getHedgeDelayMillis(endpoint) + " ms");
+    }
+
+    @Test
+    @DisplayName("Preconnect reaches the host through both clients without feeding the latency window")
+    void testPreconnectUsesBothClients() throws Exception {
+        // GIVEN
+        HedgedRequestSender sender = new HedgedRequestSender(HttpClient.newHttpClient(), HttpClient.newHttpClient(),
+                5000, true, 0.95, 20, 5, Long.MAX_VALUE);
+
+        // WHEN
+        int[] status = sender.preconnect("/preconnect-test", get());
+
+        // THEN
+        assertArrayEquals(new int[]{200, 200}, status);
+        assertEquals(2, calls.get());
+        assertEquals(-1, sender.getHedgeDelayMillis("/preconnect-test"));
+    }
+
+    @Test
+    @DisplayName("The per-request deadline bounds a stalled call when hedging is off")
+    void testDeadline() {
+        // GIVEN
+        HedgedRequestSender sender = new HedgedRequestSender(HttpClient.newHttpClient(), HttpClient.newHttpClient(),
+                200, false, 0.95, 20, 5, Long.MAX_VALUE);
+        stallAll = true;
+
+        // WHEN
+        long start = System.nanoTime();
+        assertThrows(HttpTimeoutException.class, () -> sender.send("/deadline-test", get()));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // THEN
+        assertTrue(elapsedMs < STALL_MS, "Deadline fired after " + elapsedMs + " ms");
+        assertEquals(1, sender.getDeadlineExceeded());
+        assertEquals(0, sender.getHedges());
+    }
+}
@@ -0,0 +1,144 @@
+package com.quant.crypto.testcases;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quant.crypto.exception.BinanceApiException;
+import com.quant.crypto.history.HistoricalTradeDownloader;
+import com.quant.crypto.history.WeightBudget;
+import com.quant.crypto.model.AggTrade;
+import com.quant.crypto.service.BinanceService;
+import com.quant.crypto.store.TradeStoreReader;
+import com.quant.crypto.store.TradeStoreWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link HistoricalTradeDownloader}.
+ * Uses an in-memory fake of the aggTrades endpoint (one trade every 10 seconds).
+ */
+public class HistoricalTradeDownloaderTest {
+
+    private static final LocalDate DAY_ONE = LocalDate.of(2024, 3, 1);
+    private static final long BASE_TIME = DAY_ONE.toEpochDay() * 86_400_000L;
+    private static final long SPACING_MS = 10_000;
+    private static final long TRADES_PER_DAY = 86_400_000L / SPACING_MS;
+
+    /**
+     * Serves synthetic aggregate trades with id {@code (time - BASE_TIME) / SPACING_MS}.
+     */
+    private static class FakeExchange extends BinanceService {
+        private final ObjectMapper mapper = new ObjectMapper();
+        final AtomicInteger pageCalls = new AtomicInteger();
+        volatile long failAtTime = -1;
+        final AtomicBoolean rateLimitOnce = new AtomicBoolean();
+
+        @Override
+        public List<AggTrade> fetchAggTrades(String symbol, Long fromId, Long startTime, Long endTime, int limit) {
+            pageCalls.incrementAndGet();
+            if (rateLimitOnce.getAndSet(false)) {
+                throw new BinanceApiException(429, null, 1);
+            }
+            long first = fromId != null ? fromId : Math.max(0, Math.floorDiv(startTime - BASE_TIME + SPACING_MS - 1, SPACING_MS));
+            long last = endTime != null ? Math.floorDiv(endTime - BASE_TIME, SPACING_MS) : 2 * TRADES_PER_DAY - 1;
+            last = Math.min(last, 2 * TRADES_PER_DAY - 1);
+            if (failAtTime >= 0 && startTime != null && startTime == failAtTime) {
+                throw new BinanceApiException(400, null, 0);
+            }
+
+            List<AggTrade> page = new ArrayList<>();
+            for (long id = first; id <= last && page.size() < limit; id++) {
+                String json = String.format("{\"a\":%d,\"p\":\"%.2f\",\"q\":\"0.5\",\"f\":%d,\"l\":%d,\"T\":%d,\"m\":%b}",
+                        id, 60000 + (id % 100) / 100.0, id * 3, id * 3 + 2, BASE_TIME + id * SPACING_MS, id % 2 == 0);
+                try {
+                    page.add(mapper.readValue(json, AggTrade.class));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return page;
+        }
+    }
+
+    @Test
+    @DisplayName("A two-day aggTrades range is downloaded completely and in order")
+    void testDownloadRange() throws Exception {
+        // GIVEN
+        Path root = Files.createTempDirectory("history");
+        FakeExchange exchange = new FakeExchange();
+        exchange.rateLimitOnce.set(true);
+
+        try (TradeStoreWriter store = new TradeStoreWriter(root, 1024);
+             HistoricalTradeDownloader downloader = new HistoricalTradeDownloader(exchange, store,
+                     new WeightBudget(1_000_000, 0), 4, 8, 60, 100_000)) {
+
+            // WHEN
+            long written = downloader.download("BTCUSDT", DAY_ONE, DAY_ONE.plusDays(1),
+                    HistoricalTradeDownloader.Source.AGG_TRADES);
+
+            // THEN
+            assertEquals(2 * TRADES_PER_DAY, written);
+        }
+        long[] expected = {0};
+        long read = new TradeStoreReader(root).scan("BTCUSDT" + HistoricalTradeDownloader.AGG_SUFFIX,
+                BASE_TIME, BASE_TIME + 2 * 86_400_000L, block -> {
+                    for (int i = 0; i < block.size(); i++) {
+                        assertEquals(expected[0]++, block.getTradeIds()[i]);
+                    }
+                });
+        assertEquals(2 * TRADES_PER_DAY, read);
+        deleteRecursively(root);
+    }
+
+    @Test
+    @DisplayName("A failed job resumes from its checkpoint without refetching committed tasks")
+    void testResumeFromCheckpoint() throws Exception {
+        // GIVEN: the 10:00 window fails permanently on the first run
+        Path root = Files.createTempDirectory("history");
+        FakeExchange exchange = new FakeExchange();
+        exchange.failAtTime = BASE_TIME + 10 * 3_600_000L;
+
+        try (TradeStoreWriter store = new TradeStoreWriter(root, 1024);
+             HistoricalTradeDownloader downloader = new HistoricalTradeDownloader(exchange, store,
+                     new WeightBudget(1_000_000, 0), 2, 4, 60, 100_000)) {
+            assertThrows(IOException.class, () -> downloader.download("BTCUSDT", DAY_ONE, DAY_ONE,
+                    HistoricalTradeDownloader.Source.AGG_TRADES));
+        }
+
+        // WHEN: the job is run again
+        exchange.failAtTime = -1;
+        exchange.pageCalls.set(0);
+        long written;
+        try (TradeStoreWriter store = new TradeStoreWriter(root, 1024);
+             HistoricalTradeDownloader downloader = new HistoricalTradeDownloader(exchange, store,
+                     new WeightBudget(1_000_000, 0), 2, 4, 60, 100_000)) {
+            written = downloader.download("BTCUSDT", DAY_ONE, DAY_ONE, HistoricalTradeDownloader.Source.AGG_TRADES);
+
+            // THEN: a third run is a no-op
+            assertEquals(0, downloader.download("BTCUSDT", DAY_ONE, DAY_ONE, HistoricalTradeDownloader.Source.AGG_TRADES));
+        }
+
+        // THEN: only hours 10..23 were fetched again (one page per hour) and the day is complete
+        assertEquals(14 * 360, written);
+        assertEquals(14, exchange.pageCalls.get());
+        assertEquals(TRADES_PER_DAY, new TradeStoreReader(root).countDay("BTCUSDT@agg", BASE_TIME));
+        deleteRecursively(root);
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.stream.ticker.MarketTickerTable;
+import com.quant.crypto.stream.ticker.TickerField;
+import com.quant.crypto.stream.ticker.TickerFrameDecoder;
+import com.quant.crypto.stream.ticker.TickerRow;
+import com.quant.crypto.stream.ticker.TickerSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MarketTickerTable} and {@link TickerFrameDecoder}.
+ * Verifies frame decoding and that readers never observe a half-applied frame.
+ */
+public class MarketTickerTableTest {
+
+    private static final String MINI_FRAME = "[" +
+            "{\"e\":\"24hrMiniTicker\",\"E\":1700000000000,\"s\":\"BTCUSDT\",\"c\":\"37000.50\",\"o\":\"36000.00\"," +
+            "\"h\":\"37500.00\",\"l\":\"35800.10\",\"v\":\"1234.5\",\"q\":\"45000000.75\"}," +
+            "{\"e\":\"24hrMiniTicker\",\"E\":1700000000001,\"s\":\"SHIBUSDT\",\"c\":\"0.00000812\",\"o\":\"0.00000800\"," +
+            "\"h\":\"0.00000830\",\"l\":\"0.00000790\",\"v\":\"9.1e12\",\"q\":\"73000000\"}]";
+
+    private static final String FULL_FRAME = "{\"stream\":\"!ticker@arr\",\"data\":[" +
+            "{\"e\":\"24hrTicker\",\"E\":1700000001000,\"s\":\"BTCUSDT\",\"p\":\"1000.00\",\"P\":\"2.778\",\"w\":\"36900\"," +
+            "\"c\":\"37001.00\",\"Q\":\"0.01\",\"b\":\"37000.90\",\"B\":\"1.5\",\"a\":\"37001.10\",\"A\":\"0.7\"," +
+            "\"o\":\"36000.00\",\"h\":\"37500.00\",\"l\":\"35800.10\",\"v\":\"1240.0\",\"q\":\"45200000\"," +
+            "\"O\":1699913601000,\"C\":1700000001000,\"F\":100,\"L\":250099,\"n\":250000}]}";
+
+    @Test
+    @DisplayName("Mini and full ticker frames are decoded into the table")
+    void testDecodeFrames() {
+        // GIVEN
+        MarketTickerTable table = new MarketTickerTable(16);
+        TickerFrameDecoder decoder = new TickerFrameDecoder(table);
+        TickerRow row = new TickerRow();
+
+        // WHEN
+        int rows = decoder.decode(MINI_FRAME);
+
+        // THEN
+        assertEquals(2, rows);
+        assertEquals(2, table.size());
+        assertTrue(table.readRow("shibusdt", row));
+        assertEquals(0.00000812, row.getClose());
+        assertEquals(9.1e12, row.get(TickerField.BASE_VOLUME));
+        assertTrue(Double.isNaN(row.get(TickerField.BEST_BID)), "Mini ticker carries no book");
+
+        // WHEN: the full ticker updates BTC through a combined-stream wrapper
+        decoder.decode(FULL_FRAME);
+
+        // THEN: same id, new columns filled, untouched rows kept
+        assertEquals(2, table.size());
+        assertTrue(table.readRow("BTCUSDT", row));
+        assertEquals(0, row.getSymbolId());
+        assertEquals(37001.00, row.getClose());
+        assertEquals(37000.90, row.get(TickerField.BEST_BID));
+        assertEquals(2.778, row.get(TickerField.PRICE_CHANGE_PERCENT));
+        assertEquals(250000, row.getTradeCount());
+        assertEquals(1700000001000L, row.getEventTime());
+        assertEquals(1700000001000L, table.getLastFrameTime());
+        assertEquals(2, table.getVersion());
+    }
+
+    @Test
+    @DisplayName("Decimals with more digits than a double holds are parsed as the JDK parses them")
+    void testLongDecimals() {
+        // GIVEN: 8-decimal volumes whose 17-18 digit mantissas exceed 2^53
+        MarketTickerTable table = new MarketTickerTable(16);
+        TickerFrameDecoder decoder = new TickerFrameDecoder(table);
+        TickerRow row = new TickerRow();
+
+        // WHEN
+        decoder.decode("[{\"e\":\"24hrMiniTicker\",\"E\":1700000000000,\"s\":\"BTCUSDT\",\"c\":\"37000.50\"," +
+                "\"v\":\"123456789.12345678\",\"q\":\"39405703.200403676\"}]");
+
+        // THEN
+        assertTrue(table.readRow("BTCUSDT", row));
+        assertEquals(Double.parseDouble("39405703.200403676"), row.get(TickerField.QUOTE_VOLUME));
+        assertEquals(Double.parseDouble("123456789.12345678"), row.get(TickerField.BASE_VOLUME));
+        assertEquals(37000.50, row.getClose());
+
+        // WHEN: a real 8-decimal quote volume, and values whose padding zeros hide a short mantissa
+        decoder.decode("[{\"e\":\"24hrMiniTicker\",\"E\":1700000000001,\"s\":\"BTCUSDT\",\"c\":\"37000.50000000\"," +
+                "\"v\":\"98765.43210000\",\"q\":\"1234567890.12345678\"}]");
+
+        // THEN
+        assertTrue(table.readRow("BTCUSDT", row));
+        assertEquals(Double.parseDouble("1234567890.12345678"), row.get(TickerField.QUOTE_VOLUME));
+        assertEquals(98765.4321, row.get(TickerField.BASE_VOLUME));
+        assertEquals(37000.50, row.getClose());
+    }
+
+    @Test
+    @DisplayName("Long decimals round exactly like Double.parseDouble")
+    void testLongDecimalsRoundCorrectly() {
+        // GIVEN: random 8-decimal values with up to 11 integer digits, plus halfway-prone cases
+        MarketTickerTable table = new MarketTickerTable(16);
+        TickerFrameDecoder decoder = new TickerFrameDecoder(table);
+        TickerRow row = new TickerRow();
+        Random random = new Random(42);
+        StringBuilder frame = new StringBuilder();
+
+        for (int k = 0; k < 20_000; k++) {
+            String value = k < 3
+                    ? new String[]{"9007199254740993", "90071992547409.93", "4503599627370497.5"}[k]
+                    : (random.nextLong() & Long.MAX_VALUE) % 100_000_000_000L + "."
+                    + String.format("%08d", random.nextInt(100_000_000));
+            frame.setLength(0);
+            frame.append("[{\"s\":\"BTCUSDT\",\"c\":\"1\",\"q\":\"").append(value).append("\"}]");
+
+            // WHEN
+            decoder.decode(frame);
+
+            // THEN
+            assertTrue(table.readRow("BTCUSDT", row));
+            assertEquals(Double.parseDouble(value), row.get(TickerField.QUOTE_VOLUME), 0.0, value);
+        }
+    }
+
+    @Test
+    @DisplayName("Malformed frames are rejected")
+    void testMalformedFrame() {
+        MarketTickerTable table = new MarketTickerTable(16);
+        TickerFrameDecoder decoder = new TickerFrameDecoder(table);
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("[{\"s\":\"BTCUSDT\",\"c\":\"abc\"}]"));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("[{\"s\":\"BTCUSDT\""));
+    }
+
+    @Test
+    @DisplayName("Snapshots and row reads are consistent while the writer updates")
+    void testConsistentSnapshots() throws Exception {
+        // GIVEN: every frame sets all fields of all rows to the frame number
+        int symbols = 200;
+        MarketTickerTable table = new MarketTickerTable(symbols);
+        TickerFrameDecoder decoder = new TickerFrameDecoder(table);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> violation = new AtomicReference<>();
+
+        Thread writer = new Thread(() -> {
+            StringBuilder frame = new StringBuilder();
+            for (int k = 1; running.get(); k++) {
+                frame.setLength(0);
+                frame.append('[');
+                for (int i = 0; i < symbols; i++) {
+                    if (i > 0) frame.append(',');
+                    frame.append("{\"E\":").append(k).append(",\"s\":\"SYM").append(i)
+                            .append("\",\"c\":\"").append(k).append("\",\"o\":\"").append(k)
+                            .append("\",\"h\":\"").append(k).append("\",\"l\":\"").append(k).append("\"}");
+                }
+                frame.append(']');
+                decoder.decode(frame);
+            }
+        });
+        writer.start();
+
+        // WHEN
+        TickerSnapshot snapshot = table.newSnapshot();
+        TickerRow row = new TickerRow();
+        long deadline = System.currentTimeMillis() + 500;
+        int snapshots = 0;
+        while (System.currentTimeMillis() < deadline) {
+            table.snapshot(snapshot);
+            if (snapshot.size() == symbols) {
+                double[] close = snapshot.column(TickerField.CLOSE);
+                for (int i = 0; i < symbols; i++) {
+                    if (close[i] != close[0] || snapshot.eventTime(i) != (long) close[0]) {
+                        violation.set("Snapshot mixes frames at row " + i);
+                    }
+                }
+                snapshots++;
+            }
+            if (table.readRow("SYM7", row)) {
+                double c = row.getClose();
+                if (row.get(TickerField.OPEN) != c || row.get(TickerField.LOW) != c || row.getEventTime() != (long) c) {
+                    violation.set("Torn row " + row);
+                }
+            }
+        }
+        running.set(false);
+        writer.join();
+
+        // THEN
+        assertNull(violation.get(), violation.get());
+        assertTrue(snapshots > 0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.metrics.Counter;
+import com.quant.crypto.metrics.LatencyHistogram;
+import com.quant.crypto.metrics.MetricsHttpServer;
+import com.quant.crypto.metrics.MetricsRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MetricsRegistry} and {@link MetricsHttpServer}.
+ * Verifies the Prometheus text output and the embedded HTTP endpoint.
+ */
+public class MetricsRegistryTest {
+
+    @Test
+    @DisplayName("Counters, gauges and histograms render in Prometheus text format")
+    void testScrapeFormat() {
+        // GIVEN
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("stream_messages_total", "Messages", "symbol", "BTCUSDT");
+        LatencyHistogram histogram = registry.histogram("order_round_trip_seconds", "Round trip");
+        registry.gauge("dispatch_queue_depth", "Depth", () -> 7, "shard", "0");
+        registry.counter("dispatch_migrations_total", "Moves", () -> 4);
+
+        // WHEN
+        counter.add(3);
+        histogram.record(1_500);      // falls into the 2^11 ns bucket
+        histogram.record(5_000_000);  // ~5 ms
+        String text = registry.scrape();
+
+        // THEN
+        assertTrue(text.contains("# TYPE stream_messages_total counter"), text);
+        assertTrue(text.contains("stream_messages_total{symbol=\"BTCUSDT\"} 3"), text);
+        assertTrue(text.contains("dispatch_queue_depth{shard=\"0\"} 7.0"), text);
+        assertTrue(text.contains("# TYPE dispatch_migrations_total counter"), text);
+        assertTrue(text.contains("dispatch_migrations_total 4\n"), text);
+        assertTrue(text.contains("# TYPE order_round_trip_seconds histogram"), text);
+        assertTrue(text.contains("order_round_trip_seconds_bucket{le=\"2.048E-6\"} 1"), text);
+        assertTrue(text.contains("order_round_trip_seconds_bucket{le=\"+Inf\"} 2"), text);
+        assertTrue(text.contains("order_round_trip_seconds_count 2"), text);
+    }
+
+    @Test
+    @DisplayName("The same name and labels resolve to the same counter")
+    void testHandlesAreShared() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.counter("rest_responses_total", "Responses", "status", "200").increment();
+        registry.counter("rest_responses_total", "Responses", "status", "200").increment();
+
+        assertEquals(2, registry.counter("rest_responses_total", "Responses", "status", "200").get());
+        assertEquals(0, registry.counter("rest_responses_total", "Responses", "status", "429").get());
+    }
+
+    @Test
+    @DisplayName("The HTTP endpoint serves the registry")
+    void testHttpEndpoint() throws Exception {
+        // GIVEN
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("stream_reconnects_total", "Reconnects").increment();
+
+        try (MetricsHttpServer server = new MetricsHttpServer(0, registry)) {
+            server.start();
+
+            // WHEN
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/metrics")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            // THEN
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().contains("stream_reconnects_total 1"), response.body());
+        }
+    }
+}
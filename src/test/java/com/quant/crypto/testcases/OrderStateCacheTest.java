@@ -0,0 +1,198 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.model.Fill;
+import com.quant.crypto.model.OrderVerification;
+import com.quant.crypto.model.enums.OrderSide;
+import com.quant.crypto.model.enums.OrderStatus;
+import com.quant.crypto.model.enums.OrderType;
+import com.quant.crypto.userdata.Balance;
+import com.quant.crypto.userdata.OrderStateCache;
+import com.quant.crypto.userdata.UserDataEventDecoder;
+import com.quant.crypto.userdata.UserDataListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OrderStateCache} and {@link UserDataEventDecoder}.
+ */
+public class OrderStateCacheTest {
+
+    private static String executionReport(long orderId, String execType, String status, String lastQty,
+                                          String cumQty, String cumQuote) {
+        return "{\"e\":\"executionReport\",\"E\":1700000000100,\"s\":\"BTCUSDT\",\"c\":\"client-" + orderId + "\"," +
+                "\"S\":\"BUY\",\"o\":\"LIMIT\",\"f\":\"GTC\",\"q\":\"2.00000000\",\"p\":\"37000.00000000\"," +
+                "\"x\":\"" + execType + "\",\"X\":\"" + status + "\",\"r\":\"NONE\",\"i\":" + orderId + "," +
+                "\"l\":\"" + lastQty + "\",\"z\":\"" + cumQty + "\",\"L\":\"37000.00000000\",\"n\":\"0\"," +
+                "\"N\":null,\"T\":1700000000099,\"t\":-1,\"w\":true,\"m\":false,\"O\":1700000000000," +
+                "\"Z\":\"" + cumQuote + "\"}";
+    }
+
+    @Test
+    @DisplayName("Execution reports drive the order through NEW, PARTIALLY_FILLED and FILLED")
+    void testOrderLifecycle() {
+        // GIVEN
+        OrderStateCache cache = new OrderStateCache(16);
+        List<Fill> fills = new ArrayList<>();
+        UserDataEventDecoder decoder = new UserDataEventDecoder(cache, new UserDataListener() {
+            @Override
+            public void onFill(Fill fill) {
+                fills.add(fill);
+            }
+        });
+        OrderVerification order = new OrderVerification();
+
+        // WHEN
+        decoder.decode(executionReport(42, "NEW", "NEW", "0", "0", "0"));
+
+        // THEN
+        assertEquals(OrderStatus.NEW, cache.getStatus(42));
+        assertEquals(1, cache.getOpenOrderCount());
+
+        // WHEN
+        decoder.decode(executionReport(42, "TRADE", "PARTIALLY_FILLED", "0.5", "0.5", "18500"));
+        decoder.decode(executionReport(42, "TRADE", "FILLED", "1.5", "2.0", "74000"));
+
+        // THEN
+        assertTrue(cache.read(42, order));
+        assertEquals(OrderStatus.FILLED, order.getStatus());
+        assertEquals(OrderSide.BUY, order.getSide());
+        assertEquals(OrderType.LIMIT, order.getType());
+        assertEquals("client-42", order.getClientOrderId());
+        assertEquals(2.0, order.getExecutedQuantity());
+        assertEquals(37000.0, order.getAveragePrice(), 1e-9);
+        assertEquals(2.0, cache.getExecutedQuantity(42));
+        assertEquals(0, cache.getOpenOrderCount());
+        assertEquals(2, fills.size());
+        assertEquals(1.5, fills.get(1).getQuantity());
+
+        assertNull(cache.getStatus(7));
+        assertFalse(cache.read(7, order));
+    }
+
+    private static String restOrder(long orderId, String status, String executedQty, long updateTime) {
+        return "{\"symbol\":\"BTCUSDT\",\"orderId\":" + orderId + ",\"orderListId\":-1," +
+                "\"clientOrderId\":\"client-" + orderId + "\",\"price\":\"37000.00000000\"," +
+                "\"origQty\":\"2.00000000\",\"executedQty\":\"" + executedQty + "\"," +
+                "\"cummulativeQuoteQty\":\"0.00000000\",\"status\":\"" + status + "\",\"timeInForce\":\"GTC\"," +
+                "\"type\":\"LIMIT\",\"side\":\"BUY\",\"time\":1699999999000,\"updateTime\":" + updateTime + "," +
+                "\"isWorking\":true}";
+    }
+
+    @Test
+    @DisplayName("REST order states re-sync the cache without overwriting newer stream updates")
+    void testOrderSnapshots() {
+        // GIVEN: two open orders seen on the stream (last update at ...099)
+        OrderStateCache cache = new OrderStateCache(16);
+        List<Long> updates = new ArrayList<>();
+        UserDataEventDecoder decoder = new UserDataEventDecoder(cache, new UserDataListener() {
+            @Override
+            public void onOrderUpdate(OrderVerification order) {
+                updates.add(order.getOrderId());
+            }
+        });
+        decoder.decode(executionReport(1, "NEW", "NEW", "0", "0", "0"));
+        decoder.decode(executionReport(2, "TRADE", "PARTIALLY_FILLED", "0.5", "0.5", "18500"));
+        updates.clear();
+
+        // WHEN: openOrders lists order 2 and a new order 3; order 1 was filled while disconnected
+        Set<Long> open = decoder.applyOrderSnapshots("[" + restOrder(2, "PARTIALLY_FILLED", "1.00000000", 1700000000500L)
+                + "," + restOrder(3, "NEW", "0.00000000", 1700000000600L) + "]");
+        decoder.applyOrderSnapshots(restOrder(1, "FILLED", "2.00000000", 1700000000400L));
+
+        // THEN
+        assertEquals(Set.of(2L, 3L), open);
+        assertEquals(OrderStatus.FILLED, cache.getStatus(1));
+        assertEquals(1.0, cache.getExecutedQuantity(2));
+        assertEquals(OrderStatus.NEW, cache.getStatus(3));
+        assertEquals(2, cache.getOpenOrderCount());
+        assertEquals(List.of(2L, 3L, 1L), updates);
+
+        // WHEN: a snapshot older than the cached state arrives
+        decoder.applyOrderSnapshots(restOrder(2, "NEW", "0.00000000", 1700000000000L));
+
+        // THEN: it is ignored
+        assertEquals(1.0, cache.getExecutedQuantity(2));
+        assertEquals(3, updates.size());
+        assertFalse(cache.isStale());
+    }
+
+    @Test
+    @DisplayName("Account positions update balances and a full cache recycles final orders first")
+    void testBalancesAndEviction() {
+        // GIVEN
+        OrderStateCache cache = new OrderStateCache(4);
+        AtomicReference<Balance> lastBalance = new AtomicReference<>();
+        UserDataEventDecoder decoder = new UserDataEventDecoder(cache, new UserDataListener() {
+            @Override
+            public void onBalance(Balance balance) {
+                lastBalance.set(balance);
+            }
+        });
+
+        // WHEN
+        String type = decoder.decode("{\"e\":\"outboundAccountPosition\",\"E\":1700000000000,\"u\":1700000000001," +
+                "\"B\":[{\"a\":\"BTC\",\"f\":\"1.5\",\"l\":\"0.5\"},{\"a\":\"USDT\",\"f\":\"1000\",\"l\":\"0\"}]}");
+
+        // THEN
+        assertEquals(UserDataEventDecoder.ACCOUNT_POSITION, type);
+        assertEquals(2.0, cache.getBalance("btc").getTotal());
+        assertEquals("USDT", lastBalance.get().getAsset());
+
+        // WHEN: orders 1 (filled), 2, 3, 4 (open) fill the cache, then order 5 arrives
+        decoder.decode(executionReport(1, "TRADE", "FILLED", "2", "2", "74000"));
+        for (long id = 2; id <= 4; id++) {
+            decoder.decode(executionReport(id, "NEW", "NEW", "0", "0", "0"));
+        }
+        decoder.decode(executionReport(5, "NEW", "NEW", "0", "0", "0"));
+
+        // THEN: the filled order made room; every open order is still cached
+        assertNull(cache.getStatus(1));
+        for (long id = 2; id <= 5; id++) {
+            assertEquals(OrderStatus.NEW, cache.getStatus(id));
+        }
+        assertEquals(4, cache.getOpenOrderCount());
+        assertEquals(0, cache.getEvictedOpenOrders());
+    }
+
+    @Test
+    @DisplayName("Readers never see a torn order row while the writer updates it")
+    void testConcurrentReads() throws InterruptedException {
+        // GIVEN: the writer keeps cumulative quote = executed quantity * 100
+        OrderStateCache cache = new OrderStateCache(1024);
+        UserDataEventDecoder decoder = new UserDataEventDecoder(cache, new UserDataListener() {
+        });
+        decoder.decode(executionReport(9, "NEW", "NEW", "0", "0", "0"));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean torn = new AtomicBoolean();
+
+        Thread reader = new Thread(() -> {
+            OrderVerification order = new OrderVerification();
+            while (running.get()) {
+                if (cache.read(9, order) && order.getCumulativeQuoteQuantity() != order.getExecutedQuantity() * 100) {
+                    torn.set(true);
+                }
+            }
+        });
+        reader.start();
+
+        // WHEN: the order is updated while other orders churn the index
+        for (int i = 1; i <= 5_000; i++) {
+            decoder.decode(executionReport(9, "TRADE", "PARTIALLY_FILLED", "1", String.valueOf(i), String.valueOf(i * 100)));
+            decoder.decode(executionReport(1000 + i, "TRADE", "FILLED", "1", "1", "100"));
+        }
+        running.set(false);
+        reader.join();
+
+        // THEN
+        assertFalse(torn.get());
+        assertEquals(5_000.0, cache.getExecutedQuantity(9));
+    }
+}
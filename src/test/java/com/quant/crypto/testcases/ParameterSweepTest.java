@@ -0,0 +1,140 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.backtest.BacktestResult;
+import com.quant.crypto.backtest.EmaCrossRun;
+import com.quant.crypto.backtest.ParameterGrid;
+import com.quant.crypto.backtest.ParameterSet;
+import com.quant.crypto.backtest.ParameterSweep;
+import com.quant.crypto.backtest.SweepReport;
+import com.quant.crypto.store.TradeStoreReader;
+import com.quant.crypto.store.TradeStoreWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ParameterSweep} over a synthetic history written to a temporary store.
+ */
+public class ParameterSweepTest {
+
+    private static final long BASE_TIME = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+    private static final int TRADES = 50_000;
+
+    @Test
+    @DisplayName("Grid is expanded, filtered and ordered with the first axis varying slowest")
+    void testGridExpansion() {
+        // WHEN
+        List<ParameterSet> sets = ParameterGrid.of()
+                .withRange("fast", 5, 20, 5)
+                .withValues("slow", 10, 50)
+                .where(p -> p.get("fast") < p.get("slow"))
+                .sets();
+
+        // THEN: (5,10) (5,50) (10,50) (15,50) (20,50)
+        assertEquals(5, sets.size());
+        assertEquals("fast=5, slow=10", sets.get(0).toString());
+        assertEquals(20, sets.get(4).getInt("fast"));
+        assertThrows(IllegalArgumentException.class, () -> sets.get(0).get("size"));
+    }
+
+    @Test
+    @DisplayName("A parallel sweep ranks every run and matches a sequential sweep exactly")
+    void testParallelMatchesSequential() throws Exception {
+        // GIVEN
+        Path root = writeHistory();
+        List<ParameterSet> grid = ParameterGrid.of()
+                .withValues("fast", 5, 10, 20, 40)
+                .withValues("slow", 50, 100, 200)
+                .sets();
+        TradeStoreReader reader = new TradeStoreReader(root);
+
+        // WHEN
+        SweepReport parallel;
+        SweepReport sequential;
+        try (ParameterSweep sweep = new ParameterSweep(reader, 4, 2, 0.001)) {
+            parallel = sweep.run("BTCUSDT", BASE_TIME, BASE_TIME + TRADES * 1000L, grid, EmaCrossRun.FACTORY);
+        }
+        try (ParameterSweep sweep = new ParameterSweep(reader, 1, 1, 0.001)) {
+            sequential = sweep.run("BTCUSDT", BASE_TIME, BASE_TIME + TRADES * 1000L, grid, EmaCrossRun.FACTORY);
+        }
+
+        // THEN
+        List<BacktestResult> ranked = parallel.getRanked();
+        assertEquals(grid.size(), ranked.size());
+        for (int i = 1; i < ranked.size(); i++) {
+            assertTrue(ranked.get(i - 1).getPnl() >= ranked.get(i).getPnl(), "Results must be ranked by PnL");
+        }
+        Map<ParameterSet, BacktestResult> expected = new HashMap<>();
+        for (BacktestResult result : sequential.getRanked()) {
+            expected.put(result.getParameters(), result);
+        }
+        for (BacktestResult result : ranked) {
+            BacktestResult other = expected.get(result.getParameters());
+            assertEquals(TRADES, result.getTradesProcessed());
+            assertEquals(other.getPnl(), result.getPnl(), 0.0);
+            assertEquals(other.getFills(), result.getFills());
+            assertTrue(result.getFills() > 0);
+        }
+        assertEquals(grid.size() * (long) TRADES, parallel.getTotalTradesReplayed());
+        deleteRecursively(root);
+    }
+
+    @Test
+    @DisplayName("Fees and drawdown are accounted for a single round trip")
+    void testAccounting() throws Exception {
+        // GIVEN: price ramps up then down, so the fast EMA crosses above and back below the slow one
+        Path root = Files.createTempDirectory("backtest");
+        try (TradeStoreWriter writer = new TradeStoreWriter(root, 256)) {
+            for (int i = 0; i < 1000; i++) {
+                double price = i < 500 ? 100 + i * 0.1 : 150 - (i - 500) * 0.1;
+                writer.append("ETHUSDT", i, price, 1.0, BASE_TIME + i * 1000L, false);
+            }
+        }
+        List<ParameterSet> grid = ParameterGrid.of().withValues("fast", 3).withValues("slow", 30).sets();
+
+        // WHEN
+        BacktestResult result;
+        try (ParameterSweep sweep = new ParameterSweep(new TradeStoreReader(root), 1, 8, 0.001)) {
+            result = sweep.run("ETHUSDT", BASE_TIME, BASE_TIME + 1_000_000L, grid, EmaCrossRun.FACTORY).getBest();
+        }
+
+        // THEN: one entry and one exit, each charged 0.1% of notional
+        assertEquals(2, result.getFills());
+        assertEquals(result.getTurnover() * 0.001, result.getFees(), 1e-9);
+        assertTrue(result.getPnl() > 0);
+        assertTrue(result.getMaxDrawdown() > 0);
+        deleteRecursively(root);
+    }
+
+    /**
+     * Writes a random walk of one trade per second.
+     */
+    private static Path writeHistory() throws IOException {
+        Path root = Files.createTempDirectory("backtest");
+        java.util.Random random = new java.util.Random(42);
+        double price = 60_000;
+        try (TradeStoreWriter writer = new TradeStoreWriter(root, 1024)) {
+            for (int i = 0; i < TRADES; i++) {
+                price = Math.max(1, price + random.nextGaussian() * 20);
+                writer.append("BTCUSDT", i, Math.round(price * 100) / 100.0, 0.01, BASE_TIME + i * 1000L, random.nextBoolean());
+            }
+        }
+        return root;
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.model.TradeEventListener;
+import com.quant.crypto.stream.shard.ShardedDispatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShardedDispatcher}.
+ * Verifies that each symbol is handled by a single thread, in publish order, also across a migration.
+ */
+public class ShardedDispatcherTest {
+
+    @Test
+    @DisplayName("Each symbol is delivered in order on exactly one shard thread")
+    void testSingleWriterPerSymbol() throws Exception {
+        // GIVEN
+        String[] symbols = {"BTCUSDT", "ETHUSDT", "BNBUSDT", "SOLUSDT", "XRPUSDT", "ADAUSDT"};
+        int tradesPerSymbol = 20_000;
+        CountDownLatch done = new CountDownLatch(symbols.length * tradesPerSymbol);
+        Map<String, Long> lastId = new ConcurrentHashMap<>();
+        Map<String, Thread> owner = new ConcurrentHashMap<>();
+        AtomicBoolean violation = new AtomicBoolean();
+
+        try (ShardedDispatcher dispatcher = new ShardedDispatcher(3, 1024, new int[0], false, 1000)) {
+            dispatcher.subscribe(new TradeEventListener() {
+                @Override
+                public void onTradeEvent(double price, long eventTime) {
+                }
+
+                @Override
+                public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+                    Long previous = lastId.put(symbol, tradeId);
+                    if (previous != null && previous + 1 != tradeId) violation.set(true);
+                    if (owner.putIfAbsent(symbol, Thread.currentThread()) != null
+                            && owner.get(symbol) != Thread.currentThread()) violation.set(true);
+                    done.countDown();
+                }
+            });
+            dispatcher.start();
+
+            // WHEN: one producer thread per symbol, as the stream client does
+            Thread[] producers = new Thread[symbols.length];
+            for (int s = 0; s < symbols.length; s++) {
+                String symbol = symbols[s];
+                producers[s] = new Thread(() -> {
+                    for (long id = 1; id <= tradesPerSymbol; id++) {
+                        dispatcher.onTrade(symbol, id, 100.0, 1.0, id, false);
+                    }
+                });
+                producers[s].start();
+            }
+            for (Thread producer : producers) producer.join();
+
+            // THEN
+            assertTrue(done.await(10, TimeUnit.SECONDS), "All trades should be delivered");
+            assertFalse(violation.get(), "Per-symbol order or single-writer guarantee was broken");
+            // Shard counters are published after each drained batch, so allow them to catch up
+            long expected = (long) symbols.length * tradesPerSymbol;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            long processed;
+            do {
+                processed = 0;
+                for (int i = 0; i < dispatcher.getShardCount(); i++) processed += dispatcher.getProcessed(i);
+            } while (processed < expected && System.nanoTime() < deadline);
+            assertEquals(expected, processed);
+            for (String symbol : symbols) {
+                assertEquals(tradesPerSymbol, (long) lastId.get(symbol));
+                assertTrue(dispatcher.shardOf(symbol) >= 0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A migrated symbol keeps its order and does not stall the target shard")
+    void testMigrationKeepsOrder() throws Exception {
+        // GIVEN: two shards, the old shard of BTCUSDT blocked on its first trade
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(100);
+        CountDownLatch btcDone = new CountDownLatch(1000);
+        List<Long> btcIds = new CopyOnWriteArrayList<>();
+        Map<Long, Thread> btcThreads = new ConcurrentHashMap<>();
+
+        try (ShardedDispatcher dispatcher = new ShardedDispatcher(2, 1024, new int[0], false, 60_000)) {
+            dispatcher.subscribe(new TradeEventListener() {
+                @Override
+                public void onTradeEvent(double price, long eventTime) {
+                }
+
+                @Override
+                public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+                    if (!symbol.equals("BTCUSDT")) {
+                        otherDone.countDown();
+                        return;
+                    }
+                    if (tradeId == 1) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    btcIds.add(tradeId);
+                    btcThreads.put(tradeId, Thread.currentThread());
+                    btcDone.countDown();
+                }
+            });
+            dispatcher.start();
+
+            dispatcher.onTrade("BTCUSDT", 1, 100.0, 1.0, 1, false);
+            int source = dispatcher.shardOf("BTCUSDT");
+            int target = 1 - source;
+            String other = null;
+            for (int n = 0; other == null; n++) {
+                String candidate = "SYM" + n + "USDT";
+                dispatcher.onTrade(candidate, 0, 1.0, 1.0, 0, false);
+                if (dispatcher.shardOf(candidate) == target) other = candidate;
+            }
+            for (long id = 2; id <= 500; id++) dispatcher.onTrade("BTCUSDT", id, 100.0, 1.0, id, false);
+
+            // WHEN: BTCUSDT moves while its old shard still holds 500 of its trades
+            assertTrue(dispatcher.requestMove("BTCUSDT", target));
+            for (long id = 501; id <= 1000; id++) dispatcher.onTrade("BTCUSDT", id, 100.0, 1.0, id, false);
+            for (long id = 1; id <= 100; id++) dispatcher.onTrade(other, id, 1.0, 1.0, id, false);
+
+            // THEN: the target shard keeps serving its own symbols meanwhile
+            assertEquals(target, dispatcher.shardOf("BTCUSDT"));
+            assertEquals(1, dispatcher.getMigrations());
+            assertTrue(otherDone.await(5, TimeUnit.SECONDS), "Target shard stalled behind the migration");
+            assertTrue(btcIds.isEmpty());
+
+            // WHEN: the old shard drains
+            release.countDown();
+
+            // THEN: every trade exactly once, in order, before and after the move on one thread each
+            assertTrue(btcDone.await(5, TimeUnit.SECONDS), "All trades should be delivered");
+            assertEquals(1000, btcIds.size());
+            for (int k = 0; k < 1000; k++) assertEquals(k + 1, (long) btcIds.get(k));
+            assertNotSame(btcThreads.get(500L), btcThreads.get(501L));
+            assertSame(btcThreads.get(1L), btcThreads.get(500L));
+            assertSame(btcThreads.get(501L), btcThreads.get(1000L));
+            assertTrue(dispatcher.requestMove("BTCUSDT", source), "Gate should open after the parked trades");
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.model.Fill;
+import com.quant.crypto.model.enums.OrderSide;
+import com.quant.crypto.service.StrategyService;
+import com.quant.crypto.strategy.CircuitBreaker;
+import com.quant.crypto.strategy.Strategy;
+import com.quant.crypto.strategy.StrategyRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StrategyService}.
+ * Verifies the strategy lifecycle and latency circuit breaker isolation.
+ */
+public class StrategyServiceTest {
+
+    private final StrategyService service = new StrategyService(1_000, 2, 60_000, 100);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Strategies run through init, events, fills and shutdown")
+    void testLifecycle() throws Exception {
+        // GIVEN
+        CountDownLatch initialized = new CountDownLatch(1);
+        CountDownLatch filled = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        AtomicInteger trades = new AtomicInteger();
+
+        service.register(new Strategy() {
+            @Override
+            public String getName() {
+                return "lifecycle";
+            }
+
+            @Override
+            public void init() {
+                initialized.countDown();
+            }
+
+            @Override
+            public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+                trades.incrementAndGet();
+            }
+
+            @Override
+            public void onFill(Fill fill) {
+                filled.countDown();
+            }
+
+            @Override
+            public void shutdown() {
+                stopped.countDown();
+            }
+        });
+
+        // WHEN
+        service.start();
+        service.onTrade("BTCUSDT", 1, 100.0, 1.0, 1, false);
+        service.onTrade("BTCUSDT", 2, 101.0, 1.0, 2, true);
+        service.onFill(new Fill("BTCUSDT", 42, OrderSide.BUY, 100.0, 0.001, 3));
+
+        // THEN
+        assertTrue(initialized.await(5, TimeUnit.SECONDS), "init() should be called");
+        assertTrue(filled.await(5, TimeUnit.SECONDS), "onFill() should be called");
+        assertEquals(2, trades.get());
+        service.shutdown();
+        assertTrue(stopped.await(5, TimeUnit.SECONDS), "shutdown() should be called");
+    }
+
+    @Test
+    @DisplayName("Stopping delivers queued fills, drops queued trades, and the service can restart")
+    void testStopDeliversFillsAndRestarts() throws Exception {
+        // GIVEN: a strategy blocked on its first trade with more trades and a fill queued behind it
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger inits = new AtomicInteger();
+        AtomicInteger trades = new AtomicInteger();
+        AtomicInteger fills = new AtomicInteger();
+        StrategyRunner runner = service.register(new Strategy() {
+            @Override
+            public String getName() {
+                return "restartable";
+            }
+
+            @Override
+            public void init() {
+                inits.incrementAndGet();
+            }
+
+            @Override
+            public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+                trades.incrementAndGet();
+                if (tradeId == 1) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+            @Override
+            public void onFill(Fill fill) {
+                fills.incrementAndGet();
+            }
+        });
+        service.start();
+        service.onTrade("BTCUSDT", 1, 100.0, 1.0, 1, false);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 2; i <= 5; i++) service.onTrade("BTCUSDT", i, 100.0, 1.0, i, false);
+        service.onFill(new Fill("BTCUSDT", 42, OrderSide.BUY, 100.0, 0.001, 6));
+
+        // WHEN
+        Thread stopper = new Thread(service::shutdown);
+        stopper.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (runner.getInboxDepth() != 2 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        stopper.join(TimeUnit.SECONDS.toMillis(10));
+
+        // THEN: the fill is delivered, the queued trades are not
+        assertEquals(1, fills.get());
+        assertEquals(1, trades.get());
+
+        // WHEN: restarted
+        service.start();
+        service.onTrade("BTCUSDT", 7, 100.0, 1.0, 7, false);
+
+        // THEN
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (trades.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(2, trades.get());
+        assertEquals(2, inits.get());
+    }
+
+    @Test
+    @DisplayName("A slow strategy trips its breaker without affecting a fast one")
+    void testSlowStrategyIsolated() throws Exception {
+        // GIVEN: 1 ms budget, two breaches trip the breaker
+        AtomicInteger fastTrades = new AtomicInteger();
+        StrategyRunner slow = service.register(new Strategy() {
+            @Override
+            public String getName() {
+                return "slow";
+            }
+
+            @Override
+            public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        service.register(new Strategy() {
+            @Override
+            public String getName() {
+                return "fast";
+            }
+
+            @Override
+            public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime, boolean buyerMaker) {
+                fastTrades.incrementAndGet();
+            }
+        });
+        service.start();
+
+        // WHEN
+        for (int i = 1; i <= 50; i++) {
+            service.onTrade("BTCUSDT", i, 100.0, 1.0, i, false);
+            Thread.sleep(2);
+        }
+
+        // THEN
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (fastTrades.get() < 50 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(50, fastTrades.get(), "Fast strategy must see every trade");
+        assertEquals(CircuitBreaker.State.OPEN, slow.getBreakerState());
+        assertEquals(1, slow.getBreakerTrips());
+        assertTrue(slow.getShed() > 0, "Slow strategy should have been withheld from the feed");
+    }
+}
@@ -0,0 +1,176 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.model.TradeEventListener;
+import com.quant.crypto.stream.TradeBatchView;
+import com.quant.crypto.stream.TradeBatchListener;
+import com.quant.crypto.stream.TradeBatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TradeBatcher} batch delivery.
+ */
+public class TradeBatcherTest {
+
+    @Test
+    @DisplayName("Queued trades are drained in batches of at most the batch size and replayed per trade")
+    void testDrainsQueuedTradesInBatches() throws Exception {
+        // GIVEN: 1000 trades queued before the delivery thread starts
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        double[] notional = new double[1];
+        List<TradeBatchListener> batchListeners = new CopyOnWriteArrayList<>();
+        batchListeners.add(batch -> {
+            batchSizes.add(batch.size());
+            double[] prices = batch.prices();
+            double[] quantities = batch.quantities();
+            for (int i = 0; i < batch.size(); i++) {
+                notional[0] += prices[i] * quantities[i];
+            }
+        });
+        List<Long> perTrade = new CopyOnWriteArrayList<>();
+        List<TradeEventListener> listeners = new CopyOnWriteArrayList<>();
+        listeners.add(recorder(perTrade));
+
+        TradeBatcher batcher = new TradeBatcher(2048, 512, listeners, batchListeners);
+        for (int i = 1; i <= 1000; i++) {
+            batcher.onTrade("BTCUSDT", i, 100.0, 0.5, 1700000000000L + i, false);
+        }
+
+        // WHEN
+        batcher.start();
+        waitFor(() -> perTrade.size() == 1000);
+        batcher.close();
+
+        // THEN
+        assertEquals(List.of(512, 488), batchSizes);
+        assertEquals(1000 * 50.0, notional[0], 1e-6);
+        for (int i = 0; i < perTrade.size(); i++) {
+            assertEquals(i + 1, perTrade.get(i).longValue());
+        }
+    }
+
+    @Test
+    @DisplayName("A per-trade listener that fails on one trade still receives the rest of the batch")
+    void testFailingTradeDoesNotDropBatch() throws Exception {
+        // GIVEN: a listener throwing on trade 3, queued into one batch with 9 others
+        List<Long> received = new CopyOnWriteArrayList<>();
+        TradeEventListener recorder = recorder(received);
+        List<TradeEventListener> listeners = new CopyOnWriteArrayList<>();
+        listeners.add(new TradeEventListener() {
+            @Override
+            public void onTradeEvent(double price, long eventTime) {
+            }
+
+            @Override
+            public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime,
+                                boolean buyerMaker) {
+                if (tradeId == 3) throw new IllegalStateException("listener bug");
+                recorder.onTrade(symbol, tradeId, price, quantity, eventTime, buyerMaker);
+            }
+        });
+        TradeBatcher batcher = new TradeBatcher(64, 64, listeners, new CopyOnWriteArrayList<>());
+        for (int i = 1; i <= 10; i++) {
+            batcher.onTrade("BTCUSDT", i, 100.0, 1.0, 1700000000000L + i, false);
+        }
+
+        // WHEN
+        batcher.start();
+        waitFor(() -> received.size() == 9);
+        batcher.close();
+
+        // THEN: only the failing trade is missing
+        assertEquals(List.of(1L, 2L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), received);
+    }
+
+    @Test
+    @DisplayName("Concurrent producers keep per-symbol order through a small ring")
+    void testConcurrentProducersKeepOrder() throws Exception {
+        // GIVEN
+        int perSymbol = 20_000;
+        AtomicLong delivered = new AtomicLong();
+        long[] lastId = new long[2];
+        boolean[] outOfOrder = new boolean[1];
+        List<TradeBatchListener> batchListeners = new CopyOnWriteArrayList<>();
+        batchListeners.add(batch -> {
+            for (int i = 0; i < batch.size(); i++) {
+                int s = batch.symbol(i).equals("BTCUSDT") ? 0 : 1;
+                if (batch.tradeId(i) != lastId[s] + 1) outOfOrder[0] = true;
+                lastId[s] = batch.tradeId(i);
+            }
+            delivered.addAndGet(batch.size());
+        });
+        TradeBatcher batcher = new TradeBatcher(256, 64, new CopyOnWriteArrayList<>(), batchListeners);
+        batcher.start();
+
+        // WHEN
+        Thread btc = producer(batcher, "BTCUSDT", perSymbol);
+        Thread eth = producer(batcher, "ETHUSDT", perSymbol);
+        btc.start();
+        eth.start();
+        btc.join();
+        eth.join();
+        waitFor(() -> delivered.get() == 2L * perSymbol);
+        batcher.close();
+
+        // THEN
+        assertFalse(outOfOrder[0], "Trades of a symbol were reordered");
+        assertEquals(perSymbol, lastId[0]);
+        assertEquals(perSymbol, lastId[1]);
+    }
+
+    @Test
+    @DisplayName("The batch view rejects overflow and replays its trades in order")
+    void testBatchView() {
+        // GIVEN
+        TradeBatchView batch = new TradeBatchView(2);
+        batch.add("BTCUSDT", 7, 1.5, 2.0, 1000, true);
+        batch.add("BTCUSDT", 8, 1.6, 3.0, 1001, false);
+
+        // WHEN / THEN
+        assertTrue(batch.isFull());
+        assertThrows(IllegalStateException.class, () -> batch.add("BTCUSDT", 9, 1.7, 1.0, 1002, false));
+        List<Long> replayed = new ArrayList<>();
+        batch.deliverTo(recorder(replayed));
+        assertEquals(List.of(7L, 8L), replayed);
+
+        batch.clear();
+        assertEquals(0, batch.size());
+    }
+
+    private static TradeEventListener recorder(List<Long> tradeIds) {
+        return new TradeEventListener() {
+            @Override
+            public void onTradeEvent(double price, long eventTime) {
+            }
+
+            @Override
+            public void onTrade(String symbol, long tradeId, double price, double quantity, long eventTime,
+                                boolean buyerMaker) {
+                tradeIds.add(tradeId);
+            }
+        };
+    }
+
+    private static Thread producer(TradeBatcher batcher, String symbol, int count) {
+        return new Thread(() -> {
+            for (int i = 1; i <= count; i++) {
+                batcher.onTrade(symbol, i, 100.0 + i, 1.0, 1700000000000L + i, false);
+            }
+        });
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("Timed out waiting for batch delivery");
+            Thread.sleep(5);
+        }
+    }
+}
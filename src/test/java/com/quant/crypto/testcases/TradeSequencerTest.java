@@ -0,0 +1,86 @@
+package com.quant.crypto.testcases;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quant.crypto.model.Trade;
+import com.quant.crypto.stream.TradeSequencer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TradeSequencer}.
+ * Verifies duplicate suppression and REST backfill of trade-id gaps.
+ */
+public class TradeSequencerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<Double> delivered = new ArrayList<>();
+
+    private Trade trade(long id) {
+        try {
+            return mapper.readValue("{\"id\":" + id + ",\"price\":" + id + ",\"time\":" + id + "}", Trade.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Duplicates from an overlapping connection are dropped")
+    void testDuplicatesDropped() {
+        // GIVEN
+        TradeSequencer sequencer = new TradeSequencer("BTCUSDT", (s, from, limit) -> List.of(),
+                (price, time) -> delivered.add(price), 100);
+
+        // WHEN
+        sequencer.onTrade(1, 1, 1, 1, false);
+        sequencer.onTrade(2, 2, 1, 2, false);
+        boolean accepted = sequencer.onTrade(2, 2, 1, 2, false);
+
+        // THEN
+        assertFalse(accepted, "Replayed trade id must be rejected");
+        assertEquals(List.of(1.0, 2.0), delivered);
+        assertEquals(1, sequencer.getDuplicatesDropped());
+    }
+
+    @Test
+    @DisplayName("Gaps are backfilled in order before the live trade")
+    void testGapBackfilled() {
+        // GIVEN: REST serves two trades per page to exercise paging
+        TradeSequencer sequencer = new TradeSequencer("BTCUSDT", (s, from, limit) -> {
+            List<Trade> page = new ArrayList<>();
+            for (long id = from; id < from + Math.min(2, limit); id++) page.add(trade(id));
+            return page;
+        }, (price, time) -> delivered.add(price), 100);
+
+        // WHEN
+        sequencer.onTrade(10, 10, 1, 10, false);
+        sequencer.onTrade(15, 15, 1, 15, false);
+
+        // THEN
+        assertEquals(List.of(10.0, 11.0, 12.0, 13.0, 14.0, 15.0), delivered);
+        assertEquals(1, sequencer.getGapsDetected());
+        assertEquals(4, sequencer.getTradesBackfilled());
+        assertEquals(15, sequencer.getLastTradeId());
+    }
+
+    @Test
+    @DisplayName("Oversized gaps are skipped instead of flooding the REST API")
+    void testOversizedGapSkipped() {
+        // GIVEN
+        TradeSequencer sequencer = new TradeSequencer("BTCUSDT", (s, from, limit) -> {
+            throw new AssertionError("Backfill must not be called");
+        }, (price, time) -> delivered.add(price), 3);
+
+        // WHEN
+        sequencer.onTrade(1, 1, 1, 1, false);
+        sequencer.onTrade(100, 100, 1, 100, false);
+
+        // THEN
+        assertEquals(List.of(1.0, 100.0), delivered);
+        assertEquals(0, sequencer.getTradesBackfilled());
+    }
+}
@@ -0,0 +1,206 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.store.TradeStoreReader;
+import com.quant.crypto.store.TradeStoreWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TradeStoreWriter} and {@link TradeStoreReader}.
+ * Verifies lossless round trips, time-range pruning, compression and torn-tail recovery.
+ */
+public class TradeStoreTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final long START = 1_700_006_400_000L; // 2023-11-15T00:00:00Z
+
+    @Test
+    @DisplayName("Trades round-trip exactly across day partitions and range queries prune blocks")
+    void testRoundTripAndRangeQuery() throws IOException {
+        // GIVEN: 20,000 trades spread over two UTC days
+        Path root = Files.createTempDirectory("trade-store");
+        int n = 20_000;
+        long[] ids = new long[n];
+        long[] times = new long[n];
+        double[] prices = new double[n];
+        double[] quantities = new double[n];
+        boolean[] makers = new boolean[n];
+        Random random = new Random(42);
+        long price = 3_700_000; // cents
+        for (int i = 0; i < n; i++) {
+            ids[i] = 5_000_000_000L + i;
+            times[i] = START + DAY - 10_000 * 1000L + i * 1000L;
+            price += random.nextInt(21) - 10;
+            prices[i] = price / 100.0;
+            quantities[i] = (1 + random.nextInt(50_000)) / 100_000.0;
+            makers[i] = random.nextBoolean();
+        }
+
+        try {
+            // WHEN
+            try (TradeStoreWriter writer = new TradeStoreWriter(root, 1024)) {
+                for (int i = 0; i < n; i++) {
+                    writer.append("BTCUSDT", ids[i], prices[i], quantities[i], times[i], makers[i]);
+                }
+            }
+            TradeStoreReader reader = new TradeStoreReader(root);
+            int[] next = {0};
+            long all = reader.scan("BTCUSDT", START, START + 2 * DAY, block -> {
+                for (int i = 0; i < block.size(); i++) {
+                    int k = next[0]++;
+                    if (block.getTradeIds()[i] != ids[k] || block.getTimes()[i] != times[k]
+                            || block.getPrices()[i] != prices[k] || block.getQuantities()[i] != quantities[k]
+                            || block.getBuyerMakers()[i] != makers[k]) {
+                        fail("Mismatch at trade " + k);
+                    }
+                }
+            });
+
+            // THEN: everything comes back, in order, split over two files
+            assertEquals(n, all);
+            assertEquals(n, next[0]);
+            assertEquals(10_000, reader.countDay("BTCUSDT", START));
+
+            // WHEN: a one-minute window is queried
+            long decodedBefore = reader.getBlocksDecoded();
+            long[] window = {Long.MAX_VALUE, Long.MIN_VALUE, 0};
+            long from = times[15_000];
+            long inWindow = reader.scan("BTCUSDT", from, from + 59_999, block -> {
+                for (int i = 0; i < block.size(); i++) {
+                    window[0] = Math.min(window[0], block.getTimes()[i]);
+                    window[1] = Math.max(window[1], block.getTimes()[i]);
+                }
+            });
+
+            // THEN: only the overlapping block is decoded
+            assertEquals(60, inWindow);
+            assertEquals(from, window[0]);
+            assertEquals(from + 59_000, window[1]);
+            assertEquals(1, reader.getBlocksDecoded() - decodedBefore);
+        } finally {
+            deleteRecursively(root);
+        }
+    }
+
+    @Test
+    @DisplayName("Stored trades are more than 10x smaller than their JSON")
+    void testCompressionRatio() throws IOException {
+        // GIVEN
+        Path root = Files.createTempDirectory("trade-store");
+        Random random = new Random(7);
+        long jsonBytes = 0;
+        long price = 9_512_345;
+        try {
+            try (TradeStoreWriter writer = new TradeStoreWriter(root, 4096)) {
+                for (int i = 0; i < 50_000; i++) {
+                    long id = 3_300_000_000L + i;
+                    long time = START + i * 37L + random.nextInt(5);
+                    price += random.nextInt(7) - 3;
+                    double qty = (1 + random.nextInt(200_000)) / 100_000.0;
+                    boolean maker = random.nextBoolean();
+                    String json = String.format("{\"id\":%d,\"price\":\"%.2f\",\"qty\":\"%.5f\",\"quoteQty\":\"%.7f\"," +
+                                    "\"time\":%d,\"isBuyerMaker\":%b,\"isBestMatch\":true}",
+                            id, price / 100.0, qty, price / 100.0 * qty, time, maker);
+                    jsonBytes += json.length();
+
+                    // WHEN
+                    writer.append("BTCUSDT", id, price / 100.0, qty, time, maker);
+                }
+            }
+
+            // THEN
+            long stored;
+            try (Stream<Path> files = Files.walk(root)) {
+                stored = files.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+            }
+            assertTrue(jsonBytes > 10 * stored, "JSON " + jsonBytes + " bytes vs stored " + stored + " bytes");
+        } finally {
+            deleteRecursively(root);
+        }
+    }
+
+    @Test
+    @DisplayName("A torn trailing block is dropped and appends resume without duplicates")
+    void testTornTailRecovery() throws IOException {
+        // GIVEN: two complete blocks, then a partial write at the end of the file
+        Path root = Files.createTempDirectory("trade-store");
+        try {
+            try (TradeStoreWriter writer = new TradeStoreWriter(root, 100)) {
+                for (int i = 0; i < 200; i++) {
+                    writer.append("ETHUSDT", i, 2000.0 + i, 1.0, START + i, false);
+                }
+            }
+            Path partition;
+            try (Stream<Path> files = Files.walk(root)) {
+                partition = files.filter(Files::isRegularFile).findFirst().orElseThrow();
+            }
+            try (FileChannel channel = FileChannel.open(partition, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(new byte[]{0x54, 0x42, 0x4C, 0x4B, 1, 2, 3}));
+            }
+
+            // WHEN: the writer reopens the partition and replays an overlapping range
+            try (TradeStoreWriter writer = new TradeStoreWriter(root, 100)) {
+                for (int i = 150; i < 300; i++) {
+                    writer.append("ETHUSDT", i, 2000.0 + i, 1.0, START + i, false);
+                }
+            }
+
+            // THEN
+            long[] expectedId = {0};
+            long total = new TradeStoreReader(root).scan("ETHUSDT", START, START + DAY - 1, block -> {
+                for (int i = 0; i < block.size(); i++) {
+                    assertEquals(expectedId[0]++, block.getTradeIds()[i]);
+                }
+            });
+            assertEquals(300, total);
+        } finally {
+            deleteRecursively(root);
+        }
+    }
+
+    @Test
+    @DisplayName("The reader keeps a bounded number of partitions mapped")
+    void testPartitionCacheIsBounded() throws IOException {
+        // GIVEN: ten days of trades, a reader caching three partitions
+        Path root = Files.createTempDirectory("trade-store");
+        try {
+            try (TradeStoreWriter writer = new TradeStoreWriter(root, 100)) {
+                for (int d = 0; d < 10; d++) {
+                    for (int i = 0; i < 50; i++) {
+                        writer.append("BTCUSDT", d * 50L + i, 37000.0, 0.01, START + d * DAY + i * 1000L, false);
+                    }
+                }
+            }
+            TradeStoreReader reader = new TradeStoreReader(root, 3);
+
+            // WHEN
+            long total = reader.scan("BTCUSDT", START, START + 10 * DAY - 1, block -> { });
+
+            // THEN: everything is read, only the latest days stay mapped
+            assertEquals(500, total);
+            assertEquals(3, reader.getCachedPartitions());
+            assertEquals(50, reader.countDay("BTCUSDT", START));
+            assertEquals(3, reader.getCachedPartitions());
+        } finally {
+            deleteRecursively(root);
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.model.RiskLevel;
+import com.quant.crypto.model.TradeAnalysis;
+import com.quant.crypto.stream.anomaly.AnomalyListener;
+import com.quant.crypto.stream.anomaly.RollingWindow;
+import com.quant.crypto.stream.anomaly.VolumeAnomalyDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RollingWindow} and {@link VolumeAnomalyDetector}.
+ */
+public class VolumeAnomalyDetectorTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    private static VolumeAnomalyDetector detector() {
+        return new VolumeAnomalyDetector(new long[]{1_000, 10_000, 60_000}, 20, 0.999, 5, 500, 20_000, 5, 20);
+    }
+
+    @Test
+    @DisplayName("Rolling windows sum notional and imbalance and expire old buckets")
+    void testRollingWindow() {
+        // GIVEN: 10s window of 1s buckets
+        RollingWindow window = new RollingWindow(10_000, 10);
+
+        // WHEN
+        window.add(T0, 100, true);
+        window.add(T0 + 500, 50, false);
+        window.add(T0 + 5_000, 150, true);
+
+        // THEN
+        assertEquals(300, window.getNotional(), 1e-9);
+        assertEquals(3, window.getCount());
+        assertEquals((250 - 50) / 300.0, window.getImbalance(), 1e-9);
+
+        // WHEN: the first second falls out of the window
+        window.advanceTo(T0 + 10_000);
+
+        // THEN
+        assertEquals(150, window.getNotional(), 1e-9);
+        assertEquals(1, window.getCount());
+        assertEquals(1.0, window.getImbalance(), 1e-9);
+
+        // WHEN: a late trade older than the window, then a long gap
+        window.add(T0 + 500, 999, false);
+        assertEquals(1, window.getCount());
+        window.advanceTo(T0 + 60_000);
+
+        // THEN
+        assertEquals(0, window.getNotional(), 1e-9);
+        assertEquals(0, window.getCount());
+    }
+
+    @Test
+    @DisplayName("A trade far above the symbol's recent notional distribution raises a large-trade alert")
+    void testLargeTrade() {
+        // GIVEN: 2000 ordinary trades of 100-1100 USDT notional over 200s
+        VolumeAnomalyDetector detector = detector();
+        List<TradeAnalysis> alerts = new ArrayList<>();
+        List<Double> thresholds = new ArrayList<>();
+        detector.subscribe(new AnomalyListener() {
+            @Override
+            public void onLargeTrade(TradeAnalysis analysis, double threshold) {
+                alerts.add(analysis);
+                thresholds.add(threshold);
+            }
+        });
+        for (int i = 0; i < 2000; i++) {
+            detector.onTrade("BTCUSDT", i, 10_000, 0.01 + (i % 101) * 0.001, T0 + i * 100L, i % 2 == 0);
+        }
+        assertTrue(alerts.isEmpty(), "Ordinary trades raised " + alerts.size() + " alerts");
+        double threshold = detector.getLargeTradeThreshold("BTCUSDT");
+        assertTrue(threshold > 1_000 && threshold < 1_500, "Threshold " + threshold);
+
+        // WHEN: a 500k USDT print
+        detector.onTrade("BTCUSDT", 2000, 10_000, 50, T0 + 200_000, false);
+
+        // THEN
+        assertEquals(1, alerts.size());
+        TradeAnalysis alert = alerts.get(0);
+        assertEquals(RiskLevel.CRITICAL, alert.getRiskLevel());
+        assertEquals(500_000, alert.getTotalValue(), 1e-6);
+        assertEquals("BTCUSDT", alert.getOriginalTrade().getPair());
+        assertEquals(threshold, thresholds.get(0), 1e-9);
+        assertTrue(Double.isNaN(detector.getLargeTradeThreshold("ETHUSDT")));
+    }
+
+    @Test
+    @DisplayName("A burst in the shortest window against the 60s baseline raises one volume spike")
+    void testVolumeSpike() {
+        // GIVEN: one 1000 USDT trade per second for 70s
+        VolumeAnomalyDetector detector = detector();
+        List<TradeAnalysis> spikes = new ArrayList<>();
+        List<Double> imbalances = new ArrayList<>();
+        detector.subscribe(new AnomalyListener() {
+            @Override
+            public void onVolumeSpike(TradeAnalysis analysis, RollingWindow burst, RollingWindow baseline) {
+                spikes.add(analysis);
+                imbalances.add(burst.getImbalance());
+            }
+        });
+        long id = 0;
+        for (int s = 0; s < 70; s++) {
+            detector.onTrade("ETHUSDT", id++, 2_000, 0.5, T0 + s * 1_000L, false);
+        }
+        assertTrue(spikes.isEmpty());
+
+        // WHEN: 100 aggressive buys of the same size within 500 ms
+        for (int i = 0; i < 100; i++) {
+            detector.onTrade("ETHUSDT", id++, 2_000, 0.5, T0 + 70_000 + i * 5L, false);
+        }
+
+        // THEN: one alert (the rest of the burst is inside the quiet period), all buys
+        assertEquals(1, spikes.size());
+        assertEquals(RiskLevel.CRITICAL, spikes.get(0).getRiskLevel());
+        assertEquals(1.0, imbalances.get(0), 1e-9);
+        RollingWindow burst = detector.getWindow("ETHUSDT", 0);
+        assertEquals(100, burst.getCount());
+        assertEquals(100 * 1_000, burst.getNotional(), 1e-6);
+    }
+}
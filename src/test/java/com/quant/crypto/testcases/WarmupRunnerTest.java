@@ -0,0 +1,55 @@
+package com.quant.crypto.testcases;
+
+import com.quant.crypto.metrics.MetricsRegistry;
+import com.quant.crypto.util.SignatureUtil;
+import com.quant.crypto.warmup.StartupTracker;
+import com.quant.crypto.warmup.WarmupReport;
+import com.quant.crypto.warmup.WarmupRunner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the startup {@link WarmupRunner}.
+ */
+public class WarmupRunnerTest {
+
+    @Test
+    @DisplayName("Every phase runs its full iteration count and the engine is marked ready")
+    void testWarmupRunsAllPhases() {
+        // GIVEN: no services, so nothing leaves the process
+        WarmupRunner runner = new WarmupRunner(null, null, 2500, false);
+
+        // WHEN
+        WarmupReport report = runner.run();
+
+        // THEN: iterations are rounded up to whole batches
+        for (String name : new String[]{WarmupRunner.TRADE_DECODE, WarmupRunner.TRADE_DISPATCH, WarmupRunner.TICKER_DECODE,
+                WarmupRunner.USER_DATA_DECODE, WarmupRunner.ORDER_BUILD_SIGN}) {
+            WarmupReport.Phase phase = report.getPhase(name);
+            assertNotNull(phase, name);
+            assertFalse(phase.isFailed(), name + " failed");
+            assertEquals(3000, phase.getIterations());
+            assertTrue(phase.getLastBatchNanosPerOp() > 0);
+        }
+        assertTrue(StartupTracker.isReady());
+        // The scratch strategy runtime leaves nothing on the production metrics endpoint
+        assertFalse(MetricsRegistry.getDefault().scrape().contains("strategy=\"warmup\""));
+    }
+
+    @Test
+    @DisplayName("Order signatures match the exchange's documented HMAC-SHA256 example")
+    void testSignatureVector() {
+        // GIVEN
+        String secret = "NhqPtmdSJYdKjVHjA7PZj4Mge3R5YNiP1e3UZjInClVN65XAbvqqM6A7H5fATj0j";
+        String query = "symbol=LTCBTC&side=BUY&type=LIMIT&timeInForce=GTC&quantity=1&price=0.1"
+                + "&recvWindow=5000&timestamp=1499827319559";
+
+        // WHEN
+        String signature = SignatureUtil.getSignature(query, secret);
+
+        // THEN
+        assertEquals("c8db56825ae71d6d79447849e617115f4a920fa2acdcab2b053c4b2838bd6b71", signature);
+    }
+}